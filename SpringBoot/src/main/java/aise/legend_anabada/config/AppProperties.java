@@ -12,4 +12,12 @@ import org.springframework.stereotype.Component;
 public class AppProperties {
     private String base_url;
     private String upload_dir;
+    private String ai_url;
+    private String ocr_url;
+    private int bcrypt_cost = 10;
+    private boolean bcrypt_rehash = true;
+    private String admin_email;
+    private String device_key;
+    private int system_log_retention_months = 12;
+    private String journal_dir = "journal";
 }
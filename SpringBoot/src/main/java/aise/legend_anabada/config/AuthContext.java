@@ -0,0 +1,35 @@
+package aise.legend_anabada.config;
+
+import aise.legend_anabada.config.exception.ExpiredTokenException;
+import aise.legend_anabada.config.exception.PermissionDeniedException;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+// 요청마다 하나. 토큰이 없거나 유효하지 않으면 principal 은 null
+@Component
+@RequestScope
+@Getter
+@Setter
+public class AuthContext {
+    private String token;
+    private AuthPrincipal principal;
+
+    // 로그인이 필요한 서비스 메서드에서 호출
+    public AuthPrincipal require() {
+        if (principal == null) {
+            throw new ExpiredTokenException("인증 만료됨");
+        }
+        return principal;
+    }
+
+    // 관리자 전용 서비스 메서드에서 호출
+    public AuthPrincipal requireAdmin() {
+        AuthPrincipal principal = require();
+        if (!principal.isAdmin()) {
+            throw new PermissionDeniedException("관리자만 사용할 수 있습니다.");
+        }
+        return principal;
+    }
+}
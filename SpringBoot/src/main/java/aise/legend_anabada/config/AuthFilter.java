@@ -0,0 +1,54 @@
+package aise.legend_anabada.config;
+
+import aise.legend_anabada.dto.projection.UserSnapshot;
+import aise.legend_anabada.service.UserCache;
+import aise.legend_anabada.util.JwtUtil;
+import aise.legend_anabada.util.SchoolUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 요청마다 토큰을 한 번만 검증하고 AuthContext 에 사용자 정보를 넣는다.
+// 막는 건 하지 않는다. 로그인이 필요한지는 서비스에서 AuthContext.require() 로 판단.
+@Component
+public class AuthFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+
+    @Autowired
+    private AuthContext authContext;
+    @Autowired
+    private UserCache userCache;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = resolveToken(request);
+        Claims claims = JwtUtil.getClaims(token);
+        if (claims != null) {
+            UserSnapshot user = userCache.getByEmail(claims.getSubject());
+            if (user != null) {
+                authContext.setToken(token);
+                authContext.setPrincipal(new AuthPrincipal(user.getId(), user.getEmail(), user.getRole(),
+                        SchoolUtil.fromEmail(user.getEmail())));
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    // Authorization: Bearer ... 또는 예전 방식의 token 헤더
+    private static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null) {
+            return header.startsWith(BEARER) ? header.substring(BEARER.length()).trim() : header.trim();
+        }
+        return request.getHeader("token");
+    }
+}
@@ -0,0 +1,22 @@
+package aise.legend_anabada.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+// 인증된 요청의 사용자 정보 (AuthFilter 에서 채움)
+@Getter
+@AllArgsConstructor
+public class AuthPrincipal {
+    public static final String ADMIN = "관리자";
+
+    private final UUID userId;
+    private final String email;
+    private final String role;
+    private final String school;
+
+    public boolean isAdmin() {
+        return ADMIN.equals(role);
+    }
+}
@@ -5,11 +5,15 @@ public class Status {
     // 400 - Bad Request ( 잘못된 요청 )
     // 401 - Unauthorized ( 인증 / 로그인 )
     // 403 - Forbidden ( 권한 없음 )
+    // 409 - Conflict ( 이미 다른 요청이 선점 )
     // 500 - Internal Server Error ( 서버 내부 오류 )
+    // 503 - Service Unavailable ( 과부하, 잠시 후 재시도 )
     
     public static final int OK = 200;
     public static final int BAD_REQUEST = 400;
     public static final int UNAUTHORIZED = 401;
     public static final int FORBIDDEN = 403;
+    public static final int CONFLICT = 409;
     public static final int INTERNAL_SERVER_ERROR = 500;
+    public static final int SERVICE_UNAVAILABLE = 503;
 }
@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class BookNotFoundException extends RuntimeException {
+    public BookNotFoundException() {
+        super();
+    }
+
+    public BookNotFoundException(String message) {
+        super(message);
+    }
+}
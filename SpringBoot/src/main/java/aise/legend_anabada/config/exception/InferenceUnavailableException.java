@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class InferenceUnavailableException extends RuntimeException {
+    public InferenceUnavailableException() {
+        super();
+    }
+
+    public InferenceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class InsufficientPointException extends RuntimeException {
+    public InsufficientPointException() {
+        super();
+    }
+
+    public InsufficientPointException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class InvalidLockerStateException extends RuntimeException {
+    public InvalidLockerStateException() {
+        super();
+    }
+
+    public InvalidLockerStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class InvalidReservationException extends RuntimeException {
+    public InvalidReservationException() {
+        super();
+    }
+
+    public InvalidReservationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class InvalidSessionException extends RuntimeException {
+    public InvalidSessionException() {
+        super();
+    }
+
+    public InvalidSessionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class LockerNotFoundException extends RuntimeException {
+    public LockerNotFoundException() {
+        super();
+    }
+
+    public LockerNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class PermissionDeniedException extends RuntimeException {
+    public PermissionDeniedException() {
+        super();
+    }
+
+    public PermissionDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class ReservationConflictException extends RuntimeException {
+    public ReservationConflictException() {
+        super();
+    }
+
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+}
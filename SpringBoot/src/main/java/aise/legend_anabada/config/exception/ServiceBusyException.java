@@ -0,0 +1,11 @@
+package aise.legend_anabada.config.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException() {
+        super();
+    }
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package aise.legend_anabada.dto.projection;
+
+import java.util.UUID;
+
+public interface BookCountView {
+    UUID getBookId();
+    Long getCnt();
+}
@@ -0,0 +1,13 @@
+package aise.legend_anabada.dto.projection;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface BookIndexView {
+    UUID getId();
+    String getTitle();
+    String getAuthor();
+    String getPublisher();
+    OffsetDateTime getRegisteredAt();
+    String getOwnerEmail();
+}
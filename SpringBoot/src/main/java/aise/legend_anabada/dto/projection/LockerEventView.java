@@ -0,0 +1,17 @@
+package aise.legend_anabada.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// 사물함별 마지막 상태 전이 로그 (시작 시 상태 복원용)
+@Getter
+@AllArgsConstructor
+public class LockerEventView {
+    private final UUID lockerId;
+    private final String eventType;
+    private final UUID userId;
+    private final OffsetDateTime occurredAt;
+}
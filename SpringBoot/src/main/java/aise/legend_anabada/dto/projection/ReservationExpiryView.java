@@ -0,0 +1,10 @@
+package aise.legend_anabada.dto.projection;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface ReservationExpiryView {
+    UUID getId();
+    UUID getBookId();
+    OffsetDateTime getExpiresAt();
+}
@@ -0,0 +1,18 @@
+package aise.legend_anabada.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+// User 엔티티 대신 캐시에 보관하는 불변 스냅샷 (연관 컬렉션 없음)
+@Getter
+@AllArgsConstructor
+public class UserSnapshot {
+    private final UUID id;
+    private final String email;
+    private final String role;
+    private final String department;
+    private final Boolean verify;
+    private final String password;
+}
@@ -14,4 +14,5 @@ public class BookRegisterRequest {
     private String publisher;
     private String condition;
     private String dmgTag;
+    private Integer pointPrice; // 없으면 0
 }
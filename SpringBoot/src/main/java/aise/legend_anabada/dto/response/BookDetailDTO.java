@@ -0,0 +1,31 @@
+package aise.legend_anabada.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookDetailDTO {
+    private UUID id;
+    private String title;
+    private String author;
+    private String publisher;
+    private String conditionGrade;
+    private String dmgTag;
+    private Integer pointPrice;
+    private String categoryName;
+    private OffsetDateTime registeredAt;
+    private List<String> images; // 표지(0번) + 결함 사진 해시
+
+    // JPQL 프로젝션용
+    public BookDetailDTO(UUID id, String title, String author, String publisher, String conditionGrade, String dmgTag,
+                         Integer pointPrice, String categoryName, OffsetDateTime registeredAt) {
+        this(id, title, author, publisher, conditionGrade, dmgTag, pointPrice, categoryName, registeredAt, List.of());
+    }
+}
@@ -0,0 +1,22 @@
+package aise.legend_anabada.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookSummaryDTO {
+    private UUID id;
+    private String title;
+    private String author;
+    private String publisher;
+    private String conditionGrade;
+    private Integer pointPrice;
+    private OffsetDateTime registeredAt;
+    private String coverImage; // 표지 사진 해시 (/api/image/{hash}?w=160)
+}
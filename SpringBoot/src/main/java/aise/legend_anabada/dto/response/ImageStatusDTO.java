@@ -0,0 +1,18 @@
+package aise.legend_anabada.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageStatusDTO {
+    private String state;   // PENDING / PROCESSING / DONE / FAILED
+    private int total;
+    private int completed;
+    private int failed;
+    private List<String> images;
+}
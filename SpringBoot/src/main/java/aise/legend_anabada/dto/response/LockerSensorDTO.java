@@ -0,0 +1,20 @@
+package aise.legend_anabada.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LockerSensorDTO {
+    private UUID lockerId;
+    private Integer lockerNum;
+    private Boolean doorOpen; // 아직 보고가 없으면 null
+    private int errorCode;
+    private boolean online;
+    private OffsetDateTime lastSeen;
+}
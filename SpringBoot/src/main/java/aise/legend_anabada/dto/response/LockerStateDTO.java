@@ -0,0 +1,19 @@
+package aise.legend_anabada.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LockerStateDTO {
+    private UUID lockerId;
+    private Integer lockerNum;
+    private String status;
+    private long version;
+    private OffsetDateTime changedAt;
+}
@@ -0,0 +1,19 @@
+package aise.legend_anabada.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PointStatementItemDTO {
+    private UUID transId;
+    private int pointChange;
+    private String transType;
+    private OffsetDateTime transDate;
+    private int balanceAfter; // 이 내역이 반영된 직후 잔액
+}
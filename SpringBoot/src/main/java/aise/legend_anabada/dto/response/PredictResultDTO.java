@@ -0,0 +1,25 @@
+package aise.legend_anabada.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// YOLOCR /predict 응답
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PredictResultDTO {
+    private String title;
+    private String author;
+    private String publisher;
+    @JsonProperty("condition_grade")
+    private String conditionGrade;
+    @JsonProperty("dmg_tag")
+    private List<String> dmgTag;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package aise.legend_anabada.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationDTO {
+    private UUID reservationId;
+    private UUID bookId;
+    private String status;
+    private int heldPoints;
+    private OffsetDateTime expiresAt;
+}
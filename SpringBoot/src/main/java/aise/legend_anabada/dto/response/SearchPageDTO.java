@@ -0,0 +1,17 @@
+package aise.legend_anabada.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchPageDTO<T> {
+    private String sessionId;
+    private int total;
+    private List<T> items;
+    private String nextCursor;
+}
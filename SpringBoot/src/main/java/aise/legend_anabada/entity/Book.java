@@ -51,6 +51,12 @@ public class Book {
     @Column(name = "registered_at", nullable = false)
     private OffsetDateTime registeredAt;
 
+    // 낙관적 락 (예약 시 증가)
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "book")
     private Set<BookTransaction> bookTransactions = new LinkedHashSet<>();
 
@@ -60,4 +66,7 @@ public class Book {
     @OneToMany(mappedBy = "book")
     private Set<Reservation> reservations = new LinkedHashSet<>();
 
+    @OneToMany(mappedBy = "book")
+    private Set<BookImage> images = new LinkedHashSet<>();
+
 }
\ No newline at end of file
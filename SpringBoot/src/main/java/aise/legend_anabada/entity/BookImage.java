@@ -0,0 +1,37 @@
+package aise.legend_anabada.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "book_image")
+public class BookImage {
+    @Id
+    @ColumnDefault("gen_random_uuid()")
+    @Column(name = "image_id", nullable = false)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    // 0번이 표지
+    @Column(name = "seq", nullable = false)
+    private Integer seq;
+
+    // 원본 파일의 SHA-256 (hex)
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @ColumnDefault("now()")
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+}
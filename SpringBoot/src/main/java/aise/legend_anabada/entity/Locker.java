@@ -19,8 +19,10 @@ public class Locker {
     @Column(name = "locker_id", nullable = false)
     private UUID id;
 
+    // 현재 상태는 LockerStateMachine(메모리)이 기준이고, 이 컬럼은 주기적으로 따라 맞춘다
+    @Enumerated(EnumType.STRING)
     @Column(name = "locker_status", nullable = false, length = 20)
-    private String lockerStatus;
+    private LockerStatus lockerStatus;
 
     @Column(name = "is_broken")
     private Boolean isBroken;
@@ -0,0 +1,34 @@
+package aise.legend_anabada.entity;
+
+// 사물함 칸 상태. 허용된 전이만 가능하다.
+// AVAILABLE -> RESERVED(수령 대기 배정) / OPEN(기부 입고)
+// RESERVED  -> OPEN(수령) / AVAILABLE(예약 취소)
+// OPEN      -> CLOSED
+// CLOSED    -> AVAILABLE(비어 있음 확인) / RESERVED(교재 보관) / OPEN
+// 어느 상태에서든 BROKEN, BROKEN -> AVAILABLE(수리 완료)
+public enum LockerStatus {
+    AVAILABLE, RESERVED, OPEN, CLOSED, BROKEN;
+
+    public boolean canTransitionTo(LockerStatus next) {
+        if (next == BROKEN) {
+            return this != BROKEN;
+        }
+        return switch (this) {
+            case AVAILABLE -> next == RESERVED || next == OPEN;
+            case RESERVED -> next == OPEN || next == AVAILABLE;
+            case OPEN -> next == CLOSED;
+            case CLOSED -> next == AVAILABLE || next == RESERVED || next == OPEN;
+            case BROKEN -> next == AVAILABLE;
+        };
+    }
+
+    // 모르는 값은 null
+    public static LockerStatus parse(String value) {
+        for (LockerStatus status : values()) {
+            if (status.name().equals(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package aise.legend_anabada.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "mail_outbox")
+public class MailOutbox {
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @ColumnDefault("gen_random_uuid()")
+    @Column(name = "mail_id", nullable = false)
+    private UUID id;
+
+    @Column(name = "recipient", nullable = false, length = 100)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false, length = 200)
+    private String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "text")
+    private String body;
+
+    // 같은 키로 짧은 시간 안에 다시 들어온 메일은 보내지 않는다 (예: verify:<email>)
+    @Column(name = "dedupe_key", length = 150)
+    private String dedupeKey;
+
+    // PENDING, SENT, FAILED
+    @Column(name = "status", nullable = false, length = 10)
+    private String status;
+
+    @ColumnDefault("0")
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 255)
+    private String lastError;
+
+    @ColumnDefault("now()")
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private OffsetDateTime sentAt;
+
+}
@@ -13,6 +13,11 @@ import java.util.UUID;
 @Entity
 @Table(name = "reservation")
 public class Reservation {
+    public static final String RESERVED = "RESERVED";
+    public static final String PICKED_UP = "PICKED_UP";
+    public static final String EXPIRED = "EXPIRED";
+    public static final String CANCELLED = "CANCELLED";
+
     @Id
     @ColumnDefault("gen_random_uuid()")
     @Column(name = "reservation_id", nullable = false)
@@ -33,7 +38,13 @@ public class Reservation {
     @Column(name = "expires_at", nullable = false)
     private OffsetDateTime expiresAt;
 
+    // RESERVED, PICKED_UP, EXPIRED, CANCELLED
     @Column(name = "status", nullable = false, length = 10)
     private String status;
 
+    // 예약 시 잡아 둔 포인트
+    @ColumnDefault("0")
+    @Column(name = "held_points", nullable = false)
+    private Integer heldPoints;
+
 }
\ No newline at end of file
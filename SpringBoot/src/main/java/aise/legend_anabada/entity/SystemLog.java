@@ -13,6 +13,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "system_log")
 public class SystemLog {
+    public static final String SUCCESS = "SUCCESS";
+    public static final String FAILED = "FAILED";
+
     @Id
     @ColumnDefault("gen_random_uuid()")
     @Column(name = "log_id", nullable = false)
@@ -22,8 +25,9 @@ public class SystemLog {
     @JoinColumn(name = "locker_id", nullable = false)
     private Locker locker;
 
-    @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "user_id", nullable = false)
+    // 시스템이 바꾼 상태(고장 처리 등)는 사용자 없음
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
     private User user;
 
     @Column(name = "event_type", nullable = false, length = 50)
@@ -36,4 +40,8 @@ public class SystemLog {
     @Column(name = "result_status", nullable = false, length = 20)
     private String resultStatus;
 
+    // 비상 개방 사유 등
+    @Column(name = "detail", length = 500)
+    private String detail;
+
 }
\ No newline at end of file
@@ -36,4 +36,9 @@ public class UserPointBalance {
     @Column(name = "total_spent", nullable = false)
     private Integer totalSpent;
 
+    // 예약으로 잡혀 있는 포인트 (point_total 에 포함)
+    @ColumnDefault("0")
+    @Column(name = "point_held", nullable = false)
+    private Integer pointHeld;
+
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package aise.legend_anabada.repository;
+
+import aise.legend_anabada.entity.BookImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface BookImageRepository extends JpaRepository<BookImage, UUID> {
+    @Query("select i.contentHash from BookImage i where i.book.id = :bookId order by i.seq")
+    List<String> findHashesByBookId(@Param("bookId") UUID bookId);
+
+    // 이 사진을 쓰는 교재 중 해당 학교 교재가 있는지 (ix_book_image_hash)
+    @Query("select count(i) > 0 from BookImage i join i.book b join b.user u " +
+            "where i.contentHash = :hash and u.email like :emailPattern")
+    boolean existsByContentHashAndSchool(@Param("hash") String hash, @Param("emailPattern") String emailPattern);
+}
@@ -1,9 +1,61 @@
 package aise.legend_anabada.repository;
 
+import aise.legend_anabada.dto.projection.BookIndexView;
+import aise.legend_anabada.dto.response.BookDetailDTO;
+import aise.legend_anabada.dto.response.BookSummaryDTO;
 import aise.legend_anabada.entity.Book;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface BookRepository extends JpaRepository<Book, UUID> {
+    // 목록 화면용 표지 사진 해시
+    String COVER = "(select i.contentHash from BookImage i where i.book = b and i.seq = 0)";
+
+    // 검색 색인 재구성용 (엔티티 대신 필요한 컬럼만 조회)
+    @Query("select b.id as id, b.title as title, b.author as author, b.publisher as publisher, " +
+            "b.registeredAt as registeredAt, u.email as ownerEmail from Book b join b.user u")
+    List<BookIndexView> findAllForIndex();
+
+    @Query("select new aise.legend_anabada.dto.response.BookSummaryDTO(b.id, b.title, b.author, b.publisher, " +
+            "b.conditionGrade, b.pointPrice, b.registeredAt, " + COVER + ") from Book b where b.id in :ids")
+    List<BookSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // 학교별 교재 목록 키셋 페이지네이션 (registeredAt desc, id desc)
+    @Query("select new aise.legend_anabada.dto.response.BookSummaryDTO(b.id, b.title, b.author, b.publisher, " +
+            "b.conditionGrade, b.pointPrice, b.registeredAt, " + COVER + ") from Book b join b.user u " +
+            "where u.email like :emailPattern order by b.registeredAt desc, b.id desc")
+    List<BookSummaryDTO> findSchoolPage(@Param("emailPattern") String emailPattern, Limit limit);
+
+    @Query("select new aise.legend_anabada.dto.response.BookSummaryDTO(b.id, b.title, b.author, b.publisher, " +
+            "b.conditionGrade, b.pointPrice, b.registeredAt, " + COVER + ") from Book b join b.user u " +
+            "where u.email like :emailPattern " +
+            "and (b.registeredAt < :registeredAt or (b.registeredAt = :registeredAt and b.id < :id)) " +
+            "order by b.registeredAt desc, b.id desc")
+    List<BookSummaryDTO> findSchoolPageAfter(@Param("emailPattern") String emailPattern,
+                                             @Param("registeredAt") OffsetDateTime registeredAt,
+                                             @Param("id") UUID id, Limit limit);
+
+    @Query("select new aise.legend_anabada.dto.response.BookDetailDTO(b.id, b.title, b.author, b.publisher, " +
+            "b.conditionGrade, b.dmgTag, b.pointPrice, c.categoryName, b.registeredAt) " +
+            "from Book b join b.user u left join b.category c " +
+            "where b.id = :id and u.email like :emailPattern")
+    Optional<BookDetailDTO> findDetail(@Param("id") UUID id, @Param("emailPattern") String emailPattern);
+
+    // 읽었던 version 그대로일 때만 증가. 0 이면 그사이 다른 요청이 먼저 바꿈
+    @Modifying
+    @Query("update Book b set b.version = b.version + 1 where b.id = :id and b.version = :version")
+    int bumpVersion(@Param("id") UUID id, @Param("version") Long version);
+
+    // 예약 알림 받을 등록자 (Book/User 를 읽지 않음)
+    @Query("select b.user.id from Book b where b.id = :id")
+    Optional<UUID> findOwnerId(@Param("id") UUID id);
 }
@@ -3,7 +3,5 @@ package aise.legend_anabada.repository;
 import aise.legend_anabada.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.UUID;
-
-public interface CategoryRepository extends JpaRepository<Category, UUID> {
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
 }
@@ -1,9 +1,16 @@
 package aise.legend_anabada.repository;
 
 import aise.legend_anabada.entity.Locker;
+import aise.legend_anabada.entity.LockerStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.UUID;
 
 public interface LockerRepository extends JpaRepository<Locker, UUID> {
+    @Modifying
+    @Query("update Locker l set l.lockerStatus = :status, l.isBroken = :broken where l.id = :id")
+    int updateStatus(@Param("id") UUID id, @Param("status") LockerStatus status, @Param("broken") boolean broken);
 }
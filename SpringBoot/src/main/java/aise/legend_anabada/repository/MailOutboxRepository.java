@@ -0,0 +1,18 @@
+package aise.legend_anabada.repository;
+
+import aise.legend_anabada.entity.MailOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, UUID> {
+    @Query("select m from MailOutbox m where m.status = 'PENDING' and m.nextAttemptAt <= :now order by m.nextAttemptAt")
+    List<MailOutbox> findDue(@Param("now") OffsetDateTime now, Limit limit);
+
+    boolean existsByDedupeKeyAndCreatedAtAfter(String dedupeKey, OffsetDateTime since);
+}
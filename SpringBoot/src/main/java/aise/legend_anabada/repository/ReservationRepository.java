@@ -1,9 +1,37 @@
 package aise.legend_anabada.repository;
 
+import aise.legend_anabada.dto.projection.BookCountView;
+import aise.legend_anabada.dto.projection.ReservationExpiryView;
 import aise.legend_anabada.entity.Reservation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
+    // 인기순 정렬용 교재별 예약 수
+    @Query("select r.book.id as bookId, count(r) as cnt from Reservation r " +
+            "where r.book.id in :bookIds group by r.book.id")
+    List<BookCountView> countByBookIds(@Param("bookIds") Collection<UUID> bookIds);
+
+    // 시작 시 복원용 (ix_reservation_status_expires)
+    @Query("select r.id as id, r.book.id as bookId, r.expiresAt as expiresAt from Reservation r where r.status = :status")
+    List<ReservationExpiryView> findExpiries(@Param("status") String status);
+
+    // 시작 시 복원용 (수령 완료된 교재)
+    @Query("select r.book.id from Reservation r where r.status = :status")
+    List<UUID> findBookIds(@Param("status") String status);
+
+    // 교재 정보 수정 가능 여부 (예약이 걸린 적이 있는지)
+    @Query("select count(r) > 0 from Reservation r where r.book.id = :bookId and r.status in :statuses")
+    boolean existsByBookIdAndStatusIn(@Param("bookId") UUID bookId, @Param("statuses") Collection<String> statuses);
+
+    // 상태가 from 일 때만 to 로 바꾼다. 수령/만료/취소가 동시에 와도 하나만 성공
+    @Modifying
+    @Query("update Reservation r set r.status = :to where r.id = :id and r.status = :from")
+    int transition(@Param("id") UUID id, @Param("from") String from, @Param("to") String to);
 }
@@ -1,9 +1,21 @@
 package aise.legend_anabada.repository;
 
+import aise.legend_anabada.dto.projection.LockerEventView;
 import aise.legend_anabada.entity.SystemLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface SystemLogRepository extends JpaRepository<SystemLog, UUID> {
+    // 사물함마다 가장 최근에 성공한 상태 전이 (ix_system_log_locker_occurred)
+    @Query("select new aise.legend_anabada.dto.projection.LockerEventView(l.locker.id, l.eventType, u.id, l.occurredAt) " +
+            "from SystemLog l left join l.user u " +
+            "where l.resultStatus = 'SUCCESS' and l.eventType in :types and l.occurredAt = (" +
+            "select max(l2.occurredAt) from SystemLog l2 where l2.locker = l.locker " +
+            "and l2.resultStatus = 'SUCCESS' and l2.eventType in :types)")
+    List<LockerEventView> findLastTransitions(@Param("types") Collection<String> types);
 }
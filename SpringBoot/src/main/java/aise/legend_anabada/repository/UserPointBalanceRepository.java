@@ -2,8 +2,55 @@ package aise.legend_anabada.repository;
 
 import aise.legend_anabada.entity.UserPointBalance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface UserPointBalanceRepository extends JpaRepository<UserPointBalance, UUID> {
+    // 잔액 행이 없으면 0 으로 만든다 (동시에 여러 번 호출돼도 한 행)
+    @Modifying
+    @Query(value = "insert into user_point_balance (user_id, point_total, total_earned, total_spent) " +
+            "values (:userId, 0, 0, 0) on conflict (user_id) do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId);
+
+    // 읽지 않고 DB 에서 바로 더한다. 사용 가능 포인트가 음수가 되면 0 행 갱신
+    @Modifying
+    @Query("update UserPointBalance b set b.pointTotal = b.pointTotal + :delta, " +
+            "b.totalEarned = b.totalEarned + :earned, b.totalSpent = b.totalSpent + :spent " +
+            "where b.id = :userId and (:delta >= 0 or b.pointTotal - b.pointHeld + :delta >= 0)")
+    int applyDelta(@Param("userId") UUID userId, @Param("delta") int delta,
+                   @Param("earned") int earned, @Param("spent") int spent);
+
+    // 사용 가능 포인트가 충분할 때만 잡아 둔다
+    @Modifying
+    @Query("update UserPointBalance b set b.pointHeld = b.pointHeld + :amount " +
+            "where b.id = :userId and b.pointTotal - b.pointHeld >= :amount")
+    int hold(@Param("userId") UUID userId, @Param("amount") int amount);
+
+    // 잡아 둔 포인트를 실제로 차감
+    @Modifying
+    @Query("update UserPointBalance b set b.pointHeld = b.pointHeld - :amount, b.pointTotal = b.pointTotal - :amount, " +
+            "b.totalSpent = b.totalSpent + :amount where b.id = :userId and b.pointHeld >= :amount")
+    int capture(@Param("userId") UUID userId, @Param("amount") int amount);
+
+    // 잡아 둔 포인트를 돌려줌
+    @Modifying
+    @Query("update UserPointBalance b set b.pointHeld = b.pointHeld - :amount " +
+            "where b.id = :userId and b.pointHeld >= :amount")
+    int release(@Param("userId") UUID userId, @Param("amount") int amount);
+
+    // 소멸: idleSince 이후 내역이 없고 사용 가능 포인트가 amount 이상일 때만 (집계 뒤 활동이 있었으면 0 행)
+    @Modifying
+    @Query(value = "update user_point_balance b set point_total = point_total - :amount, total_spent = total_spent + :amount " +
+            "where b.user_id = :userId and b.point_total - b.point_held >= :amount " +
+            "and not exists (select 1 from point_transaction t where t.user_id = b.user_id and t.trans_date >= :idleSince)",
+            nativeQuery = true)
+    int expireIdle(@Param("userId") UUID userId, @Param("amount") int amount, @Param("idleSince") OffsetDateTime idleSince);
+
+    @Query("select b.pointTotal from UserPointBalance b where b.id = :userId")
+    Optional<Integer> findPointTotal(@Param("userId") UUID userId);
 }
@@ -1,11 +1,30 @@
 package aise.legend_anabada.repository;
 
+import aise.legend_anabada.dto.projection.UserSnapshot;
 import aise.legend_anabada.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+
+    @Query("select new aise.legend_anabada.dto.projection.UserSnapshot(u.id, u.email, u.role, u.department, u.verify, u.password) " +
+            "from User u where u.email = :email")
+    Optional<UserSnapshot> findSnapshotByEmail(@Param("email") String email);
+
+    @Query("select new aise.legend_anabada.dto.projection.UserSnapshot(u.id, u.email, u.role, u.department, u.verify, u.password) " +
+            "from User u where u.id = :id")
+    Optional<UserSnapshot> findSnapshotById(@Param("id") UUID id);
+
+    // 로그인 시 재해시. 다른 컬럼은 건드리지 않는다.
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
 }
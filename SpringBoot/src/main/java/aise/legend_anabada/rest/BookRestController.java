@@ -1,9 +1,14 @@
 package aise.legend_anabada.rest;
 
 import aise.legend_anabada.config.Status;
+import aise.legend_anabada.config.exception.BookNotFoundException;
 import aise.legend_anabada.config.exception.ExpiredTokenException;
+import aise.legend_anabada.config.exception.PermissionDeniedException;
+import aise.legend_anabada.config.exception.ServiceBusyException;
 import aise.legend_anabada.dto.request.BookRegisterRequest;
 import aise.legend_anabada.dto.AuthResponse;
+import aise.legend_anabada.dto.Response;
+import aise.legend_anabada.dto.response.ImageStatusDTO;
 import aise.legend_anabada.entity.Book;
 import aise.legend_anabada.service.BookService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,27 +26,55 @@ public class BookRestController {
 
     // 교재 등록
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse<Void>> registerBookAutomatically(@RequestHeader("Authorization") String token,
-                                                                        @RequestPart("images") List<MultipartFile> images,
+    public ResponseEntity<AuthResponse<Void>> registerBookAutomatically(@RequestPart("images") List<MultipartFile> images,
                                                                         @RequestPart("data") BookRegisterRequest request) {
         try {
-            AuthResponse<Void> response = bookService.registerBook(token, images, request);
+            AuthResponse<Void> response = bookService.registerBook(images, request);
             return ResponseEntity.ok(response);
         } catch (ExpiredTokenException e) {
             return ResponseEntity.status(Status.UNAUTHORIZED)
                     .body(new AuthResponse<>(false, null, e.getMessage(), null));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(Status.SERVICE_UNAVAILABLE)
+                    .body(new AuthResponse<>(false, null, e.getMessage(), null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(Status.BAD_REQUEST)
+                    .body(new AuthResponse<>(false, null, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(Status.INTERNAL_SERVER_ERROR)
                     .body(new AuthResponse<>(false, null, e.getMessage(), null));
         }
     }
 
-    // TODO 교재 정보 수정
+    // 교재 사진 처리 상태
+    @GetMapping("/{bookId}/images/status")
+    public ResponseEntity<Response<ImageStatusDTO>> getImageStatus(@PathVariable String bookId) {
+        try {
+            ImageStatusDTO status = bookService.getImageStatus(bookId);
+            return ResponseEntity.ok(new Response<>(true, status.getState(), status));
+        } catch (BookNotFoundException | IllegalArgumentException e) {
+            return ResponseEntity.status(Status.BAD_REQUEST)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
+    }
+
+    // 교재 정보 수정 (등록자는 예약 전까지, 이후에는 관리자만)
     @PutMapping("/{bookId}/edit")
-    public ResponseEntity<String> editBookInfo(@PathVariable String bookId,
-                                               @RequestBody Book updatedBook) {
-        bookService.editBookInfo(bookId, updatedBook);
-        return ResponseEntity.ok("교재 정보 수정 완료: " + bookId);
+    public ResponseEntity<Response<Void>> editBookInfo(@PathVariable String bookId,
+                                                       @RequestBody Book updatedBook) {
+        try {
+            bookService.editBookInfo(bookId, updatedBook);
+            return ResponseEntity.ok(new Response<>(true, "교재 정보 수정 완료: " + bookId, null));
+        } catch (ExpiredTokenException e) {
+            return ResponseEntity.status(Status.UNAUTHORIZED)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (PermissionDeniedException e) {
+            return ResponseEntity.status(Status.FORBIDDEN)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (BookNotFoundException | IllegalArgumentException e) {
+            return ResponseEntity.status(Status.BAD_REQUEST)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
     }
 
     // TODO 교재 카테고리 분류
@@ -1,46 +1,108 @@
 package aise.legend_anabada.rest;
 
-import aise.legend_anabada.entity.Book;
+import aise.legend_anabada.config.Status;
+import aise.legend_anabada.config.exception.BookNotFoundException;
+import aise.legend_anabada.config.exception.ExpiredTokenException;
+import aise.legend_anabada.config.exception.InsufficientPointException;
+import aise.legend_anabada.config.exception.InvalidReservationException;
+import aise.legend_anabada.config.exception.InvalidSessionException;
+import aise.legend_anabada.config.exception.ReservationConflictException;
+import aise.legend_anabada.dto.Response;
+import aise.legend_anabada.dto.response.BookDetailDTO;
+import aise.legend_anabada.dto.response.CursorPageDTO;
+import aise.legend_anabada.dto.response.ReservationDTO;
+import aise.legend_anabada.dto.response.BookSummaryDTO;
+import aise.legend_anabada.dto.response.SearchPageDTO;
 import aise.legend_anabada.service.BookSearchService;
+import aise.legend_anabada.service.ReservationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/search")
 public class BookSearchRestController {
     @Autowired
     private BookSearchService bookSearchService;
+    @Autowired
+    private ReservationService reservationService;
 
-    // TODO 교재 검색
+    // 교재 검색 (키셋 페이지네이션)
     @GetMapping("/search")
-    public ResponseEntity<List<Book>> searchBooks(@RequestParam String keyword,
-                                                  @RequestParam String schoolId) {
-        List<Book> books = bookSearchService.searchBooks(keyword, schoolId);
-        return ResponseEntity.ok(books);
+    public ResponseEntity<Response<CursorPageDTO<BookSummaryDTO>>> searchBooks(@RequestParam String keyword,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false, defaultValue = "20") int size) {
+        try {
+            CursorPageDTO<BookSummaryDTO> page = bookSearchService.searchBooks(keyword, cursor, size);
+            return ResponseEntity.ok(new Response<>(true, "검색 완료", page));
+        } catch (ExpiredTokenException e) {
+            return ResponseEntity.status(Status.UNAUTHORIZED)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
+    }
+
+    // 학교 교재 목록 (키셋 페이지네이션)
+    @GetMapping("/books")
+    public ResponseEntity<Response<CursorPageDTO<BookSummaryDTO>>> listSchoolBooks(@RequestParam(required = false) String cursor,
+                                                                                  @RequestParam(required = false, defaultValue = "20") int size) {
+        try {
+            CursorPageDTO<BookSummaryDTO> page = bookSearchService.listSchoolBooks(cursor, size);
+            return ResponseEntity.ok(new Response<>(true, "조회 완료", page));
+        } catch (ExpiredTokenException e) {
+            return ResponseEntity.status(Status.UNAUTHORIZED)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
     }
 
-    // TODO 검색 결과 필터링
-    @PostMapping("/filter")
-    public ResponseEntity<List<Book>> filterSearchResults(@RequestBody List<Book> books,
-                                                          @RequestParam(required = false) String state,
-                                                          @RequestParam(required = false, defaultValue = "0") int minPoints,
-                                                          @RequestParam(required = false, defaultValue = "999999") int maxPoints,
-                                                          @RequestParam(required = false) LocalDate registrationDate,
-                                                          @RequestParam(required = false, defaultValue = "popularity") String sortBy) {
-        List<Book> filtered = bookSearchService.filterSearchResults(books, state, minPoints, maxPoints, registrationDate, sortBy);
-        return ResponseEntity.ok(filtered);
+    // 검색 세션 생성 (첫 페이지 포함)
+    @PostMapping("/session")
+    public ResponseEntity<Response<SearchPageDTO<BookSummaryDTO>>> openSearchSession(@RequestParam String keyword,
+                                                                                    @RequestParam(required = false, defaultValue = "20") int size) {
+        try {
+            SearchPageDTO<BookSummaryDTO> page = bookSearchService.openSearchSession(keyword, size);
+            return ResponseEntity.ok(new Response<>(true, "검색 완료", page));
+        } catch (ExpiredTokenException e) {
+            return ResponseEntity.status(Status.UNAUTHORIZED)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
     }
 
-    // TODO 교재 상세 조회
+    // 검색 결과 필터링 (검색 세션 기준)
+    @GetMapping("/filter")
+    public ResponseEntity<Response<SearchPageDTO<BookSummaryDTO>>> filterSearchResults(@RequestParam String sessionId,
+                                                                                      @RequestParam(required = false) String state,
+                                                                                      @RequestParam(required = false, defaultValue = "0") int minPoints,
+                                                                                      @RequestParam(required = false, defaultValue = "999999") int maxPoints,
+                                                                                      @RequestParam(required = false) LocalDate registrationDate,
+                                                                                      @RequestParam(required = false, defaultValue = "popularity") String sortBy,
+                                                                                      @RequestParam(required = false) String cursor,
+                                                                                      @RequestParam(required = false, defaultValue = "20") int size) {
+        try {
+            SearchPageDTO<BookSummaryDTO> page = bookSearchService.filterSearchResults(sessionId, state, minPoints, maxPoints,
+                    registrationDate, sortBy, cursor, size);
+            return ResponseEntity.ok(new Response<>(true, "필터링 완료", page));
+        } catch (InvalidSessionException e) {
+            return ResponseEntity.status(Status.BAD_REQUEST)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
+    }
+
+    // 교재 상세 조회
     @GetMapping("/{bookId}")
-    public ResponseEntity<Book> viewBookDetails(@PathVariable String bookId,
-                                                @RequestParam String schoolId) {
-        Book book = bookSearchService.viewBookDetails(bookId, schoolId);
-        return ResponseEntity.ok(book);
+    public ResponseEntity<Response<BookDetailDTO>> viewBookDetails(@PathVariable String bookId) {
+        try {
+            BookDetailDTO book = bookSearchService.viewBookDetails(bookId);
+            return ResponseEntity.ok(new Response<>(true, "조회 완료", book));
+        } catch (ExpiredTokenException e) {
+            return ResponseEntity.status(Status.UNAUTHORIZED)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (BookNotFoundException | IllegalArgumentException e) {
+            return ResponseEntity.status(Status.BAD_REQUEST)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
     }
 
     // TODO 교재 문제 신고
@@ -52,11 +114,51 @@ public class BookSearchRestController {
         return ResponseEntity.ok("교재 신고 완료");
     }
 
-    // TODO 교재 예약
+    // 교재 예약 (포인트 홀딩)
     @PostMapping("/{bookId}/reserve")
-    public ResponseEntity<String> reserveBook(@PathVariable String bookId,
-                                              @RequestParam String userId) {
-        bookSearchService.reserveBook(bookId, userId);
-        return ResponseEntity.ok("교재 예약 완료");
+    public ResponseEntity<Response<ReservationDTO>> reserveBook(@PathVariable String bookId) {
+        try {
+            ReservationDTO reservation = reservationService.reserve(UUID.fromString(bookId));
+            return ResponseEntity.ok(new Response<>(true, "교재 예약 완료", reservation));
+        } catch (Exception e) {
+            return reservationFailed(e);
+        }
+    }
+
+    // 예약 교재 수령 확정 (포인트 차감)
+    @PostMapping("/reservations/{reservationId}/pickup")
+    public ResponseEntity<Response<ReservationDTO>> pickupReservation(@PathVariable String reservationId) {
+        try {
+            ReservationDTO reservation = reservationService.pickup(UUID.fromString(reservationId));
+            return ResponseEntity.ok(new Response<>(true, "수령 완료", reservation));
+        } catch (Exception e) {
+            return reservationFailed(e);
+        }
+    }
+
+    // 예약 취소 (포인트 반환)
+    @PostMapping("/reservations/{reservationId}/cancel")
+    public ResponseEntity<Response<ReservationDTO>> cancelReservation(@PathVariable String reservationId) {
+        try {
+            ReservationDTO reservation = reservationService.cancel(UUID.fromString(reservationId));
+            return ResponseEntity.ok(new Response<>(true, "예약 취소 완료", reservation));
+        } catch (Exception e) {
+            return reservationFailed(e);
+        }
+    }
+
+    private static ResponseEntity<Response<ReservationDTO>> reservationFailed(Exception e) {
+        int status;
+        if (e instanceof ExpiredTokenException) {
+            status = Status.UNAUTHORIZED;
+        } else if (e instanceof ReservationConflictException) {
+            status = Status.CONFLICT;
+        } else if (e instanceof BookNotFoundException || e instanceof InvalidReservationException
+                || e instanceof InsufficientPointException || e instanceof IllegalArgumentException) {
+            status = Status.BAD_REQUEST;
+        } else {
+            status = Status.INTERNAL_SERVER_ERROR;
+        }
+        return ResponseEntity.status(status).body(new Response<>(false, e.getMessage(), null));
     }
 }
@@ -0,0 +1,83 @@
+package aise.legend_anabada.rest;
+
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.config.exception.ExpiredTokenException;
+import aise.legend_anabada.repository.BookImageRepository;
+import aise.legend_anabada.util.FileStreamer;
+import aise.legend_anabada.util.ImageStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/files")
+public class FileRestController {
+    private static final String PREFIX = "/api/files/";
+
+    @Autowired
+    private ImageStore imageStore;
+    @Autowired
+    private BookImageRepository bookImageRepository;
+    @Autowired
+    private AuthContext authContext;
+    @Autowired
+    private FileStreamer fileStreamer;
+
+    // 이미지 저장소(upload_dir/cas) 아래 파일 다운로드 (Range 지원). 로그인한 사용자의 학교 교재 사진만.
+    @RequestMapping(value = "/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serveFile(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AuthPrincipal principal;
+        try {
+            principal = authContext.require();
+        } catch (ExpiredTokenException e) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        String relative = UriUtils.decode(uri.substring(Math.min(uri.length(), PREFIX.length())), StandardCharsets.UTF_8);
+
+        Path root;
+        Path file;
+        try {
+            // 심볼릭 링크를 따라간 실제 경로로 비교해야 저장소 밖으로 나가지 못한다
+            root = imageStore.root().toRealPath();
+            file = root.resolve(relative).toRealPath();
+        } catch (IOException | InvalidPathException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!file.startsWith(root) || !Files.isRegularFile(file) || !visible(principal, root.relativize(file))) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        MediaType type = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        fileStreamer.serve(file, type.toString(), null, "private, max-age=3600", request, response);
+    }
+
+    // ab/<hash>/w480.jpg -> 이 해시를 쓰는 같은 학교 교재가 있어야 한다 (관리자는 전체)
+    private boolean visible(AuthPrincipal principal, Path relative) {
+        if (principal.isAdmin()) {
+            return true;
+        }
+        if (relative.getNameCount() != 3 || !ImageStore.isHash(relative.getName(1).toString())) {
+            return false;
+        }
+        return bookImageRepository.existsByContentHashAndSchool(relative.getName(1).toString(), "%@" + principal.getSchool());
+    }
+}
@@ -0,0 +1,46 @@
+package aise.legend_anabada.rest;
+
+import aise.legend_anabada.util.FileStreamer;
+import aise.legend_anabada.util.ImageStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/image")
+public class ImageRestController {
+    // 해시 주소의 내용은 바뀌지 않으므로 1년 + immutable
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+            .getHeaderValue();
+
+    @Autowired
+    private ImageStore imageStore;
+    @Autowired
+    private FileStreamer fileStreamer;
+
+    // 교재 사진 (w=160/480/1080/1600)
+    @RequestMapping(value = "/{hash}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void getImage(@PathVariable String hash,
+                         @RequestParam(required = false, defaultValue = "1600") int w,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!ImageStore.isHash(hash) || !ImageStore.isWidth(w)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        Path path = imageStore.path(hash, w);
+        if (!Files.isRegularFile(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        fileStreamer.serve(path, MediaType.IMAGE_JPEG_VALUE, "\"" + hash + "-w" + w + "\"", IMMUTABLE, request, response);
+    }
+}
@@ -1,9 +1,25 @@
 package aise.legend_anabada.rest;
 
+import aise.legend_anabada.config.Status;
+import aise.legend_anabada.config.exception.ExpiredTokenException;
+import aise.legend_anabada.config.exception.InvalidLockerStateException;
+import aise.legend_anabada.config.exception.InvalidTokenException;
+import aise.legend_anabada.config.exception.LockerNotFoundException;
+import aise.legend_anabada.config.exception.PermissionDeniedException;
+import aise.legend_anabada.config.exception.ServiceBusyException;
+import aise.legend_anabada.dto.Response;
+import aise.legend_anabada.dto.response.LockerSensorDTO;
+import aise.legend_anabada.dto.response.LockerStateDTO;
 import aise.legend_anabada.service.LockerService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/locker")
@@ -11,42 +27,128 @@ public class LockerRestController {
     @Autowired
     private LockerService lockerService;
 
-    // TODO 사물함 개방
+    // 입고할 빈 사물함 배정
+    @PostMapping("/assign")
+    public ResponseEntity<Response<LockerStateDTO>> assignLocker() {
+        try {
+            return ResponseEntity.ok(new Response<>(true, "사물함 배정 완료", lockerService.assignLocker()));
+        } catch (Exception e) {
+            return lockerFailed(e);
+        }
+    }
+
+    // 사물함 개방
     @PostMapping("/{lockerId}/open")
-    public ResponseEntity<String> openLocker(@PathVariable String lockerId,
-                                             @RequestParam String userId) {
-        lockerService.openLocker(lockerId, userId);
-        return ResponseEntity.ok("사물함 개방 요청 완료: " + lockerId);
+    public ResponseEntity<Response<LockerStateDTO>> openLocker(@PathVariable String lockerId) {
+        try {
+            LockerStateDTO state = lockerService.openLocker(UUID.fromString(lockerId));
+            return ResponseEntity.ok(new Response<>(true, "사물함 개방 완료", state));
+        } catch (Exception e) {
+            return lockerFailed(e);
+        }
     }
 
-    // TODO 사물함 닫힘
+    // 사물함 닫힘 (empty=true 면 비운 칸을 반납)
     @PostMapping("/{lockerId}/close")
-    public ResponseEntity<String> closeLocker(@PathVariable String lockerId,
-                                              @RequestParam String userId) {
-        lockerService.closeLocker(lockerId, userId);
-        return ResponseEntity.ok("사물함 닫힘 처리 완료: " + lockerId);
+    public ResponseEntity<Response<LockerStateDTO>> closeLocker(@PathVariable String lockerId,
+                                                               @RequestParam(defaultValue = "false") boolean empty) {
+        try {
+            LockerStateDTO state = lockerService.closeLocker(UUID.fromString(lockerId), empty);
+            return ResponseEntity.ok(new Response<>(true, "사물함 닫힘 처리 완료", state));
+        } catch (Exception e) {
+            return lockerFailed(e);
+        }
+    }
+
+    // 사물함 한 칸 상태
+    @GetMapping("/{lockerId}")
+    public ResponseEntity<Response<LockerStateDTO>> getLockerStatus(@PathVariable String lockerId) {
+        try {
+            return ResponseEntity.ok(new Response<>(true, "사물함 상태 조회 완료", lockerService.getLockerStatus(UUID.fromString(lockerId))));
+        } catch (Exception e) {
+            return lockerFailed(e);
+        }
     }
 
-    // TODO 사물함 상태 모니터링
+    // 사물함 상태 모니터링 (전체 칸)
     @GetMapping("/monitor")
-    public ResponseEntity<String> monitorLockerStatus() {
-        lockerService.monitorLockerStatus();
-        return ResponseEntity.ok("사물함 상태 모니터링 수행");
+    public ResponseEntity<Response<List<LockerStateDTO>>> monitorLockerStatus() {
+        return ResponseEntity.ok(new Response<>(true, "사물함 상태 조회 완료", lockerService.monitorLockerStatus()));
+    }
+
+    // 칸별 센서 상태 (문, 센서 오류, 연결)
+    @GetMapping("/sensors")
+    public ResponseEntity<Response<List<LockerSensorDTO>>> getSensors() {
+        return ResponseEntity.ok(new Response<>(true, "센서 상태 조회 완료", lockerService.getSensors()));
     }
 
-    // TODO 고장난 사물함 비활성화
+    // 사물함 장치 센서 값 수신. 본문은 TelemetryCodec 바이너리 프레임, 응답 data 는 받은 값 개수
+    @PostMapping(value = "/telemetry", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Response<Integer>> ingestTelemetry(@RequestHeader(value = "X-Device-Key", required = false) String deviceKey,
+                                                             HttpServletRequest request) {
+        try {
+            int count = lockerService.ingestTelemetry(deviceKey, request.getInputStream());
+            return ResponseEntity.ok(new Response<>(true, "센서 값 수신 완료", count));
+        } catch (Exception e) {
+            return lockerFailed(e);
+        }
+    }
+
+    // 사물함/예약 상태 실시간 구독 (SSE: event 이름 locker, reservation, alert, sensor, emergency-open)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLockerStatus() {
+        return lockerService.subscribe();
+    }
+
+    // 고장난 사물함 비활성화 (관리자)
     @PostMapping("/{lockerId}/disable")
-    public ResponseEntity<String> disableBrokenLocker(@PathVariable String lockerId) {
-        lockerService.disableBrokenLocker(lockerId);
-        return ResponseEntity.ok("고장 사물함 비활성화 완료: " + lockerId);
+    public ResponseEntity<Response<LockerStateDTO>> disableBrokenLocker(@PathVariable String lockerId) {
+        try {
+            LockerStateDTO state = lockerService.disableBrokenLocker(UUID.fromString(lockerId));
+            return ResponseEntity.ok(new Response<>(true, "고장 사물함 비활성화 완료", state));
+        } catch (Exception e) {
+            return lockerFailed(e);
+        }
     }
 
-    // TODO 관리자 비상 개방
+    // 점검 끝난 사물함 다시 사용 (관리자)
+    @PostMapping("/{lockerId}/enable")
+    public ResponseEntity<Response<LockerStateDTO>> enableLocker(@PathVariable String lockerId) {
+        try {
+            LockerStateDTO state = lockerService.enableLocker(UUID.fromString(lockerId));
+            return ResponseEntity.ok(new Response<>(true, "사물함 사용 가능 처리 완료", state));
+        } catch (Exception e) {
+            return lockerFailed(e);
+        }
+    }
+
+    // 관리자 비상 개방 (사유 필수, 담당자는 로그인한 관리자)
     @PostMapping("/{lockerId}/emergency-open")
-    public ResponseEntity<String> emergencyOpenLocker(@PathVariable String lockerId,
-                                                      @RequestParam String adminId,
-                                                      @RequestParam String reason) {
-        lockerService.emergencyOpenLocker(lockerId, adminId, reason);
-        return ResponseEntity.ok("비상 개방 완료: " + lockerId + ", 사유: " + reason);
+    public ResponseEntity<Response<LockerStateDTO>> emergencyOpenLocker(@PathVariable String lockerId,
+                                                                       @RequestParam String reason) {
+        try {
+            LockerStateDTO state = lockerService.emergencyOpenLocker(UUID.fromString(lockerId), reason);
+            return ResponseEntity.ok(new Response<>(true, "비상 개방 완료", state));
+        } catch (Exception e) {
+            return lockerFailed(e);
+        }
+    }
+
+    private static <T> ResponseEntity<Response<T>> lockerFailed(Exception e) {
+        int status;
+        if (e instanceof ExpiredTokenException || e instanceof InvalidTokenException) {
+            status = Status.UNAUTHORIZED;
+        } else if (e instanceof PermissionDeniedException) {
+            status = Status.FORBIDDEN;
+        } else if (e instanceof InvalidLockerStateException) {
+            status = Status.CONFLICT;
+        } else if (e instanceof LockerNotFoundException || e instanceof IllegalArgumentException) {
+            status = Status.BAD_REQUEST;
+        } else if (e instanceof ServiceBusyException) {
+            status = Status.SERVICE_UNAVAILABLE;
+        } else {
+            status = Status.INTERNAL_SERVER_ERROR;
+        }
+        return ResponseEntity.status(status).body(new Response<>(false, e.getMessage(), null));
     }
 }
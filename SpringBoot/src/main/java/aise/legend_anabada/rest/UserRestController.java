@@ -4,13 +4,18 @@ import aise.legend_anabada.config.Status;
 import aise.legend_anabada.config.exception.ExpiredTokenException;
 import aise.legend_anabada.config.exception.InvalidEmailException;
 import aise.legend_anabada.config.exception.InvalidPasswordException;
+import aise.legend_anabada.config.exception.PermissionDeniedException;
+import aise.legend_anabada.config.exception.ServiceBusyException;
 import aise.legend_anabada.dto.request.AuthRequest;
+import aise.legend_anabada.dto.request.UserCreateRequest;
 import aise.legend_anabada.dto.request.LoginRequest;
 import aise.legend_anabada.dto.request.UserEditRequest;
 import aise.legend_anabada.dto.request.UserRegisterRequest;
 import aise.legend_anabada.dto.AuthResponse;
 import aise.legend_anabada.dto.Response;
+import aise.legend_anabada.dto.response.CursorPageDTO;
 import aise.legend_anabada.dto.response.LoginDTO;
+import aise.legend_anabada.dto.response.PointStatementItemDTO;
 import aise.legend_anabada.entity.User;
 import aise.legend_anabada.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,24 +23,44 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/api/user")
 public class UserRestController {
     @Autowired
     private UserService userService;
 
-    // 유저 생성
+    // 유저 생성 (관리자 전용)
     @PostMapping("/create")
     public ResponseEntity<Response<User>> createUser(@RequestBody UserCreateRequest request) {
-        Response<User> response = userService.createUser(request);
-        return ResponseEntity.ok(response);
+        try {
+            Response<User> response = userService.createUser(request);
+            return ResponseEntity.ok(response);
+        } catch (ExpiredTokenException e) {
+            return ResponseEntity.status(Status.UNAUTHORIZED)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (PermissionDeniedException e) {
+            return ResponseEntity.status(Status.FORBIDDEN)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(Status.SERVICE_UNAVAILABLE)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
     }
 
     // 회원가입
     @PostMapping("/register")
     public ResponseEntity<Response<LoginDTO>> registerUser(@RequestBody UserRegisterRequest request) {
-        Response<LoginDTO> response = userService.registerUser(request);
-        return ResponseEntity.ok(response);
+        try {
+            Response<LoginDTO> response = userService.registerUser(request);
+            return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(Status.SERVICE_UNAVAILABLE)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
     }
 
     // 메일 전송
@@ -72,22 +97,31 @@ public class UserRestController {
         }
     }
 
-    // 로그인
+    // 로그인 (비밀번호 검증이 끝날 때까지 요청 스레드를 잡고 있지 않음)
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse<LoginDTO>> loginUser(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse<LoginDTO>>> loginUser(@RequestBody LoginRequest request) {
         try {
-            AuthResponse<LoginDTO> response = userService.loginUser(request);
-            return ResponseEntity.ok(response);
-        } catch (InvalidEmailException e) {
-            return ResponseEntity.status(Status.BAD_REQUEST)
-                    .body(new AuthResponse<>(false, null, e.getMessage(), null));
-        } catch (InvalidPasswordException e) {
-            return ResponseEntity.status(Status.UNAUTHORIZED)
-                    .body(new AuthResponse<>(false, null, e.getMessage(), null));
+            return userService.loginUser(request)
+                    .thenApply(response -> ResponseEntity.ok(response))
+                    .exceptionally(e -> loginFailed(e instanceof CompletionException ? e.getCause() : e));
         } catch (Exception e) {
-            return ResponseEntity.status(Status.INTERNAL_SERVER_ERROR)
-                    .body(new AuthResponse<>(false, null, e.getMessage(), null));
+            return CompletableFuture.completedFuture(loginFailed(e));
+        }
+    }
+
+    private static ResponseEntity<AuthResponse<LoginDTO>> loginFailed(Throwable e) {
+        int status;
+        if (e instanceof InvalidEmailException) {
+            status = Status.BAD_REQUEST;
+        } else if (e instanceof InvalidPasswordException) {
+            status = Status.UNAUTHORIZED;
+        } else if (e instanceof ServiceBusyException) {
+            status = Status.SERVICE_UNAVAILABLE;
+        } else {
+            status = Status.INTERNAL_SERVER_ERROR;
         }
+        return ResponseEntity.status(status)
+                .body(new AuthResponse<>(false, null, e.getMessage(), null));
     }
 
     // 로그아웃
@@ -99,11 +133,13 @@ public class UserRestController {
 
     // TODO 개인정보 수정
     @PutMapping("/edit")
-    public ResponseEntity<AuthResponse<Void>> editUser(@RequestHeader String token,
-                                                       @RequestBody UserEditRequest request) {
+    public ResponseEntity<AuthResponse<Void>> editUser(@RequestBody UserEditRequest request) {
         try{
-            AuthResponse<Void> response = userService.editUser(token, request);
+            AuthResponse<Void> response = userService.editUser(request);
             return ResponseEntity.ok(response);
+        } catch (ExpiredTokenException e) {
+            return ResponseEntity.status(Status.UNAUTHORIZED)
+                    .body(new AuthResponse<>(false, null, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(Status.INTERNAL_SERVER_ERROR)
                     .body(new AuthResponse<>(false, null, e.getMessage(), null));
@@ -126,11 +162,44 @@ public class UserRestController {
         return ResponseEntity.ok("계정 탈퇴 요청 완료");
     }
 
-    // 포인트 관리
-    @GetMapping("/charge-points")
-    public ResponseEntity<Response<Void>> managePoints(@RequestParam("userId") String email,
-                                               @RequestBody int amount) {
-        Response<Void> response = userService.managePoints(email, amount);
-        return ResponseEntity.ok(response);
+    // 포인트 충전 (관리자가 결제 확인 후 대상 사용자에게)
+    @PostMapping("/charge-points")
+    public ResponseEntity<Response<Integer>> managePoints(@RequestParam("userId") UUID userId,
+                                                          @RequestBody int amount) {
+        try {
+            Response<Integer> response = userService.managePoints(userId, amount);
+            return ResponseEntity.ok(response);
+        } catch (ExpiredTokenException e) {
+            return ResponseEntity.status(Status.UNAUTHORIZED)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (PermissionDeniedException e) {
+            return ResponseEntity.status(Status.FORBIDDEN)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(Status.BAD_REQUEST)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(Status.INTERNAL_SERVER_ERROR)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
+    }
+
+    // 포인트 내역 (cursor 가 없으면 최신부터)
+    @GetMapping("/points/statement")
+    public ResponseEntity<Response<CursorPageDTO<PointStatementItemDTO>>> viewPointStatement(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(userService.getPointStatement(cursor, size));
+        } catch (ExpiredTokenException e) {
+            return ResponseEntity.status(Status.UNAUTHORIZED)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(Status.BAD_REQUEST)
+                    .body(new Response<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(Status.INTERNAL_SERVER_ERROR)
+                    .body(new Response<>(false, e.getMessage(), null));
+        }
     }
 }
@@ -0,0 +1,136 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.dto.response.PredictResultDTO;
+import aise.legend_anabada.entity.Book;
+import aise.legend_anabada.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 등록된 교재를 모아서 OCR + YOLO 서버에 보내고, 결과를 한 번에 book 에 반영한다.
+// 배치: 최대 BATCH_SIZE 개 또는 첫 요청 후 BATCH_WINDOW_MS 까지 모은 것
+@Service
+public class BookEnrichmentService {
+    private static final Logger log = LoggerFactory.getLogger(BookEnrichmentService.class);
+
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final int BATCH_SIZE = 16;
+    private static final long BATCH_WINDOW_MS = 500;
+    private static final int MAX_CONCURRENCY = 4;
+    private static final int DMG_TAG_LENGTH = 10; // book.dmg_tag varchar(10)
+
+    @Autowired
+    private InferenceGateway inferenceGateway;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Job> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    private record Job(UUID bookId, String coverHash) {
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "book-enrichment");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        dispatcher.interrupt();
+    }
+
+    // 표지 사진 처리가 끝난 교재를 큐에 넣는다. 큐가 가득 차면 버린다 (등록 자체는 이미 끝난 상태).
+    public void enqueue(UUID bookId, String coverHash) {
+        if (!queue.offer(new Job(bookId, coverHash))) {
+            log.warn("교재 자동 인식 큐가 가득 차 건너뜀 book={}", bookId);
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                Job first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Job> batch = new ArrayList<>(BATCH_SIZE);
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + BATCH_WINDOW_MS;
+                while (batch.size() < BATCH_SIZE) {
+                    long wait = deadline - System.currentTimeMillis();
+                    Job job = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : null;
+                    if (job == null) {
+                        break;
+                    }
+                    batch.add(job);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("교재 자동 인식 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void process(List<Job> batch) {
+        Map<UUID, String> coverHashes = new LinkedHashMap<>();
+        for (Job job : batch) {
+            coverHashes.put(job.bookId(), job.coverHash());
+        }
+
+        // 다음 배치는 이 배치의 결과 반영이 끝난 뒤에 보낸다 (서버 동시 요청 수 제한)
+        Map<UUID, PredictResultDTO> results = inferenceGateway.predictAll(coverHashes, MAX_CONCURRENCY).join();
+        if (!results.isEmpty()) {
+            apply(results);
+        }
+    }
+
+    // 한 트랜잭션에서 갱신 (hibernate.jdbc.batch_size 로 UPDATE 를 묶어서 전송)
+    private void apply(Map<UUID, PredictResultDTO> results) {
+        List<Book> updated = transactionTemplate.execute(status -> {
+            List<Book> books = bookRepository.findAllById(results.keySet());
+            for (Book book : books) {
+                PredictResultDTO result = results.get(book.getId());
+                // 사용자가 입력한 값이 우선
+                if (isBlank(book.getTitle()) && !isBlank(result.getTitle())) book.setTitle(result.getTitle());
+                if (isBlank(book.getAuthor()) && !isBlank(result.getAuthor())) book.setAuthor(result.getAuthor());
+                if (isBlank(book.getPublisher()) && !isBlank(result.getPublisher())) book.setPublisher(result.getPublisher());
+                if (!isBlank(result.getConditionGrade())) book.setConditionGrade(result.getConditionGrade());
+                if (result.getDmgTag() != null && !result.getDmgTag().isEmpty()) {
+                    String tags = String.join(",", result.getDmgTag());
+                    book.setDmgTag(tags.length() > DMG_TAG_LENGTH ? tags.substring(0, DMG_TAG_LENGTH) : tags);
+                }
+            }
+            return books;
+        });
+
+        for (Book book : updated) {
+            bookSearchIndex.index(book);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
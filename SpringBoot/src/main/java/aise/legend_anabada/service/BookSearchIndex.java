@@ -0,0 +1,186 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.dto.projection.BookIndexView;
+import aise.legend_anabada.entity.Book;
+import aise.legend_anabada.repository.BookRepository;
+import aise.legend_anabada.util.CursorUtil;
+import aise.legend_anabada.util.KoreanTokenizer;
+import aise.legend_anabada.util.SchoolUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 제목/저자/출판사 역색인. 학교(이메일 도메인)별로 분리해서 메모리에 보관한다.
+@Component
+public class BookSearchIndex {
+    // 최신 등록순, 같은 시각이면 id 역순
+    private static final Comparator<Document> ORDER = Comparator.comparingLong(Document::registeredAt)
+            .thenComparing(Document::bookId).reversed();
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final Map<UUID, String> schoolOfBook = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        partitions.clear();
+        schoolOfBook.clear();
+        for (BookIndexView view : bookRepository.findAllForIndex()) {
+            put(view.getId(), SchoolUtil.fromEmail(view.getOwnerEmail()),
+                    view.getTitle(), view.getAuthor(), view.getPublisher(), view.getRegisteredAt());
+        }
+    }
+
+    // 교재 등록/수정 후 호출
+    public void index(Book book) {
+        String school = schoolOfBook.get(book.getId());
+        if (school == null) {
+            school = SchoolUtil.fromEmail(book.getUser() == null ? null : book.getUser().getEmail());
+        }
+        index(book, school);
+    }
+
+    // 등록자의 학교를 이미 알고 있을 때 (User 를 다시 읽지 않음)
+    public void index(Book book, String school) {
+        put(book.getId(), school, book.getTitle(), book.getAuthor(), book.getPublisher(), book.getRegisteredAt());
+    }
+
+    public void remove(UUID bookId) {
+        String school = schoolOfBook.remove(bookId);
+        if (school != null) {
+            partitions.get(school).remove(bookId);
+        }
+    }
+
+    // 최신 등록순으로 정렬된 교재 ID
+    public List<UUID> search(String schoolId, String keyword) {
+        return ids(hits(schoolId, keyword), 0, Integer.MAX_VALUE);
+    }
+
+    // (registeredAt, id) 키셋 이후의 limit 개. 커서 위치는 이진 탐색으로 찾는다.
+    public List<UUID> searchPage(String schoolId, String keyword, CursorUtil.Keyset after, int limit) {
+        List<Document> hits = hits(schoolId, keyword);
+        int from = 0;
+        if (after != null) {
+            Document probe = new Document(after.id(), "", "", Set.of(), after.micros());
+            int pos = Collections.binarySearch(hits, probe, ORDER);
+            from = pos >= 0 ? pos + 1 : -pos - 1;
+        }
+        return ids(hits, from, limit);
+    }
+
+    private List<Document> hits(String schoolId, String keyword) {
+        Partition partition = partitions.get(SchoolUtil.normalize(schoolId));
+        String normalized = KoreanTokenizer.normalize(keyword);
+        if (partition == null || normalized.isEmpty()) {
+            return List.of();
+        }
+        return partition.search(normalized);
+    }
+
+    private static List<UUID> ids(List<Document> documents, int from, int limit) {
+        int to = (int) Math.min(documents.size(), (long) from + limit);
+        List<UUID> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(documents.get(i).bookId());
+        }
+        return result;
+    }
+
+    private void put(UUID bookId, String school, String title, String author, String publisher,
+                     OffsetDateTime registeredAt) {
+        String text = KoreanTokenizer.normalize(String.join(" ",
+                Objects.toString(title, ""), Objects.toString(author, ""), Objects.toString(publisher, "")));
+        long registered = CursorUtil.toMicros(registeredAt);
+        Document document = new Document(bookId, text, KoreanTokenizer.toChosung(text),
+                KoreanTokenizer.indexTokens(text), registered);
+
+        String previous = schoolOfBook.put(bookId, school);
+        if (previous != null && !previous.equals(school)) {
+            partitions.get(previous).remove(bookId);
+        }
+        partitions.computeIfAbsent(school, k -> new Partition()).add(document);
+    }
+
+    private record Document(UUID bookId, String text, String chosung, Set<String> tokens, long registeredAt) {
+        // 2-gram 교집합은 오탐이 있을 수 있어 원문으로 한 번 더 확인한다.
+        boolean matches(String[] words) {
+            for (String word : words) {
+                String target = KoreanTokenizer.isChosungOnly(word) ? chosung : text;
+                if (!target.contains(word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class Partition {
+        private final Map<String, Set<UUID>> postings = new ConcurrentHashMap<>();
+        private final Map<UUID, Document> documents = new ConcurrentHashMap<>();
+
+        synchronized void add(Document document) {
+            remove(document.bookId());
+            documents.put(document.bookId(), document);
+            for (String token : document.tokens()) {
+                postings.computeIfAbsent(token, k -> ConcurrentHashMap.newKeySet()).add(document.bookId());
+            }
+        }
+
+        synchronized void remove(UUID bookId) {
+            Document old = documents.remove(bookId);
+            if (old == null) {
+                return;
+            }
+            for (String token : old.tokens()) {
+                Set<UUID> ids = postings.get(token);
+                if (ids != null) {
+                    ids.remove(bookId);
+                    if (ids.isEmpty()) {
+                        postings.remove(token);
+                    }
+                }
+            }
+        }
+
+        List<Document> search(String normalized) {
+            // 가장 짧은 posting 목록부터 교집합
+            List<Set<UUID>> lists = new ArrayList<>();
+            for (String token : KoreanTokenizer.queryTokens(normalized)) {
+                Set<UUID> ids = postings.get(token);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            String[] words = normalized.split(" ");
+            List<Document> hits = new ArrayList<>();
+            outer:
+            for (UUID id : lists.get(0)) {
+                for (int i = 1; i < lists.size(); i++) {
+                    if (!lists.get(i).contains(id)) {
+                        continue outer;
+                    }
+                }
+                Document document = documents.get(id);
+                if (document != null && document.matches(words)) {
+                    hits.add(document);
+                }
+            }
+            hits.sort(ORDER);
+            return hits;
+        }
+    }
+}
@@ -1,45 +1,162 @@
 package aise.legend_anabada.service;
 
-import aise.legend_anabada.entity.Book;
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.exception.BookNotFoundException;
+import aise.legend_anabada.config.exception.InvalidSessionException;
+import aise.legend_anabada.dto.projection.BookCountView;
+import aise.legend_anabada.dto.response.BookDetailDTO;
+import aise.legend_anabada.dto.response.CursorPageDTO;
+import aise.legend_anabada.dto.response.BookSummaryDTO;
+import aise.legend_anabada.dto.response.SearchPageDTO;
+import aise.legend_anabada.repository.BookImageRepository;
 import aise.legend_anabada.repository.BookRepository;
+import aise.legend_anabada.repository.ReservationRepository;
+import aise.legend_anabada.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
 
 @Service
 public class BookSearchService {
+    // 검색 세션에 담는 최대 교재 수 (최신 등록순 앞쪽). IN 목록과 세션 메모리를 제한한다.
+    static final int MAX_SESSION_ROWS = 1000;
+
     @Autowired
     private BookRepository bookRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private BookImageRepository bookImageRepository;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    @Autowired
+    private SearchSessionStore searchSessionStore;
+    @Autowired
+    private AuthContext authContext;
 
-    public List<Book> searchBooks(String keyword, String schoolId) {
+    public CursorPageDTO<BookSummaryDTO> searchBooks(String keyword, String cursor, int size) {
         // 사용자는 제목, 저자 등을 기준으로 교재를 검색할 수 있다.
-        // 동일 학교 사용자만 검색 결과를 열람할 수 있다.
-        return null;
+        // 동일 학교 사용자만 검색 결과를 열람할 수 있다. (학교는 토큰의 이메일 도메인으로만 정한다)
+        String school = authContext.require().getSchool();
+        int limit = Math.max(1, size);
+        List<UUID> ids = bookSearchIndex.searchPage(school, keyword, CursorUtil.decode(cursor), limit + 1);
+        boolean hasNext = ids.size() > limit;
+        if (hasNext) {
+            ids = ids.subList(0, limit);
+        }
+        if (ids.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        // 색인 순서(최신 등록순) 유지
+        Map<UUID, BookSummaryDTO> rows = new HashMap<>();
+        for (BookSummaryDTO row : bookRepository.findSummariesByIdIn(ids)) {
+            rows.put(row.getId(), row);
+        }
+        List<BookSummaryDTO> items = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            BookSummaryDTO row = rows.get(id);
+            if (row != null) {
+                items.add(row);
+            }
+        }
+        return new CursorPageDTO<>(items, hasNext ? nextCursor(items) : null);
     }
 
-    public List<Book> filterSearchResults(List<Book> books, String state, int minPoints, int maxPoints,
-                                          LocalDate registrationDate, String sortBy) {
+    public CursorPageDTO<BookSummaryDTO> listSchoolBooks(String cursor, int size) {
+        // 같은 학교 교재를 최신 등록순으로 나열. 깊은 페이지도 첫 페이지와 같은 비용으로 조회된다.
+        String emailPattern = schoolPattern();
+        int limit = Math.max(1, size);
+        CursorUtil.Keyset after = CursorUtil.decode(cursor);
+
+        List<BookSummaryDTO> items = after == null
+                ? bookRepository.findSchoolPage(emailPattern, Limit.of(limit + 1))
+                : bookRepository.findSchoolPageAfter(emailPattern, after.registeredAt(), after.id(), Limit.of(limit + 1));
+        boolean hasNext = items.size() > limit;
+        if (hasNext) {
+            items = items.subList(0, limit);
+        }
+        return new CursorPageDTO<>(items, hasNext ? nextCursor(items) : null);
+    }
+
+    // 로그인한 사용자의 학교 교재만 (owner 이메일이 같은 도메인)
+    private String schoolPattern() {
+        return "%@" + authContext.require().getSchool();
+    }
+
+    private static String nextCursor(List<BookSummaryDTO> items) {
+        BookSummaryDTO last = items.get(items.size() - 1);
+        return CursorUtil.encode(last.getRegisteredAt(), last.getId());
+    }
+
+    public SearchPageDTO<BookSummaryDTO> openSearchSession(String keyword, int size) {
+        // 검색 결과를 서버에 세션으로 보관하고, 이후 필터링은 세션 ID로 요청한다.
+        List<UUID> ids = bookSearchIndex.search(authContext.require().getSchool(), keyword);
+        if (ids.size() > MAX_SESSION_ROWS) {
+            ids = ids.subList(0, MAX_SESSION_ROWS);
+        }
+
+        Map<UUID, BookSummaryDTO> rows = new HashMap<>();
+        Map<UUID, Integer> popularity = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (BookSummaryDTO row : bookRepository.findSummariesByIdIn(ids)) {
+                rows.put(row.getId(), row);
+            }
+            for (BookCountView count : reservationRepository.countByBookIds(ids)) {
+                popularity.put(count.getBookId(), count.getCnt().intValue());
+            }
+        }
+
+        List<BookSummaryDTO> ordered = new ArrayList<>(rows.size());
+        for (UUID id : ids) {
+            BookSummaryDTO row = rows.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+
+        SearchSession session = searchSessionStore.create(ordered, popularity);
+        return page(session, null, 0, Integer.MAX_VALUE, null, "latest", null, size);
+    }
+
+    public SearchPageDTO<BookSummaryDTO> filterSearchResults(String sessionId, String state, int minPoints, int maxPoints,
+                                                             LocalDate registrationDate, String sortBy,
+                                                             String cursor, int size) {
         // 검색 결과는 상태, 포인트, 등록일, 인기순 등의 조건으로 필터링할 수 있다.
-        return null;
+        SearchSession session = searchSessionStore.get(sessionId);
+        if (session == null) {
+            throw new InvalidSessionException("검색 세션이 만료되었습니다. 다시 검색해주세요.");
+        }
+        return page(session, state, minPoints, maxPoints, registrationDate, sortBy, cursor, size);
     }
 
-    public Book viewBookDetails(String bookId, String schoolId) {
+    private SearchPageDTO<BookSummaryDTO> page(SearchSession session, String state, int minPoints, int maxPoints,
+                                               LocalDate registrationDate, String sortBy, String cursor, int size) {
+        String key = SearchSession.filterKey(state, minPoints, maxPoints, registrationDate, sortBy);
+        int[] order = session.filter(key, state, minPoints, maxPoints, registrationDate, sortBy);
+
+        int from = SearchSession.decodeCursor(cursor, key, order.length);
+        int to = Math.min(order.length, from + Math.max(1, size));
+        String next = to < order.length ? SearchSession.encodeCursor(key, to) : null;
+
+        return new SearchPageDTO<>(session.getId(), order.length, session.rows(order, from, to), next);
+    }
+
+    public BookDetailDTO viewBookDetails(String bookId) {
         // 교재 상세 화면에서는 제목, 저자, 출판사, 상태, 결함 태그, 포인트 가격, 카테고리 정보를 확인할 수 있다.
         // 사용자는 표지 사진과 결함 사진을 확대하여 확인할 수 있다.
         // 교재가 보관된 사물함 위치가 함께 표시된다.
-        return null;
+        UUID id = UUID.fromString(bookId);
+        BookDetailDTO detail = bookRepository.findDetail(id, schoolPattern())
+                .orElseThrow(() -> new BookNotFoundException("존재하지 않는 교재"));
+        detail.setImages(bookImageRepository.findHashesByBookId(id));
+        return detail;
     }
 
     public void reportBookIssue(String bookId, String userId, String reportContent) {
         // 신고 기능을 통해 상태 불일치나 문제를 제보할 수 있다.
     }
-
-    public void reserveBook(String bookId, String userId) {
-        // 사용자는 원하는 교재를 예약할 수 있다.
-        // 예약 시 포인트가 임시로 홀딩되며, 수령 확정 시 포인트가 차감된다.
-        // 예약 후 일정 시간 내 교재를 수령하지 않으면 자동 취소되며, 포인트는 즉시 반환된다.
-        // 예약 과정 및 결과는 등록자와 예약자 모두에게 알림으로 전달된다.
-    }
 }
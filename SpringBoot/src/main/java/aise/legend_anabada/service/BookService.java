@@ -1,19 +1,28 @@
 package aise.legend_anabada.service;
 
-import aise.legend_anabada.config.exception.ExpiredTokenException;
-import aise.legend_anabada.config.exception.FileUploadException;
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.config.exception.BookNotFoundException;
+import aise.legend_anabada.config.exception.PermissionDeniedException;
 import aise.legend_anabada.dto.request.BookRegisterRequest;
 import aise.legend_anabada.dto.AuthResponse;
+import aise.legend_anabada.dto.response.ImageStatusDTO;
 import aise.legend_anabada.entity.Book;
+import aise.legend_anabada.entity.Category;
+import aise.legend_anabada.entity.Reservation;
 import aise.legend_anabada.repository.BookRepository;
+import aise.legend_anabada.repository.CategoryRepository;
+import aise.legend_anabada.repository.ReservationRepository;
 import aise.legend_anabada.repository.UserRepository;
-import aise.legend_anabada.util.FileUtil;
 import aise.legend_anabada.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,41 +33,107 @@ public class BookService {
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private FileUtil fileUtil;
+    private BookSearchIndex bookSearchIndex;
+    @Autowired
+    private ImageIngestService imageIngestService;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private AuthContext authContext;
 
-    public AuthResponse<Void> registerBook(String token, List<MultipartFile> images, BookRegisterRequest request) {
-        if(!JwtUtil.validateToken(token)){
-            throw new ExpiredTokenException("인증 만료됨");
+    // 이 상태의 예약이 있으면 등록자는 더 이상 수정할 수 없다
+    private static final List<String> LOCKED_STATUSES = List.of(Reservation.RESERVED, Reservation.PICKED_UP);
+
+    public AuthResponse<Void> registerBook(List<MultipartFile> images, BookRegisterRequest request) {
+        AuthPrincipal principal = authContext.require();
+        Category category = findCategory(request.getCategory());
+        int pointPrice = request.getPointPrice() == null ? 0 : request.getPointPrice();
+        if (pointPrice < 0) {
+            throw new IllegalArgumentException("포인트 가격은 0 이상이어야 합니다.");
         }
 
-        UUID uuid = UUID.randomUUID();
+        // 사진 처리 대기열이 가득 찼으면 등록을 받지 않음
+        imageIngestService.checkCapacity();
 
-        for (MultipartFile image : images) {
-            try {
-                if (image != null && !image.isEmpty()) {
-                    String fileName = image.getOriginalFilename();
-                    String filePath = "/" + uuid + "/" + fileName;
-                    fileUtil.save(image, filePath);
-                }
-            } catch (IOException e) {
-                throw new FileUploadException("사진 업로드 실패");
-            }
-        }
+        UUID uuid = UUID.randomUUID();
 
-        // TODO Book 엔티티 생성
         Book book = new Book();
         book.setId(uuid);
+        book.setCategory(category);
+        book.setTitle(request.getTitle());
+        book.setAuthor(request.getAuthor());
+        book.setPublisher(request.getPublisher());
+        book.setConditionGrade(request.getCondition());
+        book.setDmgTag(request.getDmgTag());
+        book.setPointPrice(pointPrice);
+        book.setRegisteredAt(OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS)); // DB 정밀도와 맞춤 (커서 비교용)
 
-        String email = JwtUtil.getEmailFromToken(token);
-        userRepository.findByEmail(email).ifPresent(book::setUser);
+        book.setUser(userRepository.getReferenceById(principal.getUserId()));
 
-        bookRepository.save(book);
+        // 사진을 먼저 임시 폴더로 옮기고, 교재 저장 -> 사진 처리 시작까지 하나라도 실패하면 모두 되돌린다
+        List<Path> staged = imageIngestService.stage(uuid, images);
+        try {
+            bookRepository.save(book);
+        } catch (RuntimeException e) {
+            imageIngestService.discard(uuid, staged);
+            throw e;
+        }
+        try {
+            // 사진은 교재 저장 후 비동기로 처리 (진행 상태는 /api/book/{bookId}/images/status)
+            imageIngestService.start(uuid, staged);
+        } catch (RuntimeException e) {
+            bookRepository.deleteById(uuid);
+            throw e;
+        }
+        bookSearchIndex.index(book, principal.getSchool());
 
-        return new AuthResponse<Void>(true, JwtUtil.generateToken(email), request.getTitle() + " 교재 등록이 완료되었습니다.", null);
+        return new AuthResponse<Void>(true, JwtUtil.refreshToken(authContext.getToken()), request.getTitle() + " 교재 등록이 완료되었습니다.", null);
     }
 
+    // 요청의 category 는 category_id
+    private Category findCategory(String categoryId) {
+        if (categoryId == null || categoryId.isBlank()) {
+            throw new IllegalArgumentException("카테고리를 선택해주세요.");
+        }
+        return categoryRepository.findById(Integer.parseInt(categoryId.trim()))
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리"));
+    }
+
+    @Transactional
     public void editBookInfo(String bookId, Book updatedBook) {
         // 등록자는 예약이 걸리기 전까지 교재 정보를 수정할 수 있으며, 예약 이후에는 관리자만 수정 가능하다.
+        AuthPrincipal principal = authContext.require();
+        Book book = bookRepository.findById(UUID.fromString(bookId))
+                .orElseThrow(() -> new BookNotFoundException("존재하지 않는 교재"));
+
+        if (!principal.isAdmin()) {
+            if (!book.getUser().getId().equals(principal.getUserId())) {
+                throw new PermissionDeniedException("등록자만 교재 정보를 수정할 수 있습니다.");
+            }
+            if (reservationRepository.existsByBookIdAndStatusIn(book.getId(), LOCKED_STATUSES)) {
+                throw new PermissionDeniedException("예약된 교재는 관리자만 수정할 수 있습니다.");
+            }
+        }
+
+        if (updatedBook.getTitle() != null) book.setTitle(updatedBook.getTitle());
+        if (updatedBook.getAuthor() != null) book.setAuthor(updatedBook.getAuthor());
+        if (updatedBook.getPublisher() != null) book.setPublisher(updatedBook.getPublisher());
+        if (updatedBook.getConditionGrade() != null) book.setConditionGrade(updatedBook.getConditionGrade());
+        if (updatedBook.getDmgTag() != null) book.setDmgTag(updatedBook.getDmgTag());
+        if (updatedBook.getPointPrice() != null) book.setPointPrice(updatedBook.getPointPrice());
+
+        bookRepository.save(book);
+        bookSearchIndex.index(book);
+    }
+
+    public ImageStatusDTO getImageStatus(String bookId) {
+        ImageStatusDTO status = imageIngestService.getStatus(UUID.fromString(bookId));
+        if (status == null) {
+            throw new BookNotFoundException("사진 처리 정보가 없습니다.");
+        }
+        return status;
     }
 
     public void categorizeBook(String bookId, String department, String subject, int grade, String examCategory) {
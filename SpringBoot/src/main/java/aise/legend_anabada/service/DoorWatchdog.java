@@ -0,0 +1,144 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.entity.LockerStatus;
+import aise.legend_anabada.util.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 문 열림 감시. 열 때 마감 시각을 타이밍 휠에 걸고 닫을 때 취소한다. (전체 칸을 주기적으로 훑지 않음)
+// - 마감이 지나면 관리자에게 알림(메일 + SSE alert)을 보내고 ALERT_INTERVAL 뒤에 다시 건다
+// - MAX_ALERTS 번 알려도 닫히지 않으면 고장(BROKEN)으로 바꿔 배정되지 않게 한다
+// - 재시작하면 system_log 로 복원된 사물함 상태에서 OPEN 인 칸의 열린 시각으로 다시 건다
+// - 틱은 전용 스레드에서 돈다 (@Scheduled 공용 풀의 DB/메일 작업이 밀려도 마감 확인이 늦어지지 않게)
+@Service
+public class DoorWatchdog {
+    private static final Logger log = LoggerFactory.getLogger(DoorWatchdog.class);
+
+    static final Duration OPEN_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration ALERT_INTERVAL = Duration.ofMinutes(5);
+    static final int MAX_ALERTS = 3;
+    private static final long TICK_MILLIS = 1000;
+    static final String TIMEOUT_EVENT = "DOOR_OPEN_TIMEOUT";
+    private static final String ALERT = "ALERT";
+
+    @Autowired
+    private LockerStateMachine lockerStateMachine;
+    @Autowired
+    private SystemLogAppender systemLogAppender;
+    @Autowired
+    private MailOutboxService mailOutboxService;
+    @Autowired
+    private EventBroadcaster eventBroadcaster;
+    @Autowired
+    private AppProperties appProperties;
+
+    // 1초 단위, 64칸 x 3단계 (약 3일)
+    private final TimingWheel<UUID> deadlines = new TimingWheel<>(TICK_MILLIS, 6, 3, System.currentTimeMillis());
+    private final Map<UUID, Integer> alerts = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "door-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1) // LockerStateMachine.rebuild 다음
+    public void restore() {
+        int armed = 0;
+        for (LockerStateMachine.State state : lockerStateMachine.getAll()) {
+            if (state.status() == LockerStatus.OPEN && state.changedAt() != null) {
+                arm(state.lockerId(), state.changedAt().toInstant().toEpochMilli());
+                armed++;
+            }
+        }
+        log.info("열려 있는 사물함 {}칸 감시 복원", armed);
+    }
+
+    public void arm(UUID lockerId, long openedAtMillis) {
+        alerts.remove(lockerId);
+        deadlines.schedule(lockerId, openedAtMillis + OPEN_TIMEOUT.toMillis());
+    }
+
+    public void disarm(UUID lockerId) {
+        deadlines.cancel(lockerId);
+        alerts.remove(lockerId);
+    }
+
+    // 예외가 빠져나가면 scheduleAtFixedRate 가 멈추므로 여기서 삼킨다
+    void tick() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("문 열림 감시 틱 실패: {}", e.getMessage());
+        }
+    }
+
+    void tick(long nowMillis) {
+        deadlines.advance(nowMillis, lockerId -> fire(lockerId, nowMillis));
+    }
+
+    private void fire(UUID lockerId, long nowMillis) {
+        try {
+            LockerStateMachine.State state = lockerStateMachine.get(lockerId);
+            if (state.status() != LockerStatus.OPEN) {
+                alerts.remove(lockerId);
+                return;
+            }
+            int count = alerts.merge(lockerId, 1, Integer::sum);
+            OffsetDateTime now = OffsetDateTime.now();
+            systemLogAppender.append(lockerId, null, TIMEOUT_EVENT, ALERT, now);
+            eventBroadcaster.publish("alert", null, LockerStateMachine.toDTO(state));
+
+            String subject = "[Legend Anabada] " + state.lockerNum() + "번 사물함 문 열림 " + (count * OPEN_TIMEOUT.toMinutes()) + "분 경과";
+            if (count >= MAX_ALERTS) {
+                lockerStateMachine.transition(lockerId, LockerStatus.BROKEN, null);
+                alerts.remove(lockerId);
+                notifyAdmin(lockerId, subject + " - 고장 처리됨", count,
+                        "문이 닫히지 않아 사물함을 고장 상태로 바꾸었습니다. 점검 후 사용 가능으로 되돌려 주세요.");
+                return;
+            }
+            notifyAdmin(lockerId, subject, count, "사물함 문이 닫히지 않았습니다. 확인이 필요합니다.");
+            deadlines.schedule(lockerId, nowMillis + ALERT_INTERVAL.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("문 열림 알림 실패 locker={}: {}", lockerId, e.getMessage());
+            deadlines.schedule(lockerId, nowMillis + ALERT_INTERVAL.toMillis());
+        }
+    }
+
+    private void notifyAdmin(UUID lockerId, String subject, int count, String text) {
+        String to = appProperties.getAdmin_email();
+        if (to == null || to.isBlank()) {
+            log.warn("{} (app.admin-email 미설정)", subject);
+            return;
+        }
+        mailOutboxService.enqueue(to, subject, text + "\n사물함: " + lockerId, "door-open:" + lockerId + ":" + count);
+    }
+}
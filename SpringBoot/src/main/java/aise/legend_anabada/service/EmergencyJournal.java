@@ -0,0 +1,195 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.entity.SystemLog;
+import aise.legend_anabada.util.WriteAheadJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+// 관리자 비상 조치 감사 기록. DB 가 느리거나 죽어 있어도 문을 먼저 열 수 있게 로컬 저널에 fsync 한 뒤 반환하고,
+// system_log 에는 DRAIN_MILLIS 마다 옮긴다.
+// - 저널 레코드 id 를 log_id 로 써서 옮기다 중간에 죽어 다시 넣어도 중복되지 않는다 (on conflict do nothing)
+// - DB 에 넣은 위치까지만 저널에서 지운다. 실패하면 다음 주기에 같은 위치부터 다시
+// - DB 가 거부하는 레코드(FK 위반, 깨진 레코드)는 MAX_ATTEMPTS 번 실패하면 emergency.dead 에 남기고 넘어간다 (뒤 기록이 막히지 않게)
+@Service
+public class EmergencyJournal {
+    private static final Logger log = LoggerFactory.getLogger(EmergencyJournal.class);
+
+    static final String EMERGENCY_OPEN = "EMERGENCY_OPEN";
+    private static final String FILE_NAME = "emergency.wal";
+    static final String DEAD_LETTER_FILE = "emergency.dead";
+    static final int MAX_ATTEMPTS = 5;
+    private static final int MAX_REASON = 500;
+    private static final int DRAIN_BATCH = 100;
+    private static final long DRAIN_MILLIS = 1000;
+    private static final String INSERT =
+            "insert into system_log (log_id, locker_id, user_id, event_type, occurred_at, result_status, detail) " +
+            "values (?, ?, ?, ?, ?, ?, ?) on conflict do nothing";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AppProperties appProperties;
+
+    public record Action(UUID id, UUID lockerId, UUID adminId, String eventType, String reason, long occurredAt) {
+    }
+
+    private WriteAheadJournal journal;
+    private Path dir;
+    // 계속 실패하는 레코드의 저널 위치와 실패 횟수 (drain 은 synchronized)
+    private long failingAt = -1;
+    private int attempts;
+
+    @PostConstruct
+    public void open() throws IOException {
+        dir = Path.of(appProperties.getJournal_dir());
+        Files.createDirectories(dir);
+        journal = new WriteAheadJournal(dir.resolve(FILE_NAME));
+        if (journal.hasPending()) {
+            log.info("옮기지 않은 비상 조치 기록이 있어 system_log 로 옮깁니다.");
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        drain();
+        journal.close();
+    }
+
+    // 디스크에 남은 뒤 반환. 실패하면 IOException (조치를 진행하지 않는다)
+    public Action record(UUID lockerId, UUID adminId, String eventType, String reason) throws IOException {
+        String trimmed = reason.length() > MAX_REASON ? reason.substring(0, MAX_REASON) : reason;
+        Action action = new Action(UUID.randomUUID(), lockerId, adminId, eventType, trimmed, System.currentTimeMillis());
+        journal.append(encode(action));
+        return action;
+    }
+
+    @Scheduled(fixedDelay = DRAIN_MILLIS)
+    public synchronized void drain() {
+        try {
+            while (journal.hasPending()) {
+                WriteAheadJournal.Batch batch = journal.read(journal.committed(), DRAIN_BATCH);
+                if (batch.records().isEmpty()) {
+                    return;
+                }
+                try {
+                    List<Action> actions = new ArrayList<>(batch.records().size());
+                    for (byte[] record : batch.records()) {
+                        actions.add(decode(record));
+                    }
+                    insert(actions);
+                    journal.commit(batch.next());
+                } catch (IOException | DataIntegrityViolationException e) {
+                    // 배치 안에 넣을 수 없는 레코드가 있다. 한 건씩 넣어 그 레코드만 골라낸다
+                    if (!drainOneByOne(batch.records().size())) {
+                        return;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("비상 조치 기록을 system_log 로 옮기지 못함 (다음에 다시 시도): {}", e.getMessage());
+        }
+    }
+
+    // 이번 주기를 멈춰야 하면 false
+    private boolean drainOneByOne(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            long from = journal.committed();
+            WriteAheadJournal.Batch one = journal.read(from, 1);
+            if (one.records().isEmpty()) {
+                return true;
+            }
+            byte[] record = one.records().get(0);
+            try {
+                insert(List.of(decode(record)));
+            } catch (IOException | DataIntegrityViolationException e) {
+                if (from != failingAt) {
+                    failingAt = from;
+                    attempts = 0;
+                }
+                if (++attempts < MAX_ATTEMPTS) {
+                    log.warn("비상 조치 기록을 넣지 못함 ({}/{}회, 다음에 다시 시도): {}", attempts, MAX_ATTEMPTS, e.getMessage());
+                    return false;
+                }
+                deadLetter(record, e);
+            }
+            journal.commit(one.next());
+            failingAt = -1;
+            attempts = 0;
+        }
+        return true;
+    }
+
+    private void insert(List<Action> actions) {
+        jdbcTemplate.batchUpdate(INSERT, actions, actions.size(), (ps, action) -> {
+            ps.setObject(1, action.id());
+            ps.setObject(2, action.lockerId());
+            ps.setObject(3, action.adminId());
+            ps.setString(4, action.eventType());
+            ps.setObject(5, OffsetDateTime.ofInstant(Instant.ofEpochMilli(action.occurredAt()), ZoneId.systemDefault()));
+            ps.setString(6, SystemLog.SUCCESS);
+            ps.setString(7, action.reason());
+        });
+    }
+
+    // 한 줄에 하나: base64(레코드), 탭, 실패 사유. 관리자가 확인 후 직접 옮긴다
+    private void deadLetter(byte[] record, Exception e) throws IOException {
+        String reason = String.valueOf(e.getMessage()).replace('\n', ' ');
+        Files.writeString(dir.resolve(DEAD_LETTER_FILE),
+                Base64.getEncoder().encodeToString(record) + "\t" + reason + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        log.error("비상 조치 기록을 {}회 넣지 못해 {} 로 옮김: {}", MAX_ATTEMPTS, DEAD_LETTER_FILE, reason);
+    }
+
+    boolean hasPending() {
+        return journal.hasPending();
+    }
+
+    private static byte[] encode(Action action) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeUuid(out, action.id());
+            writeUuid(out, action.lockerId());
+            writeUuid(out, action.adminId());
+            out.writeUTF(action.eventType());
+            out.writeUTF(action.reason());
+            out.writeLong(action.occurredAt());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Action decode(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            return new Action(readUuid(in), readUuid(in), readUuid(in), in.readUTF(), in.readUTF(), in.readLong());
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
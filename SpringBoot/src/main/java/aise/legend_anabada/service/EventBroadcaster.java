@@ -0,0 +1,158 @@
+package aise.legend_anabada.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 사물함 상태, 예약 상태 변경을 SSE 로 내보낸다.
+// - 이벤트는 한 번만 JSON 으로 만들고 구독자마다 작은 버퍼(BUFFER_SIZE)에 넣는다
+// - 버퍼가 찬 구독자(느린 클라이언트)는 끊는다. 다시 연결하면 현재 상태부터 받으면 된다
+// - 보낼 게 있는 구독자만 eventExecutor 에서 비운다. 쉬고 있는 구독자는 스레드를 쓰지 않는다
+@Service
+public class EventBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(EventBroadcaster.class);
+
+    private static final int BUFFER_SIZE = 32;
+    private static final long TIMEOUT_MILLIS = 1000L * 60 * 30; // 30분마다 클라이언트가 다시 연결
+    private static final long HEARTBEAT_MILLIS = 1000 * 25;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ThreadPoolTaskExecutor eventExecutor;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private Counter dropped;
+
+    // userId 가 null 이면 모든 구독자에게
+    private record Event(String name, UUID userId, String json) {
+    }
+
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final UUID userId;
+        final BlockingQueue<Event> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, UUID userId) {
+            this.emitter = emitter;
+            this.userId = userId;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("sse.subscribers", subscribers, Set::size).register(meterRegistry);
+        dropped = Counter.builder("sse.dropped").description("버퍼가 넘쳐 끊은 구독자").register(meterRegistry);
+    }
+
+    // userId 가 있으면 그 사용자에게 가는 이벤트(예약 상태)도 받는다
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MILLIS);
+        Subscriber subscriber = new Subscriber(emitter, userId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public void publish(String name, UUID userId, Object data) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.warn("이벤트 변환 실패 {}: {}", name, e.getMessage());
+            return;
+        }
+        Event event = new Event(name, userId, json);
+        for (Subscriber subscriber : subscribers) {
+            if (userId == null || userId.equals(subscriber.userId)) {
+                offer(subscriber, event);
+            }
+        }
+    }
+
+    // 끊긴 연결을 찾아내고 프록시가 연결을 닫지 않게
+    @Scheduled(fixedRate = HEARTBEAT_MILLIS)
+    public void heartbeat() {
+        Event ping = new Event(null, null, null);
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, ping);
+        }
+    }
+
+    private void offer(Subscriber subscriber, Event event) {
+        if (!subscriber.buffer.offer(event)) {
+            dropped.increment();
+            drop(subscriber);
+            return;
+        }
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                eventExecutor.execute(() -> drain(subscriber));
+            } catch (TaskRejectedException e) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Event event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                if (event.json() == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(event.name()).data(event.json(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 끊었거나 이미 완료된 emitter
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // 비우는 사이에 들어온 이벤트
+        if (!subscriber.buffer.isEmpty() && subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                eventExecutor.execute(() -> drain(subscriber));
+            } catch (TaskRejectedException e) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.buffer.clear();
+            subscriber.emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.exception.FileUploadException;
+import aise.legend_anabada.config.exception.ServiceBusyException;
+import aise.legend_anabada.dto.response.ImageStatusDTO;
+import aise.legend_anabada.entity.BookImage;
+import aise.legend_anabada.repository.BookImageRepository;
+import aise.legend_anabada.repository.BookRepository;
+import aise.legend_anabada.util.FileUtil;
+import aise.legend_anabada.util.ImageStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 교재 사진 처리 파이프라인
+// 1) 요청 스레드: 임시 폴더로 이동(stage) -> 교재 저장 -> 처리 시작(start). 중간에 실패하면 discard 로 되돌린다
+// 2) imageExecutor: 해시 -> (처음 보는 사진이면) 디코딩 -> 폭별 JPEG 재인코딩(EXIF 제거) -> book_image 기록
+@Service
+public class ImageIngestService {
+    private static final Logger log = LoggerFactory.getLogger(ImageIngestService.class);
+
+    private static final long STATUS_TTL = 1000 * 60 * 60; // 완료 후 1시간 보관
+
+    @Autowired
+    private FileUtil fileUtil;
+    @Autowired
+    private ImageStore imageStore;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private BookImageRepository bookImageRepository;
+    @Autowired
+    private BookEnrichmentService bookEnrichmentService;
+    @Autowired
+    private ThreadPoolTaskExecutor imageExecutor;
+
+    private final Map<UUID, Progress> progresses = new ConcurrentHashMap<>();
+
+    // 교재 저장 전에 호출. 처리 대기열이 가득 차 있으면 등록 자체를 받지 않는다.
+    public void checkCapacity() {
+        if (imageExecutor.getThreadPoolExecutor().getQueue().remainingCapacity() == 0) {
+            throw new ServiceBusyException("사진 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    // 교재 저장 전에 사진을 임시 폴더로 옮긴다. 실패하면 옮긴 파일을 지우고 FileUploadException
+    public List<Path> stage(UUID bookId, List<MultipartFile> images) {
+        List<Path> staged = new ArrayList<>();
+        try {
+            for (MultipartFile image : images) {
+                if (image != null && !image.isEmpty()) {
+                    staged.add(fileUtil.stage(image, bookId, staged.size()));
+                }
+            }
+        } catch (IOException e) {
+            discard(bookId, staged);
+            throw new FileUploadException("사진 업로드 실패");
+        }
+        return staged;
+    }
+
+    // 교재를 저장한 뒤 호출. 대기열이 가득 차 받지 못하면 임시 파일을 지우고 ServiceBusyException
+    public void start(UUID bookId, List<Path> staged) {
+        Progress progress = new Progress(staged.size());
+        // 작업보다 먼저 등록해야 상태 조회가 잠깐이라도 null 을 보지 않는다
+        cleanup();
+        progresses.put(bookId, progress);
+        try {
+            imageExecutor.execute(() -> process(bookId, staged, progress));
+        } catch (TaskRejectedException e) {
+            progresses.remove(bookId);
+            discard(bookId, staged);
+            throw new ServiceBusyException("사진 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    // 등록이 취소된 교재의 임시 파일 정리
+    public void discard(UUID bookId, List<Path> staged) {
+        for (Path path : staged) {
+            deleteQuietly(path);
+        }
+        deleteQuietly(fileUtil.resolve("/.staging/" + bookId));
+    }
+
+    public ImageStatusDTO getStatus(UUID bookId) {
+        Progress progress = progresses.get(bookId);
+        if (progress == null) {
+            return null;
+        }
+        synchronized (progress) {
+            return new ImageStatusDTO(progress.state, progress.total, progress.completed, progress.failed,
+                    List.copyOf(progress.images));
+        }
+    }
+
+    private void process(UUID bookId, List<Path> staged, Progress progress) {
+        progress.state = "PROCESSING";
+        List<BookImage> rows = new ArrayList<>();
+        for (int i = 0; i < staged.size(); i++) {
+            Path source = staged.get(i);
+            try {
+                String hash = imageStore.put(source);
+
+                BookImage row = new BookImage();
+                row.setId(UUID.randomUUID());
+                row.setBook(bookRepository.getReferenceById(bookId));
+                row.setSeq(rows.size());
+                row.setContentHash(hash);
+                row.setCreatedAt(OffsetDateTime.now());
+                rows.add(row);
+
+                synchronized (progress) {
+                    progress.completed++;
+                    progress.images.add(hash);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("사진 처리 실패 book={} index={}: {}", bookId, i, e.getMessage());
+                synchronized (progress) {
+                    progress.failed++;
+                }
+            } finally {
+                deleteQuietly(source);
+            }
+        }
+        deleteQuietly(fileUtil.resolve("/.staging/" + bookId));
+
+        try {
+            bookImageRepository.saveAll(rows);
+            progress.state = progress.failed == 0 ? "DONE" : "FAILED";
+
+            // 표지 사진으로 제목/저자/출판사, 손상 등급 자동 인식
+            if (!rows.isEmpty()) {
+                bookEnrichmentService.enqueue(bookId, rows.get(0).getContentHash());
+            }
+        } catch (RuntimeException e) {
+            log.warn("사진 정보 저장 실패 book={}: {}", bookId, e.getMessage());
+            progress.state = "FAILED";
+        }
+        progress.finishedAt = System.currentTimeMillis();
+    }
+
+    private void cleanup() {
+        long now = System.currentTimeMillis();
+        progresses.values().removeIf(p -> p.finishedAt > 0 && now - p.finishedAt > STATUS_TTL);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static class Progress {
+        final int total;
+        final List<String> images = new ArrayList<>();
+        volatile String state = "PENDING";
+        volatile long finishedAt;
+        int completed;
+        int failed;
+
+        Progress(int total) {
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.config.exception.InferenceUnavailableException;
+import aise.legend_anabada.dto.response.PredictResultDTO;
+import aise.legend_anabada.util.AsyncUtil;
+import aise.legend_anabada.util.CircuitBreaker;
+import aise.legend_anabada.util.InferenceClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// AI 서버(/predict, /process-simple) 호출 앞단.
+// - 엔드포인트별 동시 요청 제한(bulkhead) + 시간 제한 + 서킷 브레이커
+// - 같은 사진(content hash)은 캐시된 결과를 그대로 사용
+// - /predict 가 막혀 있으면 /process-simple (OCR만, DB 기록 없음) 로 대신 처리
+@Service
+public class InferenceGateway {
+    private static final Logger log = LoggerFactory.getLogger(InferenceGateway.class);
+
+    private static final int BULKHEAD = 4;
+    private static final int FAILURE_THRESHOLD = 5;
+    private static final long OPEN_MILLIS = 1000 * 30;
+    // HTTP 요청 자체가 먼저 끝나도록 여유를 둔다 (연결 시간 포함)
+    private static final long CALL_TIMEOUT_MS = InferenceClient.REQUEST_TIMEOUT.toMillis() + 1000 * 5;
+    private static final int CACHE_SIZE = 10_000;
+    private static final Duration CACHE_TTL = Duration.ofDays(7);
+
+    @Autowired
+    private InferenceClient inferenceClient;
+    @Autowired
+    private AppProperties appProperties;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // /predict 결과만 캐시 (OCR 대체 결과는 손상 등급이 없으므로 다음에 다시 시도)
+    private final Cache<String, PredictResultDTO> results = Caffeine.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .expireAfterWrite(CACHE_TTL)
+            .recordStats()
+            .build();
+
+    private Guard predictGuard;
+    private Guard processGuard;
+
+    @PostConstruct
+    public void init() {
+        predictGuard = new Guard("predict");
+        processGuard = new Guard("process");
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "ai.result");
+        Gauge.builder("ai.result.cache.hit.ratio", results, c -> c.stats().hitRate())
+                .register(meterRegistry);
+    }
+
+    // contentHash: 표지 사진 해시 (ImageStore)
+    public CompletableFuture<PredictResultDTO> predict(UUID bookId, String contentHash) {
+        PredictResultDTO cached = results.getIfPresent(contentHash);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        String imageUrl = appProperties.getBase_url() + "/api/image/" + contentHash + "?w=1080";
+        return predictGuard.call(() -> inferenceClient.predict(bookId, imageUrl))
+                .thenApply(result -> {
+                    if (InferenceClient.isValid(result)) {
+                        results.put(contentHash, result);
+                    }
+                    return result;
+                })
+                .exceptionallyCompose(e -> {
+                    if (cause(e) instanceof InferenceUnavailableException) {
+                        return processGuard.call(() -> inferenceClient.process(imageUrl));
+                    }
+                    return CompletableFuture.failedFuture(cause(e));
+                });
+    }
+
+    // 동시에 maxConcurrency 개까지만 요청. 실패했거나 인식 결과가 없는 교재는 결과에서 빠진다.
+    public CompletableFuture<Map<UUID, PredictResultDTO>> predictAll(Map<UUID, String> contentHashes, int maxConcurrency) {
+        return AsyncUtil.boundedAll(contentHashes.keySet(),
+                bookId -> predict(bookId, contentHashes.get(bookId))
+                        .thenApply(r -> InferenceClient.isValid(r) ? r : null),
+                maxConcurrency);
+    }
+
+    public CircuitBreaker.State getState(String endpoint) {
+        return ("process".equals(endpoint) ? processGuard : predictGuard).breaker.getState();
+    }
+
+    private static Throwable cause(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private class Guard {
+        private final String endpoint;
+        private final Semaphore bulkhead = new Semaphore(BULKHEAD);
+        private final CircuitBreaker breaker;
+        private final Counter rejected;
+
+        Guard(String endpoint) {
+            this.endpoint = endpoint;
+            this.breaker = new CircuitBreaker(FAILURE_THRESHOLD, OPEN_MILLIS, this::onTransition);
+            this.rejected = Counter.builder("ai.bulkhead.rejected").tag("endpoint", endpoint)
+                    .register(meterRegistry);
+            // 0: CLOSED, 1: HALF_OPEN, 2: OPEN
+            Gauge.builder("ai.circuit.state", breaker, b -> switch (b.getState()) {
+                        case CLOSED -> 0;
+                        case HALF_OPEN -> 1;
+                        case OPEN -> 2;
+                    })
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry);
+        }
+
+        <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> request) {
+            if (!bulkhead.tryAcquire()) {
+                rejected.increment();
+                return CompletableFuture.failedFuture(new InferenceUnavailableException(endpoint + " 동시 요청 초과"));
+            }
+            if (!breaker.tryAcquire()) {
+                bulkhead.release();
+                return CompletableFuture.failedFuture(new InferenceUnavailableException(endpoint + " 차단 중"));
+            }
+
+            CompletableFuture<T> future;
+            try {
+                future = request.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            // 자리는 실제 HTTP 요청이 끝날 때 돌려준다. 시간 제한은 호출한 쪽(copy)에만 적용하고,
+            // 호출한 쪽은 자리가 돌아온 뒤에 결과를 받는다
+            CompletableFuture<T> released = future.whenComplete((result, error) -> {
+                bulkhead.release();
+                if (error == null) {
+                    breaker.onSuccess();
+                } else {
+                    breaker.onFailure();
+                }
+            });
+            return released.copy().orTimeout(CALL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+
+        private void onTransition(CircuitBreaker.State state) {
+            log.warn("AI 서버 {} 서킷 {}", endpoint, state);
+            meterRegistry.counter("ai.circuit.transition", "endpoint", endpoint, "state", state.name()).increment();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.exception.InvalidLockerStateException;
+import aise.legend_anabada.entity.LockerStatus;
+import aise.legend_anabada.util.SlotBitmap;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 빈 사물함 배정. 칸 번호 순서의 비트맵에서 AVAILABLE 칸만 1 로 두고 CAS 로 떼어 간다 (DB 를 훑지 않음)
+// - 고장(BROKEN) 이거나 사용 중인 칸은 비트가 0 이라 배정되지 않는다
+// - 비트는 후보일 뿐이고 실제 배정은 LockerStateMachine 전이(AVAILABLE -> RESERVED)가 확정한다.
+//   그 사이 다른 요청이 칸 상태를 바꿨으면 전이가 실패하고 다음 칸을 시도한다
+// - 시작할 때 DB 에서 복원된 상태로 만들고, 이후 전이마다 맞추고, RECONCILE_MILLIS 마다 전체를 다시 맞춘다
+// - 사물함 뱅크가 하나라 비트맵도 하나
+@Service
+public class LockerAllocator {
+    private static final Logger log = LoggerFactory.getLogger(LockerAllocator.class);
+
+    private static final long RECONCILE_MILLIS = 30_000;
+
+    @Autowired
+    private LockerStateMachine lockerStateMachine;
+
+    private record Slots(SlotBitmap bitmap, UUID[] lockerIds, Map<UUID, Integer> index) {
+    }
+
+    private volatile Slots slots;
+
+    @PostConstruct
+    public void init() {
+        lockerStateMachine.addListener((previous, next) -> sync(next.lockerId()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1) // LockerStateMachine.rebuild 다음
+    public void rebuild() {
+        List<LockerStateMachine.State> all = lockerStateMachine.getAll(); // 칸 번호 순
+        SlotBitmap bitmap = new SlotBitmap(all.size());
+        UUID[] lockerIds = new UUID[all.size()];
+        Map<UUID, Integer> index = new HashMap<>();
+        for (int i = 0; i < all.size(); i++) {
+            LockerStateMachine.State state = all.get(i);
+            lockerIds[i] = state.lockerId();
+            index.put(state.lockerId(), i);
+            if (state.status() == LockerStatus.AVAILABLE) {
+                bitmap.release(i);
+            }
+        }
+        slots = new Slots(bitmap, lockerIds, index);
+        log.info("배정 가능한 사물함 {} / {}칸", bitmap.freeCount(), all.size());
+    }
+
+    // 빈 칸 하나를 userId 에게 예약 상태로 배정
+    public LockerStateMachine.State allocate(UUID userId) {
+        Slots current = slots;
+        if (current == null) {
+            throw new InvalidLockerStateException("사물함 상태를 불러오는 중입니다.");
+        }
+        // 실패한 시도마다 비트 하나를 소모하므로 최대 칸 수만큼
+        for (int attempt = 0; attempt < current.lockerIds().length; attempt++) {
+            int slot = current.bitmap().acquire();
+            if (slot < 0) {
+                break;
+            }
+            try {
+                return lockerStateMachine.transition(current.lockerIds()[slot], LockerStatus.RESERVED, userId);
+            } catch (InvalidLockerStateException e) {
+                // 비트를 뗀 사이 고장/개방 등으로 바뀐 칸. 비트는 전이 리스너가 다시 맞춘다
+            }
+        }
+        throw new InvalidLockerStateException("배정할 수 있는 사물함이 없습니다.");
+    }
+
+    public int freeCount() {
+        Slots current = slots;
+        return current == null ? 0 : current.bitmap().freeCount();
+    }
+
+    // 전이 알림이 순서가 뒤바뀌어 도착해도 남지 않게 주기적으로 전체를 다시 맞춘다
+    @Scheduled(fixedDelay = RECONCILE_MILLIS)
+    public void reconcile() {
+        Slots current = slots;
+        if (current == null) {
+            return;
+        }
+        int fixed = 0;
+        for (UUID lockerId : current.lockerIds()) {
+            if (sync(lockerId)) {
+                fixed++;
+            }
+        }
+        if (fixed > 0) {
+            log.info("사물함 배정 비트맵 {}칸 보정", fixed);
+        }
+    }
+
+    // 알림에 실린 상태 대신 지금 상태를 읽어 맞춘다
+    private boolean sync(UUID lockerId) {
+        Slots current = slots;
+        Integer slot = current == null ? null : current.index().get(lockerId);
+        if (slot == null) {
+            return false;
+        }
+        if (lockerStateMachine.get(lockerId).status() == LockerStatus.AVAILABLE) {
+            return current.bitmap().release(slot);
+        }
+        return current.bitmap().remove(slot);
+    }
+}
@@ -1,30 +1,135 @@
 package aise.legend_anabada.service;
 
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.config.exception.InvalidLockerStateException;
+import aise.legend_anabada.dto.response.LockerSensorDTO;
+import aise.legend_anabada.dto.response.LockerStateDTO;
+import aise.legend_anabada.entity.LockerStatus;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 public class LockerService {
-    public void openLocker(String lockerId, String userId) {
+    @Autowired
+    private LockerStateMachine lockerStateMachine;
+    @Autowired
+    private EventBroadcaster eventBroadcaster;
+    @Autowired
+    private DoorWatchdog doorWatchdog;
+    @Autowired
+    private LockerAllocator lockerAllocator;
+    @Autowired
+    private TelemetryService telemetryService;
+    @Autowired
+    private EmergencyJournal emergencyJournal;
+    @Autowired
+    private AuthContext authContext;
+
+    // 입고할 빈 칸을 배정받는다 (고장난 칸, 사용 중인 칸은 제외)
+    public LockerStateDTO assignLocker() {
+        AuthPrincipal principal = authContext.require();
+        return LockerStateMachine.toDTO(lockerAllocator.allocate(principal.getUserId()));
+    }
+
+    public LockerStateDTO openLocker(UUID lockerId) {
         // 사용자는 앱을 통해 사물함을 개폐할 수 있다.
         // 개폐 성공, 실패, 문 열림, 문 닫힘 상태는 모두 로그로 기록된다.
+        // 본인에게 배정된 칸(RESERVED, 본인이 닫은 CLOSED)만 연다. 빈 칸은 assignLocker 로 배정받은 뒤에
+        AuthPrincipal principal = authContext.require();
+        LockerStateMachine.State state = lockerStateMachine.transitionHeld(lockerId, LockerStatus.OPEN, principal.getUserId());
+        doorWatchdog.arm(lockerId, state.changedAt().toInstant().toEpochMilli());
+        return LockerStateMachine.toDTO(state);
     }
 
-    public void closeLocker(String lockerId, String userId) {
+    // empty: 교재를 꺼내 칸을 비우고 닫음 (수령 완료 등) -> 칸을 반납해 다시 배정 대상으로
+    public LockerStateDTO closeLocker(UUID lockerId, boolean empty) {
         // 문 닫힘 상태를 기록하고, 문이 정상적으로 닫혔는지 확인한다.
-        // 5분 이상 닫히지 않으면 관리자에게 알림을 전송하고 필요 시 시스템 자체적으로 조치를 한다.
+        // 5분 이상 닫히지 않으면 관리자에게 알림을 전송하고 필요 시 시스템 자체적으로 조치를 한다. (DoorWatchdog)
+        // 사용자는 본인에게 배정된 칸만, 관리자는 배정되지 않은 칸(비상 개방 등)도 닫는다
+        AuthPrincipal principal = authContext.require();
+        LockerStateMachine.State state = close(principal, lockerId, LockerStatus.CLOSED);
+        doorWatchdog.disarm(lockerId);
+        if (empty) {
+            // AVAILABLE 로 바뀌면 holder 가 지워지고 LockerAllocator 비트맵에 다시 올라간다
+            state = close(principal, lockerId, LockerStatus.AVAILABLE);
+        }
+        return LockerStateMachine.toDTO(state);
     }
 
-    public void monitorLockerStatus() {
+    private LockerStateMachine.State close(AuthPrincipal principal, UUID lockerId, LockerStatus to) {
+        if (principal.isAdmin()) {
+            return lockerStateMachine.transition(lockerId, to, null);
+        }
+        return lockerStateMachine.transitionHeld(lockerId, to, principal.getUserId());
+    }
+
+    public LockerStateDTO getLockerStatus(UUID lockerId) {
+        return LockerStateMachine.toDTO(lockerStateMachine.get(lockerId));
+    }
+
+    public List<LockerStateDTO> monitorLockerStatus() {
         // 시스템은 각 칸의 문 상태를 실시간으로 모니터링한다.
-        // 센서 오류, 네트워크 장애 발생 시 관리자에게 알림을 전송하며 필요시 조치를 수행한다.
+        // 센서 오류, 네트워크 장애는 TelemetryService 가 기록하고 SSE(sensor)로 알린다.
+        return lockerStateMachine.getAll().stream().map(LockerStateMachine::toDTO).toList();
     }
 
-    public void disableBrokenLocker(String lockerId) {
-        // 고장난 칸은 자동으로 비활성화되어 예약이나 입고에 배정되지 않는다.
+    public List<LockerSensorDTO> getSensors() {
+        return telemetryService.getSensors();
     }
 
-    public void emergencyOpenLocker(String lockerId, String adminId, String reason) {
+    // 사물함 장치가 보내는 센서 값 (문 열림, 센서 오류, 하트비트)
+    public int ingestTelemetry(String deviceKey, InputStream body) throws IOException {
+        return telemetryService.ingest(deviceKey, body);
+    }
+
+    // 사물함 상태 변경 + (로그인했으면) 본인 예약 상태 변경을 실시간으로 받는다
+    public SseEmitter subscribe() {
+        AuthPrincipal principal = authContext.getPrincipal();
+        return eventBroadcaster.subscribe(principal == null ? null : principal.getUserId());
+    }
+
+    public LockerStateDTO disableBrokenLocker(UUID lockerId) {
+        // 고장난 칸은 자동으로 비활성화되어 예약이나 입고에 배정되지 않는다. (LockerAllocator)
+        authContext.requireAdmin();
+        LockerStateMachine.State state = lockerStateMachine.transition(lockerId, LockerStatus.BROKEN, null);
+        doorWatchdog.disarm(lockerId);
+        return LockerStateMachine.toDTO(state);
+    }
+
+    // 점검을 마친 칸을 다시 배정 대상으로
+    public LockerStateDTO enableLocker(UUID lockerId) {
+        authContext.requireAdmin();
+        return LockerStateMachine.toDTO(lockerStateMachine.transition(lockerId, LockerStatus.AVAILABLE, null));
+    }
+
+    public LockerStateDTO emergencyOpenLocker(UUID lockerId, String reason) throws IOException {
         // 관리자 권한으로 비상 개방을 수행할 수 있다.
-        // 비상 개방 사유와 담당자는 반드시 기록된다.
+        // 비상 개방 사유와 담당자는 반드시 기록된다. (EmergencyJournal 에 fsync 한 뒤에만 연다)
+        AuthPrincipal admin = authContext.requireAdmin();
+        if (reason == null || reason.isBlank()) {
+            throw new IllegalArgumentException("비상 개방 사유를 입력해 주세요.");
+        }
+        LockerStateMachine.State state = lockerStateMachine.get(lockerId);
+        emergencyJournal.record(lockerId, admin.getUserId(), EmergencyJournal.EMERGENCY_OPEN, reason.strip());
+
+        // 고장 칸이나 이미 열린 칸은 상태를 바꾸지 않고 개방 명령만 보낸다
+        if (state.status().canTransitionTo(LockerStatus.OPEN)) {
+            try {
+                state = lockerStateMachine.transition(lockerId, LockerStatus.OPEN, null);
+                doorWatchdog.arm(lockerId, state.changedAt().toInstant().toEpochMilli());
+            } catch (InvalidLockerStateException e) {
+                state = lockerStateMachine.get(lockerId);
+            }
+        }
+        LockerStateDTO dto = LockerStateMachine.toDTO(state);
+        eventBroadcaster.publish("emergency-open", null, dto);
+        return dto;
     }
 }
@@ -0,0 +1,178 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.exception.InvalidLockerStateException;
+import aise.legend_anabada.config.exception.LockerNotFoundException;
+import aise.legend_anabada.dto.projection.LockerEventView;
+import aise.legend_anabada.dto.response.LockerStateDTO;
+import aise.legend_anabada.entity.Locker;
+import aise.legend_anabada.entity.LockerStatus;
+import aise.legend_anabada.entity.SystemLog;
+import aise.legend_anabada.repository.LockerRepository;
+import aise.legend_anabada.repository.SystemLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+// 사물함 칸 상태를 메모리에 두고 CAS 로 전이한다. 상태 조회는 DB 를 읽지 않는다.
+// - 전이마다 system_log 에 (event_type = 새 상태, SUCCESS) 로 비동기 기록 -> 시작할 때 사물함별 마지막 기록으로 복원
+// - 실패한 전이도 FAILED 로 기록
+// - locker.locker_status 컬럼은 PERSIST_MILLIS 마다 바뀐 칸만 따라 맞춘다
+@Service
+public class LockerStateMachine {
+    private static final Logger log = LoggerFactory.getLogger(LockerStateMachine.class);
+
+    private static final long PERSIST_MILLIS = 5000;
+
+    @Autowired
+    private LockerRepository lockerRepository;
+    @Autowired
+    private SystemLogRepository systemLogRepository;
+    @Autowired
+    private SystemLogAppender systemLogAppender;
+    @Autowired
+    private EventBroadcaster eventBroadcaster;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 불변. holder 는 칸을 쓰고 있는 사용자 (예약자, 문을 연 사용자)
+    public record State(UUID lockerId, Integer lockerNum, LockerStatus status, UUID holder, long version,
+                        OffsetDateTime changedAt) {
+    }
+
+    private final Map<UUID, AtomicReference<State>> states = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final List<BiConsumer<State, State>> listeners = new CopyOnWriteArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0) // DoorWatchdog.restore 보다 먼저
+    public void rebuild() {
+        Map<UUID, LockerEventView> last = new HashMap<>();
+        List<String> types = Arrays.stream(LockerStatus.values()).map(Enum::name).toList();
+        for (LockerEventView event : systemLogRepository.findLastTransitions(types)) {
+            last.merge(event.getLockerId(), event, (a, b) -> a.getOccurredAt().isAfter(b.getOccurredAt()) ? a : b);
+        }
+
+        int fromLog = 0;
+        for (Locker locker : lockerRepository.findAll()) {
+            LockerEventView event = last.get(locker.getId());
+            State state;
+            if (event != null) {
+                state = new State(locker.getId(), locker.getLockerNum(), LockerStatus.valueOf(event.getEventType()),
+                        event.getUserId(), 0, event.getOccurredAt());
+                fromLog++;
+            } else {
+                LockerStatus status = locker.getLockerStatus() == null ? LockerStatus.AVAILABLE : locker.getLockerStatus();
+                state = new State(locker.getId(), locker.getLockerNum(), status, null, 0, null);
+            }
+            states.put(locker.getId(), new AtomicReference<>(state));
+        }
+        log.info("사물함 {}칸 상태 복원 (system_log {}칸)", states.size(), fromLog);
+    }
+
+    public State get(UUID lockerId) {
+        AtomicReference<State> ref = states.get(lockerId);
+        if (ref == null) {
+            throw new LockerNotFoundException("존재하지 않는 사물함");
+        }
+        return ref.get();
+    }
+
+    public List<State> getAll() {
+        List<State> all = new ArrayList<>(states.size());
+        for (AtomicReference<State> ref : states.values()) {
+            all.add(ref.get());
+        }
+        all.sort(Comparator.comparing(State::lockerNum, Comparator.nullsLast(Comparator.naturalOrder())));
+        return all;
+    }
+
+    // 전이가 성공할 때마다 (이전 상태, 새 상태)로 호출. 전이한 스레드에서 바로 실행되므로 가벼워야 한다
+    public void addListener(BiConsumer<State, State> listener) {
+        listeners.add(listener);
+    }
+
+    // actor 가 null 이면 시스템/관리자 (다른 사용자가 쓰는 칸인지 확인하지 않음)
+    public State transition(UUID lockerId, LockerStatus to, UUID actor) {
+        return transition(lockerId, to, actor, false);
+    }
+
+    // 사용자가 직접 하는 전이. 칸이 actor 에게 배정되어 있어야 한다 (배정받지 않은 AVAILABLE 칸은 열 수 없음)
+    public State transitionHeld(UUID lockerId, LockerStatus to, UUID actor) {
+        return transition(lockerId, to, Objects.requireNonNull(actor), true);
+    }
+
+    private State transition(UUID lockerId, LockerStatus to, UUID actor, boolean held) {
+        AtomicReference<State> ref = states.get(lockerId);
+        if (ref == null) {
+            throw new LockerNotFoundException("존재하지 않는 사물함");
+        }
+        while (true) {
+            State current = ref.get();
+            String error = null;
+            if (!current.status().canTransitionTo(to)) {
+                error = current.status() + " 상태에서 " + to + " 로 바꿀 수 없습니다.";
+            } else if (actor != null && current.holder() != null && !current.holder().equals(actor)) {
+                error = "다른 사용자가 사용 중인 사물함입니다.";
+            } else if (held && current.holder() == null) {
+                error = "배정받지 않은 사물함입니다.";
+            }
+            OffsetDateTime now = OffsetDateTime.now();
+            if (error != null) {
+                systemLogAppender.append(lockerId, actor, to.name(), SystemLog.FAILED, now);
+                throw new InvalidLockerStateException(error);
+            }
+
+            UUID holder = to == LockerStatus.AVAILABLE || to == LockerStatus.BROKEN ? null
+                    : actor != null ? actor : current.holder();
+            State next = new State(lockerId, current.lockerNum(), to, holder, current.version() + 1, now);
+            if (ref.compareAndSet(current, next)) {
+                systemLogAppender.append(lockerId, actor, to.name(), SystemLog.SUCCESS, now);
+                dirty.add(lockerId);
+                for (BiConsumer<State, State> listener : listeners) {
+                    listener.accept(current, next);
+                }
+                eventBroadcaster.publish("locker", null, toDTO(next));
+                return next;
+            }
+            // 다른 요청이 먼저 바꿨으면 새 상태로 다시 판단
+        }
+    }
+
+    @Scheduled(fixedDelay = PERSIST_MILLIS)
+    public void persist() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<UUID> changed = new ArrayList<>(dirty);
+        dirty.removeAll(changed);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (UUID lockerId : changed) {
+                    LockerStatus current = states.get(lockerId).get().status();
+                    lockerRepository.updateStatus(lockerId, current, current == LockerStatus.BROKEN);
+                }
+            });
+        } catch (RuntimeException e) {
+            dirty.addAll(changed);
+            log.warn("사물함 상태 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    public static LockerStateDTO toDTO(State state) {
+        return new LockerStateDTO(state.lockerId(), state.lockerNum(), state.status().name(), state.version(),
+                state.changedAt());
+    }
+}
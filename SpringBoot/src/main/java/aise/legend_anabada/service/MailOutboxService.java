@@ -0,0 +1,139 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.entity.MailOutbox;
+import aise.legend_anabada.repository.MailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 메일은 mail_outbox 에 저장만 하고 바로 반환한다.
+// dispatch() 가 주기적으로 모아서 SMTP 연결 하나로 한꺼번에 보내고, 실패한 것은 간격을 늘려가며 다시 보낸다.
+@Service
+public class MailOutboxService {
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxService.class);
+
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 6;
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final Duration DEDUPE_WINDOW = Duration.ofMinutes(5);
+    private static final int ERROR_LENGTH = 255; // mail_outbox.last_error varchar(255)
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private JavaMailSender mailSender;
+
+    // dedupeKey 가 같은 메일이 DEDUPE_WINDOW 안에 이미 있으면 false
+    public boolean enqueue(String to, String subject, String text, String dedupeKey) {
+        return enqueue(to, subject, text, dedupeKey, OffsetDateTime.now());
+    }
+
+    // sendAt 이전에는 보내지 않는다 (대량 고지 메일을 시간에 나눠 보낼 때)
+    public boolean enqueue(String to, String subject, String text, String dedupeKey, OffsetDateTime sendAt) {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (dedupeKey != null && mailOutboxRepository.existsByDedupeKeyAndCreatedAtAfter(dedupeKey, now.minus(DEDUPE_WINDOW))) {
+            return false;
+        }
+
+        MailOutbox mail = new MailOutbox();
+        mail.setId(UUID.randomUUID());
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setBody(text);
+        mail.setDedupeKey(dedupeKey);
+        mail.setStatus(MailOutbox.PENDING);
+        mail.setAttempts(0);
+        mail.setNextAttemptAt(sendAt.isAfter(now) ? sendAt : now);
+        mail.setCreatedAt(now);
+        mailOutboxRepository.save(mail);
+        return true;
+    }
+
+    @Scheduled(fixedDelay = 2000)
+    public void dispatch() {
+        List<MailOutbox> batch;
+        do {
+            batch = mailOutboxRepository.findDue(OffsetDateTime.now(), Limit.of(BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return;
+            }
+            send(batch);
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+    private void send(List<MailOutbox> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            MailOutbox mail = batch.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(mail.getRecipient());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getBody());
+            messages[i] = message;
+        }
+
+        // JavaMailSenderImpl 은 배열을 연결 하나로 보내고, 실패한 메시지만 MailSendException 에 담아준다.
+        Map<Object, Exception> failed = new HashMap<>();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failed.putAll(e.getFailedMessages());
+            if (failed.isEmpty()) {
+                for (SimpleMailMessage message : messages) {
+                    failed.put(message, e);
+                }
+            }
+        } catch (MailException e) {
+            // 인증 실패 등 연결 자체가 안 된 경우
+            for (SimpleMailMessage message : messages) {
+                failed.put(message, e);
+            }
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i < messages.length; i++) {
+            MailOutbox mail = batch.get(i);
+            Exception error = failed.get(messages[i]);
+            mail.setAttempts(mail.getAttempts() + 1);
+            if (error == null) {
+                mail.setStatus(MailOutbox.SENT);
+                mail.setSentAt(now);
+                mail.setLastError(null);
+            } else {
+                retry(mail, error, now);
+            }
+        }
+        mailOutboxRepository.saveAll(batch);
+
+        if (!failed.isEmpty()) {
+            log.warn("메일 {}건 중 {}건 전송 실패", messages.length, failed.size());
+        }
+    }
+
+    private static void retry(MailOutbox mail, Exception error, OffsetDateTime now) {
+        String message = String.valueOf(error.getMessage());
+        mail.setLastError(message.length() > ERROR_LENGTH ? message.substring(0, ERROR_LENGTH) : message);
+        if (mail.getAttempts() >= MAX_ATTEMPTS) {
+            mail.setStatus(MailOutbox.FAILED);
+            return;
+        }
+        // 30초, 1분, 2분, ... 최대 1시간
+        Duration backoff = BASE_BACKOFF.multipliedBy(1L << (mail.getAttempts() - 1));
+        mail.setNextAttemptAt(now.plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+    }
+}
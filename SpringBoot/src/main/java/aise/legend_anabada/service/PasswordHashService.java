@@ -0,0 +1,85 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.config.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// BCrypt 는 한 번에 수십 ms 씩 CPU 를 쓰므로 요청 스레드가 아닌 passwordExecutor 에서 돌린다.
+// 대기열이 가득 차면 ServiceBusyException (503)
+@Service
+public class PasswordHashService {
+    @Autowired
+    private AppProperties appProperties;
+    @Autowired
+    private ThreadPoolTaskExecutor passwordExecutor;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BCryptPasswordEncoder encoder;
+    private Timer encodeTimer;
+    private Timer matchTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        encoder = new BCryptPasswordEncoder(appProperties.getBcrypt_cost());
+        encodeTimer = Timer.builder("password.hash.latency").tag("op", "encode").register(meterRegistry);
+        matchTimer = Timer.builder("password.hash.latency").tag("op", "matches").register(meterRegistry);
+        rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue", passwordExecutor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        return submit(() -> matchTimer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    // 회원가입 등 결과가 바로 필요한 곳. 요청 스레드는 기다리기만 하고 계산은 passwordExecutor 에서 한다.
+    public String encode(String rawPassword) {
+        try {
+            return encodeAsync(rawPassword).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // 저장된 해시의 cost 가 설정값과 다르면 로그인 성공 시 다시 해시한다.
+    public boolean needsRehash(String encodedPassword) {
+        if (!appProperties.isBcrypt_rehash() || encodedPassword == null || encodedPassword.length() < 7) {
+            return false;
+        }
+        // $2a$10$...
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != appProperties.getBcrypt_cost();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, passwordExecutor);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new ServiceBusyException("요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+}
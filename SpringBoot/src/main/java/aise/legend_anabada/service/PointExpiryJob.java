@@ -0,0 +1,216 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.util.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 24개월 미사용 포인트 소멸 + 소멸 30일 전 고지 (매일 새벽)
+// - 고지 없이 소멸하지 않는다: 지금의 마지막 활동 기준으로 고지한 지 30일이 지난 사용자만 소멸
+// - 사용자별 마지막 활동 시각은 point_transaction 을 user_id 순으로 한 번 집계 (ix_point_transaction_user_date)
+// - 소멸은 사용자마다 PointLedgerService.expire 로 (원장 락 + 잔액 스냅샷을 다른 포인트 변경과 같은 경로로)
+// - PAGE_SIZE 명씩: 소멸을 마친 뒤 고지 기록(JDBC 배치)과 진행 위치를 한 트랜잭션에 저장
+// - 중간에 죽으면 batch_checkpoint 의 마지막 user_id 다음부터 이어서 한다 (이미 소멸한 사용자는 EXPIRE 내역이 활동이라 다시 소멸되지 않음)
+@Service
+public class PointExpiryJob {
+    private static final Logger log = LoggerFactory.getLogger(PointExpiryJob.class);
+
+    static final String JOB_NAME = "point-expiry";
+    private static final int PAGE_SIZE = 1000;
+    private static final int EXPIRY_MONTHS = 24;
+    private static final int NOTICE_DAYS = 30;
+    private static final double NOTICE_PER_SECOND = 5; // SMTP 발송 한도
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy년 M월 d일");
+
+    // 마지막 활동이 cutoff 이전인 사용자. EXPIRE 내역도 활동으로 치므로 소멸된 사용자는 다시 잡히지 않는다.
+    private static final String SELECT_PAGE =
+            "select a.user_id, a.last_activity, b.point_total - b.point_held as available, u.email, " +
+            "       n.last_activity as noticed_activity, n.noticed_at " +
+            "from (select t.user_id, max(t.trans_date) as last_activity from point_transaction t " +
+            "      where t.user_id > ? group by t.user_id having max(t.trans_date) < ? " +
+            "      order by t.user_id limit ?) a " +
+            "left join user_point_balance b on b.user_id = a.user_id " +
+            "left join \"user\" u on u.user_id = a.user_id " +
+            "left join point_expiry_notice n on n.user_id = a.user_id " +
+            "order by a.user_id";
+    private static final String UPSERT_NOTICE =
+            "insert into point_expiry_notice (user_id, last_activity, noticed_at) values (?, ?, ?) " +
+            "on conflict (user_id) do update set last_activity = excluded.last_activity, noticed_at = excluded.noticed_at";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MailOutboxService mailOutboxService;
+    @Autowired
+    private PointLedgerService pointLedgerService;
+
+    private final RateLimiter noticeLimiter = new RateLimiter(NOTICE_PER_SECOND);
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private record Candidate(UUID userId, OffsetDateTime lastActivity, int available, String email,
+                             OffsetDateTime noticedActivity, OffsetDateTime noticedAt) {
+        // 지금의 마지막 활동 기준으로 고지했는지 (그 뒤 활동이 있었으면 다시 고지)
+        boolean noticed() {
+            return noticedActivity != null && lastActivity.isEqual(noticedActivity);
+        }
+    }
+
+    @Scheduled(cron = "0 0 4 * * *")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            run(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.warn("포인트 소멸 작업 중단 (다음 실행에서 이어서 진행): {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 끝나지 않은 실행이 있으면 그 날짜 기준으로 이어서, 없으면 today 기준으로 새로 시작
+    void run(LocalDate today) {
+        List<Object[]> checkpoint = jdbcTemplate.query(
+                "select run_date, cursor_key, processed, finished from batch_checkpoint where job_name = ?",
+                (rs, i) -> new Object[]{rs.getDate(1).toLocalDate(), rs.getObject(2, UUID.class), rs.getInt(3), rs.getBoolean(4)},
+                JOB_NAME);
+
+        LocalDate runDate = today;
+        UUID cursor = null;
+        int processed = 0;
+        boolean resume = false;
+        if (!checkpoint.isEmpty()) {
+            Object[] row = checkpoint.get(0);
+            boolean finished = (Boolean) row[3];
+            if (finished && !((LocalDate) row[0]).isBefore(today)) {
+                return;
+            }
+            if (!finished) {
+                resume = true;
+                runDate = (LocalDate) row[0];
+                cursor = (UUID) row[1];
+                processed = (Integer) row[2];
+                log.info("포인트 소멸 작업 이어서 진행 run={} cursor={} processed={}", runDate, cursor, processed);
+            }
+        }
+        if (!resume) {
+            jdbcTemplate.update("insert into batch_checkpoint (job_name, run_date, cursor_key, processed, finished, updated_at) " +
+                            "values (?, ?, null, 0, false, now()) on conflict (job_name) do update set " +
+                            "run_date = excluded.run_date, cursor_key = null, processed = 0, finished = false, updated_at = now()",
+                    JOB_NAME, Date.valueOf(runDate));
+        }
+
+        OffsetDateTime runStart = runDate.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+        OffsetDateTime expiryCutoff = runStart.minusMonths(EXPIRY_MONTHS);
+        OffsetDateTime noticeCutoff = expiryCutoff.plusDays(NOTICE_DAYS);
+        OffsetDateTime noticedBefore = runStart.minusDays(NOTICE_DAYS);
+
+        int[] counts = {processed, 0, 0}; // 확인한 사용자, 소멸, 고지
+        UUID next = cursor;
+        do {
+            UUID from = next;
+            next = processPage(from, expiryCutoff, noticeCutoff, noticedBefore, counts);
+        } while (next != null);
+        log.info("포인트 소멸 작업 완료 run={} 확인 {}명, 소멸 {}명, 고지 {}명", runDate, counts[0], counts[1], counts[2]);
+    }
+
+    // 마지막 user_id 를 돌려준다. 더 없으면 완료 표시 후 null
+    // noticedBefore: 이 시각 전에 고지한 사용자만 소멸
+    private UUID processPage(UUID cursor, OffsetDateTime expiryCutoff, OffsetDateTime noticeCutoff,
+                             OffsetDateTime noticedBefore, int[] counts) {
+        List<Candidate> page = jdbcTemplate.query(SELECT_PAGE,
+                (rs, i) -> new Candidate(rs.getObject("user_id", UUID.class),
+                        rs.getObject("last_activity", OffsetDateTime.class),
+                        rs.getInt("available"),
+                        rs.getString("email"),
+                        rs.getObject("noticed_activity", OffsetDateTime.class),
+                        rs.getObject("noticed_at", OffsetDateTime.class)),
+                cursor == null ? new UUID(0, 0) : cursor, noticeCutoff, PAGE_SIZE);
+        if (page.isEmpty()) {
+            jdbcTemplate.update("update batch_checkpoint set finished = true, updated_at = now() where job_name = ?", JOB_NAME);
+            return null;
+        }
+        UUID last = page.get(page.size() - 1).userId();
+
+        List<Candidate> expired = new ArrayList<>();
+        List<Candidate> notices = new ArrayList<>();
+        for (Candidate candidate : page) {
+            if (candidate.available() <= 0) {
+                continue;
+            }
+            if (!candidate.noticed()) {
+                // 기한이 지났어도 먼저 고지하고, 30일 뒤 실행에서 소멸
+                if (candidate.email() != null) {
+                    notices.add(candidate);
+                }
+            } else if (candidate.lastActivity().isBefore(expiryCutoff) && candidate.noticedAt().isBefore(noticedBefore)) {
+                expired.add(candidate);
+            }
+        }
+
+        counts[0] += page.size();
+        counts[1] += expire(expired, expiryCutoff);
+        transactionTemplate.executeWithoutResult(status -> {
+            counts[2] += notify(notices);
+            jdbcTemplate.update("update batch_checkpoint set cursor_key = ?, processed = ?, updated_at = now() where job_name = ?",
+                    last, counts[0], JOB_NAME);
+        });
+        return last;
+    }
+
+    // 집계 이후 충전/사용이 있었거나 예약으로 잡혀 사용 가능 포인트가 줄었으면 건너뛴다 (다음 실행에서 다시 판단)
+    private int expire(List<Candidate> expired, OffsetDateTime expiryCutoff) {
+        int applied = 0;
+        for (Candidate c : expired) {
+            if (pointLedgerService.expire(c.userId(), c.available(), expiryCutoff)) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    // 고지 메일은 outbox 에 발송 시각을 나눠 넣는다 (인증 메일 등이 밀리지 않게)
+    private int notify(List<Candidate> notices) {
+        if (notices.isEmpty()) {
+            return 0;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        jdbcTemplate.batchUpdate(UPSERT_NOTICE, notices, notices.size(), (ps, c) -> {
+            ps.setObject(1, c.userId());
+            ps.setObject(2, c.lastActivity());
+            ps.setObject(3, now);
+        });
+        for (Candidate c : notices) {
+            // 늦게 고지한 경우에도 고지 후 30일은 남긴다
+            OffsetDateTime expiresAt = c.lastActivity().plusMonths(EXPIRY_MONTHS);
+            if (expiresAt.isBefore(now.plusDays(NOTICE_DAYS))) {
+                expiresAt = now.plusDays(NOTICE_DAYS);
+            }
+            String expiresOn = expiresAt.format(DATE_FORMAT);
+            OffsetDateTime sendAt = OffsetDateTime.ofInstant(Instant.ofEpochMilli(noticeLimiter.reserve()), ZoneId.systemDefault());
+            mailOutboxService.enqueue(c.email(), "[Legend Anabada] 포인트 소멸 예정 안내",
+                    "보유하신 " + c.available() + " 포인트가 " + expiresOn + "에 소멸될 예정입니다.\n" +
+                            "포인트는 24개월 동안 사용 내역이 없으면 자동으로 소멸됩니다.",
+                    null, sendAt);
+        }
+        return notices.size();
+    }
+}
@@ -0,0 +1,135 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.exception.InsufficientPointException;
+import aise.legend_anabada.entity.PointTransaction;
+import aise.legend_anabada.repository.PointTransactionRepository;
+import aise.legend_anabada.repository.UserPointBalanceRepository;
+import aise.legend_anabada.repository.UserRepository;
+import aise.legend_anabada.util.StripedLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+// 포인트 원장. 모든 포인트 변경은 여기를 거친다. (일괄 소멸도 PointExpiryJob 이 expire 로)
+// - 잔액은 UPDATE ... SET point_total = point_total + ? 로 DB 에서 원자적으로 변경 (읽고 쓰지 않음)
+// - 같은 사용자에 대한 요청은 프로세스 안에서 먼저 줄을 세워, DB 행 잠금을 기다리며 커넥션을 잡고 있지 않게 한다
+@Service
+public class PointLedgerService {
+    private static final int STRIPES = 256;
+
+    public static final String CHARGE = "CHARGE";
+    public static final String RESERVE = "RESERVE";
+    public static final String EXPIRE = "EXPIRE";
+
+    @Autowired
+    private UserPointBalanceRepository userPointBalanceRepository;
+    @Autowired
+    private PointTransactionRepository pointTransactionRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PointStatementService pointStatementService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final StripedLock locks = new StripedLock(STRIPES);
+
+    // delta > 0 적립, delta < 0 차감. 변경 후 잔액을 돌려준다.
+    public int apply(UUID userId, int delta, String transType) {
+        if (delta == 0) {
+            throw new IllegalArgumentException("포인트 변경량이 0 입니다.");
+        }
+        return inLock(userId, () -> {
+            int earned = Math.max(delta, 0);
+            int spent = Math.max(-delta, 0);
+            if (userPointBalanceRepository.applyDelta(userId, delta, earned, spent) == 0) {
+                // 잔액 행이 아직 없거나 잔액 부족
+                userPointBalanceRepository.insertIfAbsent(userId);
+                if (userPointBalanceRepository.applyDelta(userId, delta, earned, spent) == 0) {
+                    throw new InsufficientPointException("포인트가 부족합니다.");
+                }
+            }
+
+            record(userId, delta, transType);
+            return userPointBalanceRepository.findPointTotal(userId).orElse(0);
+        });
+    }
+
+    // 사용 가능 포인트에서 amount 를 잡아 두고, 같은 트랜잭션에서 then 을 실행한다. (예약 행 저장 등)
+    public <T> T hold(UUID userId, int amount, Supplier<T> then) {
+        return inLock(userId, () -> {
+            if (amount > 0) {
+                userPointBalanceRepository.insertIfAbsent(userId);
+                if (userPointBalanceRepository.hold(userId, amount) == 0) {
+                    throw new InsufficientPointException("포인트가 부족합니다.");
+                }
+            }
+            return then.get();
+        });
+    }
+
+    // claim 이 true 일 때만 (예: 예약 상태 전이에 성공했을 때만) 잡아 둔 포인트를 차감한다.
+    public boolean capture(UUID userId, int amount, String transType, BooleanSupplier claim) {
+        return inLock(userId, () -> {
+            if (!claim.getAsBoolean()) {
+                return false;
+            }
+            if (amount > 0) {
+                if (userPointBalanceRepository.capture(userId, amount) == 0) {
+                    throw new IllegalStateException("잡아 둔 포인트가 없습니다. user=" + userId);
+                }
+                record(userId, -amount, transType);
+            }
+            return true;
+        });
+    }
+
+    // claim 이 true 일 때만 잡아 둔 포인트를 돌려준다.
+    public boolean release(UUID userId, int amount, BooleanSupplier claim) {
+        return inLock(userId, () -> {
+            if (!claim.getAsBoolean()) {
+                return false;
+            }
+            if (amount > 0 && userPointBalanceRepository.release(userId, amount) == 0) {
+                throw new IllegalStateException("잡아 둔 포인트가 없습니다. user=" + userId);
+            }
+            return true;
+        });
+    }
+
+    // 미사용 포인트 소멸. idleSince 이후 활동이 없을 때만 amount 를 차감하고 true
+    public boolean expire(UUID userId, int amount, OffsetDateTime idleSince) {
+        return inLock(userId, () -> {
+            if (userPointBalanceRepository.expireIdle(userId, amount, idleSince) == 0) {
+                return false;
+            }
+            record(userId, -amount, EXPIRE);
+            return true;
+        });
+    }
+
+    public int getBalance(UUID userId) {
+        return userPointBalanceRepository.findPointTotal(userId).orElse(0);
+    }
+
+    // 같은 사용자에 대한 변경은 락 안에서 한 트랜잭션으로 (커밋까지 끝낸 뒤 락 해제)
+    private <T> T inLock(UUID userId, Supplier<T> work) {
+        return locks.withLock(userId, () -> transactionTemplate.execute(status -> work.get()));
+    }
+
+    private void record(UUID userId, int delta, String transType) {
+        PointTransaction transaction = new PointTransaction();
+        transaction.setId(UUID.randomUUID());
+        transaction.setUser(userRepository.getReferenceById(userId));
+        transaction.setPointChange(delta);
+        transaction.setTransType(transType);
+        transaction.setTransDate(OffsetDateTime.now());
+        pointTransactionRepository.saveAndFlush(transaction);
+        pointStatementService.snapshotIfDue(userId, transaction);
+    }
+}
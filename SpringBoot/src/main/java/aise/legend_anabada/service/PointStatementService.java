@@ -0,0 +1,127 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.dto.response.CursorPageDTO;
+import aise.legend_anabada.dto.response.PointStatementItemDTO;
+import aise.legend_anabada.entity.PointTransaction;
+import aise.legend_anabada.util.CursorUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 포인트 내역(잔액 흐름) 조회
+// - 현재 잔액 = 마지막 스냅샷 + 그 뒤의 내역(최대 SNAPSHOT_EVERY 건 정도)이라 계정이 오래돼도 비용이 같다
+// - 스냅샷은 PointLedgerService 가 내역을 기록할 때 SNAPSHOT_EVERY 건마다 이어서 만든다
+// - 페이지는 최신순 키셋. 다음 페이지의 잔액은 커서 위치 이전의 마지막 스냅샷 + 그 뒤 내역으로 다시 계산한다
+//   (커서는 클라이언트가 바꿀 수 있으므로 잔액을 싣지 않는다)
+@Service
+public class PointStatementService {
+    static final int SNAPSHOT_EVERY = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 마지막 스냅샷 + 이후 내역 합계 (스냅샷이 없으면 전체 합계)
+    private static final String SELECT_ANCHOR =
+            "select coalesce(s.balance, 0) + coalesce(sum(t.point_change), 0) as balance, " +
+            "       coalesce(s.total_earned, 0) + coalesce(sum(greatest(t.point_change, 0)), 0) as earned, " +
+            "       coalesce(s.total_spent, 0) + coalesce(sum(greatest(-t.point_change, 0)), 0) as spent, " +
+            "       count(t.trans_id) as tail " +
+            "from (select 1) one " +
+            "left join lateral (select balance, total_earned, total_spent, as_of, last_trans_id " +
+            "                   from point_balance_snapshot where user_id = ? " +
+            "                   order by as_of desc, last_trans_id desc limit 1) s on true " +
+            "left join point_transaction t on t.user_id = ? " +
+            "     and (s.as_of is null or (t.trans_date, t.trans_id) > (s.as_of, s.last_trans_id)) " +
+            "group by s.balance, s.total_earned, s.total_spent";
+    // 커서 위치 (trans_date, trans_id) 보다 오래된 내역까지의 잔액
+    private static final String SELECT_BALANCE_BEFORE =
+            "select coalesce(s.balance, 0) + coalesce(sum(t.point_change), 0) as balance " +
+            "from (select 1) one " +
+            "left join lateral (select balance, as_of, last_trans_id from point_balance_snapshot " +
+            "                   where user_id = ? and (as_of, last_trans_id) < (?, ?) " +
+            "                   order by as_of desc, last_trans_id desc limit 1) s on true " +
+            "left join point_transaction t on t.user_id = ? and (t.trans_date, t.trans_id) < (?, ?) " +
+            "     and (s.as_of is null or (t.trans_date, t.trans_id) > (s.as_of, s.last_trans_id)) " +
+            "group by s.balance";
+    private static final String SELECT_FIRST_PAGE =
+            "select trans_id, point_change, trans_type, trans_date from point_transaction where user_id = ? " +
+            "order by trans_date desc, trans_id desc limit ?";
+    private static final String SELECT_PAGE_AFTER =
+            "select trans_id, point_change, trans_type, trans_date from point_transaction where user_id = ? " +
+            "and (trans_date, trans_id) < (?, ?) order by trans_date desc, trans_id desc limit ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private record Anchor(int balance, int earned, int spent, int tail) {
+    }
+
+    // 잔액과 내역을 같은 시점으로 읽는다
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public CursorPageDTO<PointStatementItemDTO> getStatement(UUID userId, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size 는 1 이상이어야 합니다.");
+        }
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        CursorUtil.Keyset after = CursorUtil.decode(cursor);
+        if (after == null && cursor != null && !cursor.isEmpty()) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+
+        List<PointStatementItemDTO> items;
+        int balance;
+        if (after == null) {
+            balance = anchor(userId).balance();
+            items = jdbcTemplate.query(SELECT_FIRST_PAGE, (rs, i) -> toItem(rs), userId, limit + 1);
+        } else {
+            balance = jdbcTemplate.queryForObject(SELECT_BALANCE_BEFORE, Integer.class,
+                    userId, after.registeredAt(), after.id(), userId, after.registeredAt(), after.id());
+            items = jdbcTemplate.query(SELECT_PAGE_AFTER, (rs, i) -> toItem(rs),
+                    userId, after.registeredAt(), after.id(), limit + 1);
+        }
+
+        // 최신 행부터 거꾸로 빼 가며 각 행 직후의 잔액을 채운다
+        for (PointStatementItemDTO item : items) {
+            item.setBalanceAfter(balance);
+            balance -= item.getPointChange();
+        }
+
+        boolean hasNext = items.size() > limit;
+        if (!hasNext) {
+            return new CursorPageDTO<>(items, null);
+        }
+        PointStatementItemDTO last = items.get(limit - 1);
+        return new CursorPageDTO<>(new ArrayList<>(items.subList(0, limit)),
+                CursorUtil.encode(last.getTransDate(), last.getTransId()));
+    }
+
+    // 원장 락 + 트랜잭션 안에서 호출. recorded 까지 마지막 스냅샷 뒤로 SNAPSHOT_EVERY 건이 쌓였으면 새 스냅샷을 남긴다
+    void snapshotIfDue(UUID userId, PointTransaction recorded) {
+        Anchor anchor = anchor(userId);
+        if (anchor.tail() < SNAPSHOT_EVERY) {
+            return;
+        }
+        jdbcTemplate.update("insert into point_balance_snapshot (snapshot_id, user_id, as_of, last_trans_id, balance, total_earned, total_spent) " +
+                        "values (?, ?, ?, ?, ?, ?, ?)",
+                UUID.randomUUID(), userId, recorded.getTransDate(), recorded.getId(),
+                anchor.balance(), anchor.earned(), anchor.spent());
+    }
+
+    private Anchor anchor(UUID userId) {
+        return jdbcTemplate.queryForObject(SELECT_ANCHOR,
+                (rs, i) -> new Anchor(rs.getInt("balance"), rs.getInt("earned"), rs.getInt("spent"), rs.getInt("tail")),
+                userId, userId);
+    }
+
+    private static PointStatementItemDTO toItem(ResultSet rs) throws SQLException {
+        return new PointStatementItemDTO(rs.getObject("trans_id", UUID.class), rs.getInt("point_change"),
+                rs.getString("trans_type"), rs.getObject("trans_date", OffsetDateTime.class), 0);
+    }
+}
@@ -0,0 +1,210 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.config.exception.BookNotFoundException;
+import aise.legend_anabada.config.exception.InvalidReservationException;
+import aise.legend_anabada.config.exception.ReservationConflictException;
+import aise.legend_anabada.dto.projection.ReservationExpiryView;
+import aise.legend_anabada.dto.response.ReservationDTO;
+import aise.legend_anabada.entity.Book;
+import aise.legend_anabada.entity.Reservation;
+import aise.legend_anabada.repository.BookRepository;
+import aise.legend_anabada.repository.ReservationRepository;
+import aise.legend_anabada.repository.UserRepository;
+import aise.legend_anabada.util.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 예약 = 포인트 임시 보관(escrow)
+// - 예약: 사용 가능 포인트에서 교재 가격만큼 잡아 둠
+// - 수령: 잡아 둔 포인트를 차감
+// - 취소/만료: 잡아 둔 포인트를 돌려줌
+// 만료는 메모리의 타이밍 휠로 처리한다. (시작할 때 RESERVED 예약만 한 번 읽어서 채움)
+@Service
+public class ReservationService {
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+
+    private static final Duration HOLD_DURATION = Duration.ofHours(24);
+    private static final long TICK_MILLIS = 1000;
+    private static final long RETRY_MILLIS = 1000 * 30;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PointLedgerService pointLedgerService;
+    @Autowired
+    private EventBroadcaster eventBroadcaster;
+    @Autowired
+    private AuthContext authContext;
+
+    // 1초 단위, 64칸 x 4단계
+    private final TimingWheel<UUID> expiries = new TimingWheel<>(TICK_MILLIS, 6, 4, System.currentTimeMillis());
+    // 진행 중인 예약이 있거나 이미 수령된 교재
+    private final Set<UUID> reservedBooks = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        List<ReservationExpiryView> pending = reservationRepository.findExpiries(Reservation.RESERVED);
+        for (ReservationExpiryView view : pending) {
+            expiries.schedule(view.getId(), view.getExpiresAt().toInstant().toEpochMilli());
+            reservedBooks.add(view.getBookId());
+        }
+        List<UUID> pickedUp = reservationRepository.findBookIds(Reservation.PICKED_UP);
+        reservedBooks.addAll(pickedUp);
+        log.info("만료 대기 예약 {}건, 수령 완료 교재 {}권 복원", pending.size(), pickedUp.size());
+    }
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick() {
+        expiries.advance(System.currentTimeMillis(), this::expire);
+    }
+
+    public ReservationDTO reserve(UUID bookId) {
+        // 사용자는 원하는 교재를 예약할 수 있다.
+        // 예약 시 포인트가 임시로 홀딩되며, 수령 확정 시 포인트가 차감된다.
+        // 예약 후 일정 시간 내 교재를 수령하지 않으면 자동 취소되며, 포인트는 즉시 반환된다.
+        // 예약 과정 및 결과는 등록자와 예약자 모두에게 알림으로 전달된다. (publish)
+        return reserve(authContext.require().getUserId(), bookId);
+    }
+
+    // 같은 교재에 동시에 몰리면
+    // 1) 메모리의 예약 중 집합에 먼저 넣은 요청만 DB 까지 간다 (나머지는 바로 409)
+    // 2) Book.version 을 조건부로 올려서 다른 인스턴스와의 경쟁도 하나만 통과
+    // 3) 마지막으로 ux_reservation_active_book (RESERVED, PICKED_UP) 이 막는다
+    public ReservationDTO reserve(UUID userId, UUID bookId) {
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException("존재하지 않는 교재"));
+        if (book.getUser().getId().equals(userId)) {
+            throw new InvalidReservationException("본인이 등록한 교재는 예약할 수 없습니다.");
+        }
+        if (!reservedBooks.add(bookId)) {
+            throw new ReservationConflictException("이미 예약된 교재입니다.");
+        }
+
+        int price = book.getPointPrice() == null ? 0 : book.getPointPrice();
+        Long version = book.getVersion();
+        OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Reservation reservation;
+        try {
+            reservation = pointLedgerService.hold(userId, price, () -> {
+                if (bookRepository.bumpVersion(bookId, version) == 0) {
+                    throw new ReservationConflictException("이미 예약된 교재입니다.");
+                }
+                Reservation r = new Reservation();
+                r.setId(UUID.randomUUID());
+                r.setUser(userRepository.getReferenceById(userId));
+                r.setBook(bookRepository.getReferenceById(bookId));
+                r.setReservedAt(now);
+                r.setExpiresAt(now.plus(HOLD_DURATION));
+                r.setStatus(Reservation.RESERVED);
+                r.setHeldPoints(price);
+                return reservationRepository.saveAndFlush(r);
+            });
+        } catch (DataIntegrityViolationException e) {
+            reservedBooks.remove(bookId);
+            throw new ReservationConflictException("이미 예약된 교재입니다.");
+        } catch (RuntimeException e) {
+            reservedBooks.remove(bookId);
+            throw e;
+        }
+
+        expiries.schedule(reservation.getId(), reservation.getExpiresAt().toInstant().toEpochMilli());
+        return publish(userId, book.getUser().getId(), reservation);
+    }
+
+    // 수령 확정
+    public ReservationDTO pickup(UUID reservationId) {
+        Reservation reservation = findOwn(reservationId);
+        boolean done = pointLedgerService.capture(reservation.getUser().getId(), reservation.getHeldPoints(),
+                PointLedgerService.RESERVE,
+                () -> reservationRepository.transition(reservationId, Reservation.RESERVED, Reservation.PICKED_UP) == 1);
+        if (!done) {
+            throw new InvalidReservationException("이미 처리된 예약입니다.");
+        }
+        // 수령된 교재는 다시 예약되지 않도록 reservedBooks 에 그대로 둔다 (DB 는 ux_reservation_active_book)
+        expiries.cancel(reservationId);
+        reservation.setStatus(Reservation.PICKED_UP);
+        return publish(reservation);
+    }
+
+    public ReservationDTO cancel(UUID reservationId) {
+        Reservation reservation = findOwn(reservationId);
+        boolean done = pointLedgerService.release(reservation.getUser().getId(), reservation.getHeldPoints(),
+                () -> reservationRepository.transition(reservationId, Reservation.RESERVED, Reservation.CANCELLED) == 1);
+        if (!done) {
+            throw new InvalidReservationException("이미 처리된 예약입니다.");
+        }
+        expiries.cancel(reservationId);
+        reservedBooks.remove(reservation.getBook().getId());
+        reservation.setStatus(Reservation.CANCELLED);
+        return publish(reservation);
+    }
+
+    // 타이밍 휠에서 만료된 예약. 실패하면 잠시 뒤 다시 시도
+    private void expire(UUID reservationId) {
+        try {
+            Reservation reservation = reservationRepository.findById(reservationId).orElse(null);
+            if (reservation == null || !Reservation.RESERVED.equals(reservation.getStatus())) {
+                return;
+            }
+            if (pointLedgerService.release(reservation.getUser().getId(), reservation.getHeldPoints(),
+                    () -> reservationRepository.transition(reservationId, Reservation.RESERVED, Reservation.EXPIRED) == 1)) {
+                reservedBooks.remove(reservation.getBook().getId());
+                reservation.setStatus(Reservation.EXPIRED);
+                publish(reservation);
+            }
+        } catch (RuntimeException e) {
+            log.warn("예약 만료 처리 실패 reservation={}: {}", reservationId, e.getMessage());
+            expiries.schedule(reservationId, System.currentTimeMillis() + RETRY_MILLIS);
+        }
+    }
+
+    private Reservation findOwn(UUID reservationId) {
+        AuthPrincipal principal = authContext.require();
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new InvalidReservationException("존재하지 않는 예약입니다."));
+        if (!reservation.getUser().getId().equals(principal.getUserId())) {
+            throw new InvalidReservationException("본인의 예약이 아닙니다.");
+        }
+        return reservation;
+    }
+
+    private ReservationDTO publish(Reservation reservation) {
+        UUID ownerId = bookRepository.findOwnerId(reservation.getBook().getId()).orElse(null);
+        return publish(reservation.getUser().getId(), ownerId, reservation);
+    }
+
+    // 상태 변경 알림 (SSE). 예약자는 reservation, 등록자는 book-reservation 이벤트
+    private ReservationDTO publish(UUID userId, UUID ownerId, Reservation reservation) {
+        ReservationDTO dto = toDTO(reservation);
+        eventBroadcaster.publish("reservation", userId, dto);
+        if (ownerId != null) {
+            eventBroadcaster.publish("book-reservation", ownerId, dto);
+        }
+        return dto;
+    }
+
+    private static ReservationDTO toDTO(Reservation reservation) {
+        return new ReservationDTO(reservation.getId(), reservation.getBook().getId(), reservation.getStatus(),
+                reservation.getHeldPoints(), reservation.getExpiresAt());
+    }
+}
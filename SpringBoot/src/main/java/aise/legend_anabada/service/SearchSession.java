@@ -0,0 +1,169 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.exception.InvalidSessionException;
+import aise.legend_anabada.dto.response.BookSummaryDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.IntStream;
+
+// 검색 결과의 컬럼 스냅샷. 필터/정렬은 Book 엔티티 없이 배열만 보고 처리한다.
+class SearchSession {
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final String id;
+    private final int size;
+    private final UUID[] ids;
+    private final String[] titles;
+    private final String[] authors;
+    private final String[] publishers;
+    private final String[] grades;
+    private final int[] points;
+    private final long[] registered;
+    private final OffsetDateTime[] registeredAt;
+    private final int[] popularity;
+    private final String[] covers;
+
+    private volatile long lastAccess = System.currentTimeMillis();
+    // 같은 조건으로 다음 페이지를 요청하면 정렬 결과를 재사용
+    private volatile Filtered cached;
+
+    // rows 는 검색 결과 순서(최신 등록순)로 들어온다.
+    SearchSession(String id, List<BookSummaryDTO> rows, Map<UUID, Integer> popularityByBook) {
+        this.id = id;
+        this.size = rows.size();
+        ids = new UUID[size];
+        titles = new String[size];
+        authors = new String[size];
+        publishers = new String[size];
+        grades = new String[size];
+        points = new int[size];
+        registered = new long[size];
+        registeredAt = new OffsetDateTime[size];
+        popularity = new int[size];
+        covers = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            BookSummaryDTO row = rows.get(i);
+            ids[i] = row.getId();
+            titles[i] = row.getTitle();
+            authors[i] = row.getAuthor();
+            publishers[i] = row.getPublisher();
+            grades[i] = row.getConditionGrade();
+            points[i] = row.getPointPrice() == null ? 0 : row.getPointPrice();
+            registeredAt[i] = row.getRegisteredAt();
+            registered[i] = row.getRegisteredAt() == null ? 0L : row.getRegisteredAt().toInstant().toEpochMilli();
+            popularity[i] = popularityByBook.getOrDefault(row.getId(), 0);
+            covers[i] = row.getCoverImage();
+        }
+    }
+
+    String getId() {
+        return id;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    static String filterKey(String state, int minPoints, int maxPoints, LocalDate registrationDate, String sortBy) {
+        return state + "|" + minPoints + "|" + maxPoints + "|" + registrationDate + "|" + sortBy;
+    }
+
+    int[] filter(String key, String state, int minPoints, int maxPoints, LocalDate registrationDate, String sortBy) {
+        Filtered last = cached;
+        if (last != null && last.key().equals(key)) {
+            return last.order();
+        }
+
+        long since = registrationDate == null ? Long.MIN_VALUE
+                : registrationDate.atStartOfDay(ZONE).toInstant().toEpochMilli();
+        int[] matched = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (state != null && !state.isEmpty() && !state.equals(grades[i])) continue;
+            if (points[i] < minPoints || points[i] > maxPoints) continue;
+            if (registered[i] < since) continue;
+            matched[count++] = i;
+        }
+
+        Comparator<Integer> comparator = comparator(sortBy);
+        int[] order = comparator == null ? Arrays.copyOf(matched, count)
+                : IntStream.of(matched).limit(count).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+
+        cached = new Filtered(key, order);
+        return order;
+    }
+
+    List<BookSummaryDTO> rows(int[] order, int from, int to) {
+        List<BookSummaryDTO> result = new ArrayList<>(Math.max(0, to - from));
+        for (int k = from; k < to; k++) {
+            int i = order[k];
+            result.add(new BookSummaryDTO(ids[i], titles[i], authors[i], publishers[i], grades[i], points[i],
+                    registeredAt[i], covers[i]));
+        }
+        return result;
+    }
+
+    // 커서는 "조건 해시:오프셋"을 base64 로 감싼 값. 조건이 바뀌면 처음부터 보여준다.
+    // 음수 오프셋은 서버가 만든 커서가 아니므로 거부한다.
+    static String encodeCursor(String key, int offset) {
+        String raw = key.hashCode() + ":" + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decodeCursor(String cursor, String key, int total) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        int offset;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            if (Integer.parseInt(raw.substring(0, colon)) != key.hashCode()) {
+                return 0;
+            }
+            offset = Integer.parseInt(raw.substring(colon + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return 0;
+        }
+        if (offset < 0) {
+            throw new InvalidSessionException("잘못된 페이지 커서입니다.");
+        }
+        return Math.min(offset, total);
+    }
+
+    private record Filtered(String key, int[] order) {
+    }
+
+    // 원래 순서(최신 등록순)를 동점 처리 기준으로 사용
+    private Comparator<Integer> comparator(String sortBy) {
+        if (sortBy == null) {
+            return null;
+        }
+        switch (sortBy) {
+            case "popularity":
+                return (a, b) -> popularity[a] != popularity[b] ? Integer.compare(popularity[b], popularity[a]) : Integer.compare(a, b);
+            case "points":
+                return (a, b) -> points[a] != points[b] ? Integer.compare(points[a], points[b]) : Integer.compare(a, b);
+            case "pointsDesc":
+                return (a, b) -> points[a] != points[b] ? Integer.compare(points[b], points[a]) : Integer.compare(a, b);
+            case "oldest":
+                return (a, b) -> registered[a] != registered[b] ? Long.compare(registered[a], registered[b]) : Integer.compare(b, a);
+            default:
+                // latest
+                return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.dto.response.BookSummaryDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 검색 세션 보관소. 일정 시간 사용하지 않은 세션은 새 세션을 만들 때 정리한다.
+@Component
+public class SearchSessionStore {
+    private static final long IDLE_TIMEOUT = 1000 * 60 * 10; // 10분
+    private static final int MAX_SESSIONS = 10_000;
+
+    private final Map<String, SearchSession> sessions = new ConcurrentHashMap<>();
+
+    SearchSession create(List<BookSummaryDTO> rows, Map<UUID, Integer> popularity) {
+        if (sessions.size() >= MAX_SESSIONS) {
+            evict();
+        }
+        SearchSession session = new SearchSession(UUID.randomUUID().toString(), rows, popularity);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    SearchSession get(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        SearchSession session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - session.getLastAccess() > IDLE_TIMEOUT) {
+            sessions.remove(sessionId);
+            return null;
+        }
+        session.touch();
+        return session;
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> now - session.getLastAccess() > IDLE_TIMEOUT);
+
+        // 그래도 가득 차 있으면 오래된 것부터 정리
+        if (sessions.size() >= MAX_SESSIONS) {
+            sessions.values().stream()
+                    .sorted(Comparator.comparingLong(SearchSession::getLastAccess))
+                    .limit(sessions.size() - MAX_SESSIONS + MAX_SESSIONS / 10)
+                    .map(SearchSession::getId)
+                    .toList()
+                    .forEach(sessions::remove);
+        }
+    }
+}
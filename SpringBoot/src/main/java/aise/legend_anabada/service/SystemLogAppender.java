@@ -0,0 +1,139 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.util.RingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// system_log 비동기 기록. 호출한 스레드는 링 버퍼에 넣기만 하고(락 없음), 전용 스레드가 모아서 JDBC 배치 INSERT 한다.
+// - BATCH_SIZE 건이 모이거나 첫 건을 꺼낸 뒤 FLUSH_MILLIS 가 지나면 저장
+// - reWriteBatchedInserts=true (datasource url) 면 드라이버가 여러 행 INSERT 한 문장으로 보낸다
+// - system_log 는 월별 파티션 (SystemLogPartitionJob)
+@Service
+public class SystemLogAppender {
+    private static final Logger log = LoggerFactory.getLogger(SystemLogAppender.class);
+
+    private static final int CAPACITY = 16384;
+    private static final int BATCH_SIZE = 256;
+    private static final long FLUSH_MILLIS = 200;
+    private static final String INSERT = "insert into system_log (log_id, locker_id, user_id, event_type, occurred_at, result_status) " +
+            "values (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final RingBuffer<Entry> buffer = new RingBuffer<>(CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private Thread writer;
+    private volatile boolean running;
+    private volatile boolean parked;
+
+    private record Entry(UUID lockerId, UUID userId, String eventType, String resultStatus, OffsetDateTime occurredAt) {
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "system-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 남은 로그를 마저 쓰고 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(5000);
+        List<Entry> rest = new ArrayList<>();
+        while (buffer.drain(rest::add, BATCH_SIZE) > 0) {
+            write(rest);
+            rest.clear();
+        }
+    }
+
+    // userId 는 시스템 이벤트면 null. 버퍼가 가득 차면 버리고 false
+    public boolean append(UUID lockerId, UUID userId, String eventType, String resultStatus, OffsetDateTime occurredAt) {
+        if (!buffer.offer(new Entry(lockerId, userId, eventType, resultStatus, occurredAt))) {
+            // 몰릴 때 경고 로그가 또 병목이 되지 않게 1000건마다
+            if (dropped.getAndIncrement() % 1000 == 0) {
+                log.warn("system_log 버퍼가 가득 차 버림 (누적 {}건) locker={} event={}", dropped.get(), lockerId, eventType);
+            }
+            return false;
+        }
+        if (parked && buffer.size() >= BATCH_SIZE) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        long flushAt = 0;
+        while (running) {
+            buffer.drain(batch::add, BATCH_SIZE - batch.size());
+            long now = System.nanoTime();
+            if (batch.isEmpty()) {
+                park(TimeUnit.MILLISECONDS.toNanos(FLUSH_MILLIS));
+                continue;
+            }
+            if (flushAt == 0) {
+                flushAt = now + TimeUnit.MILLISECONDS.toNanos(FLUSH_MILLIS);
+            }
+            if (batch.size() < BATCH_SIZE && now < flushAt) {
+                park(flushAt - now);
+                continue;
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                log.warn("system_log {}건 저장 실패: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+            flushAt = 0;
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void park(long nanos) {
+        parked = true;
+        if (buffer.size() < BATCH_SIZE) {
+            LockSupport.parkNanos(this, nanos);
+        }
+        parked = false;
+    }
+
+    private void write(List<Entry> entries) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (ps, entry) -> {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, entry.lockerId());
+                    if (entry.userId() == null) {
+                        ps.setNull(3, Types.OTHER);
+                    } else {
+                        ps.setObject(3, entry.userId());
+                    }
+                    ps.setString(4, entry.eventType());
+                    ps.setObject(5, entry.occurredAt());
+                    ps.setString(6, entry.resultStatus());
+                }));
+    }
+}
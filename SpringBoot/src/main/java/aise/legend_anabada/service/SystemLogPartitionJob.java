@@ -0,0 +1,96 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+// system_log 월별 파티션 관리 (V9)
+// - 이번 달부터 MONTHS_AHEAD 달 뒤까지 파티션을 미리 만든다 (기본 파티션에 쌓이지 않게)
+// - app.system-log-retention-months 보다 오래된 달은 파티션을 떼어 내고 DROP (행 단위 DELETE 없음)
+// - 달 경계는 DB 세션 시간대 기준 (마이그레이션과 같게 date_trunc 로 계산)
+@Service
+public class SystemLogPartitionJob {
+    private static final Logger log = LoggerFactory.getLogger(SystemLogPartitionJob.class);
+
+    private static final int MONTHS_AHEAD = 2;
+    private static final Pattern PARTITION = Pattern.compile("system_log_p\\d{6}");
+
+    private static final String SELECT_MONTHS =
+            "select to_char(m, 'YYYYMM') as suffix, m::text as from_at, (m + interval '1 month')::text as to_at " +
+            "from generate_series(date_trunc('month', now()), date_trunc('month', now()) + make_interval(months => ?), " +
+            "                     interval '1 month') m";
+    private static final String SELECT_EXPIRED =
+            "select c.relname from pg_inherits i " +
+            "join pg_class c on c.oid = i.inhrelid join pg_class p on p.oid = i.inhparent " +
+            "where p.relname = 'system_log' and c.relname ~ '^system_log_p[0-9]{6}$' " +
+            "and substr(c.relname, 13) < to_char(date_trunc('month', now()) - make_interval(months => ?), 'YYYYMM') " +
+            "order by c.relname";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AppProperties appProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 3 * * *")
+    public void run() {
+        int created = createAhead();
+        int dropped = dropExpired(appProperties.getSystem_log_retention_months());
+        if (created > 0 || dropped > 0) {
+            log.info("system_log 파티션 생성 {}개, 삭제 {}개", created, dropped);
+        }
+    }
+
+    int createAhead() {
+        int created = 0;
+        List<String[]> months = jdbcTemplate.query(SELECT_MONTHS,
+                (rs, i) -> new String[]{rs.getString("suffix"), rs.getString("from_at"), rs.getString("to_at")}, MONTHS_AHEAD);
+        for (String[] month : months) {
+            String name = "system_log_p" + month[0];
+            if (exists(name)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("create table " + name + " partition of system_log for values from ('"
+                        + month[1] + "') to ('" + month[2] + "')");
+                created++;
+            } catch (DataAccessException e) {
+                // 기본 파티션에 이미 그 달 행이 있으면 만들 수 없다. 관리자가 옮긴 뒤 다음 실행에서 다시 시도
+                log.warn("system_log 파티션 {} 생성 실패: {}", name, e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    int dropExpired(int retentionMonths) {
+        if (retentionMonths <= 0) {
+            return 0;
+        }
+        List<String> expired = jdbcTemplate.queryForList(SELECT_EXPIRED, String.class, retentionMonths);
+        for (String name : expired) {
+            if (!PARTITION.matcher(name).matches()) {
+                continue;
+            }
+            jdbcTemplate.execute("alter table system_log detach partition " + name);
+            jdbcTemplate.execute("drop table " + name);
+        }
+        // 기본 파티션은 평소 비어 있어서 남은 옛 행만 지운다
+        jdbcTemplate.update("delete from system_log_default where occurred_at < date_trunc('month', now()) - make_interval(months => ?)",
+                retentionMonths);
+        return expired.size();
+    }
+
+    private boolean exists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, name));
+    }
+}
@@ -0,0 +1,279 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.config.exception.InvalidLockerStateException;
+import aise.legend_anabada.config.exception.InvalidTokenException;
+import aise.legend_anabada.config.exception.ServiceBusyException;
+import aise.legend_anabada.dto.response.LockerSensorDTO;
+import aise.legend_anabada.entity.LockerStatus;
+import aise.legend_anabada.util.TelemetryBatch;
+import aise.legend_anabada.util.TelemetryCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 사물함 센서 텔레메트리 수신 (형식은 TelemetryCodec)
+// - 값은 스레드마다 재사용하는 TelemetryBatch 에 읽고, 칸 번호로 배열에서 바로 찾는다 (값마다 객체를 만들지 않음)
+// - 하트비트와 같은 값이 반복되는 보고는 마지막 수신 시각만 갱신한다
+// - 문 열림/닫힘, 센서 오류, 네트워크 장애(OFFLINE_MILLIS 동안 수신 없음)가 바뀔 때만 system_log 에 남기고 SSE(sensor)로 알린다
+// - 앱으로 연 칸의 문이 닫혔다고 보고되면 CLOSED 로 전이하고 문 열림 감시를 끈다
+@Service
+public class TelemetryService {
+    private static final Logger log = LoggerFactory.getLogger(TelemetryService.class);
+
+    static final long OFFLINE_MILLIS = 30_000;
+    static final String SENSOR = "SENSOR";
+    static final String DOOR_OPENED = "DOOR_OPENED";
+    static final String DOOR_CLOSED = "DOOR_CLOSED";
+    static final String SENSOR_ERROR = "SENSOR_ERROR";
+    static final String SENSOR_OK = "SENSOR_OK";
+    static final String NETWORK_FAULT = "NETWORK_FAULT";
+    static final String NETWORK_RECOVERED = "NETWORK_RECOVERED";
+    private static final int UNKNOWN = -1;
+
+    @Autowired
+    private LockerStateMachine lockerStateMachine;
+    @Autowired
+    private DoorWatchdog doorWatchdog;
+    @Autowired
+    private SystemLogAppender systemLogAppender;
+    @Autowired
+    private EventBroadcaster eventBroadcaster;
+    @Autowired
+    private AppProperties appProperties;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ThreadLocal<TelemetryBatch> batches = ThreadLocal.withInitial(TelemetryBatch::new);
+    // 칸 번호 -> 센서 상태. 시작할 때 한 번 만든다
+    private volatile Sensor[] sensors;
+    private Counter readings;
+    private Counter coalesced;
+    private Counter rejected;
+
+    private static class Sensor {
+        final UUID lockerId;
+        final int lockerNum;
+        volatile long lastSeen;   // 서버 수신 시각 (장치 시계와 무관하게 장애 판단)
+        volatile int door = UNKNOWN;
+        volatile int error;
+        volatile boolean offline;
+        long doorAt;              // 마지막 변경의 장치 측정 시각. 늦게 도착한 옛 값은 버린다
+        long errorAt;
+
+        Sensor(UUID lockerId, int lockerNum) {
+            this.lockerId = lockerId;
+            this.lockerNum = lockerNum;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        readings = Counter.builder("telemetry.readings").description("수신한 센서 값").register(meterRegistry);
+        coalesced = Counter.builder("telemetry.coalesced").description("변경이 없어 합친 값").register(meterRegistry);
+        rejected = Counter.builder("telemetry.rejected").description("없는 칸/종류의 값").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2) // LockerStateMachine.rebuild 다음
+    public void index() {
+        List<LockerStateMachine.State> all = lockerStateMachine.getAll();
+        int max = 0;
+        for (LockerStateMachine.State state : all) {
+            if (state.lockerNum() != null) {
+                max = Math.max(max, state.lockerNum());
+            }
+        }
+        Sensor[] index = new Sensor[max + 1];
+        for (LockerStateMachine.State state : all) {
+            if (state.lockerNum() != null) {
+                index[state.lockerNum()] = new Sensor(state.lockerId(), state.lockerNum());
+            }
+        }
+        sensors = index;
+        log.info("센서 수신 대상 사물함 {}칸", all.size());
+    }
+
+    // 받은 값 개수
+    public int ingest(String deviceKey, InputStream body) throws IOException {
+        checkDeviceKey(deviceKey);
+        Sensor[] index = sensors;
+        if (index == null) {
+            throw new ServiceBusyException("사물함 상태를 불러오는 중입니다.");
+        }
+        TelemetryBatch batch = batches.get();
+        long receivedAt = System.currentTimeMillis();
+        int total = 0;
+        int changes = 0;
+        int unknown = 0;
+        int count;
+        while ((count = TelemetryCodec.decode(body, batch)) >= 0) {
+            for (int i = 0; i < count; i++) {
+                int lockerNum = batch.lockerNum[i];
+                Sensor sensor = lockerNum < index.length ? index[lockerNum] : null;
+                if (sensor == null) {
+                    unknown++;
+                    continue;
+                }
+                int result = apply(sensor, batch.kind[i], batch.value[i], batch.time[i], receivedAt);
+                if (result < 0) {
+                    unknown++;
+                } else {
+                    changes += result;
+                }
+            }
+            total += count;
+        }
+        readings.increment(total);
+        coalesced.increment(total - changes - unknown);
+        rejected.increment(unknown);
+        return total;
+    }
+
+    // 1 변경, 0 합침, -1 모르는 종류
+    private int apply(Sensor sensor, byte kind, byte value, long time, long receivedAt) {
+        if (sensor.lastSeen < receivedAt) {
+            sensor.lastSeen = receivedAt;
+        }
+        if (sensor.offline) {
+            changeOnline(sensor, false, receivedAt);
+        }
+        switch (kind) {
+            case TelemetryCodec.HEARTBEAT:
+                return 0;
+            case TelemetryCodec.DOOR:
+                int open = value == 0 ? 0 : 1;
+                return sensor.door == open ? 0 : changeDoor(sensor, open, time);
+            case TelemetryCodec.SENSOR_ERROR:
+                int error = value & 0xFF;
+                return sensor.error == error ? 0 : changeError(sensor, error, time);
+            default:
+                return -1;
+        }
+    }
+
+    private int changeDoor(Sensor sensor, int open, long time) {
+        synchronized (sensor) {
+            if (sensor.door == open || time < sensor.doorAt) {
+                return 0;
+            }
+            sensor.door = open;
+            sensor.doorAt = time;
+        }
+        OffsetDateTime at = toTime(time);
+        systemLogAppender.append(sensor.lockerId, null, open == 1 ? DOOR_OPENED : DOOR_CLOSED, SENSOR, at);
+        LockerStateMachine.State state = lockerStateMachine.get(sensor.lockerId);
+        if (open == 0 && state.status() == LockerStatus.OPEN
+                && (state.changedAt() == null || state.changedAt().isBefore(at))) {
+            try {
+                lockerStateMachine.transition(sensor.lockerId, LockerStatus.CLOSED, null);
+                doorWatchdog.disarm(sensor.lockerId);
+            } catch (InvalidLockerStateException e) {
+                // 그 사이 앱에서 닫았거나 고장 처리됨
+            }
+        } else if (open == 1 && state.status() != LockerStatus.OPEN) {
+            log.warn("{}번 사물함이 앱을 거치지 않고 열림 (상태 {})", sensor.lockerNum, state.status());
+        }
+        eventBroadcaster.publish("sensor", null, toDTO(sensor));
+        return 1;
+    }
+
+    private int changeError(Sensor sensor, int error, long time) {
+        synchronized (sensor) {
+            if (sensor.error == error || time < sensor.errorAt) {
+                return 0;
+            }
+            sensor.error = error;
+            sensor.errorAt = time;
+        }
+        if (error != 0) {
+            log.warn("{}번 사물함 센서 오류 {}", sensor.lockerNum, error);
+        }
+        systemLogAppender.append(sensor.lockerId, null, error != 0 ? SENSOR_ERROR + ":" + error : SENSOR_OK, SENSOR, toTime(time));
+        eventBroadcaster.publish("sensor", null, toDTO(sensor));
+        return 1;
+    }
+
+    private void changeOnline(Sensor sensor, boolean offline, long now) {
+        synchronized (sensor) {
+            if (sensor.offline == offline) {
+                return;
+            }
+            sensor.offline = offline;
+        }
+        if (offline) {
+            log.warn("{}번 사물함 센서 응답 없음", sensor.lockerNum);
+        }
+        systemLogAppender.append(sensor.lockerId, null, offline ? NETWORK_FAULT : NETWORK_RECOVERED, SENSOR, toTime(now));
+        eventBroadcaster.publish("sensor", null, toDTO(sensor));
+    }
+
+    // 한 번이라도 보고한 칸만 장애로 판단한다
+    @Scheduled(fixedRate = 5000)
+    public void sweep() {
+        sweep(System.currentTimeMillis());
+    }
+
+    void sweep(long now) {
+        Sensor[] index = sensors;
+        if (index == null) {
+            return;
+        }
+        for (Sensor sensor : index) {
+            if (sensor != null && !sensor.offline && sensor.lastSeen > 0 && now - sensor.lastSeen > OFFLINE_MILLIS) {
+                changeOnline(sensor, true, now);
+            }
+        }
+    }
+
+    public List<LockerSensorDTO> getSensors() {
+        Sensor[] index = sensors;
+        List<LockerSensorDTO> all = new ArrayList<>();
+        if (index != null) {
+            for (Sensor sensor : index) {
+                if (sensor != null) {
+                    all.add(toDTO(sensor));
+                }
+            }
+        }
+        return all;
+    }
+
+    private void checkDeviceKey(String deviceKey) {
+        String expected = appProperties.getDevice_key();
+        if (expected == null || expected.isBlank() || deviceKey == null
+                || !MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), deviceKey.getBytes(StandardCharsets.UTF_8))) {
+            throw new InvalidTokenException("장치 키가 올바르지 않습니다.");
+        }
+    }
+
+    private static LockerSensorDTO toDTO(Sensor sensor) {
+        int door = sensor.door;
+        long lastSeen = sensor.lastSeen;
+        return new LockerSensorDTO(sensor.lockerId, sensor.lockerNum, door == UNKNOWN ? null : door == 1,
+                sensor.error, !sensor.offline, lastSeen == 0 ? null : toTime(lastSeen));
+    }
+
+    private static OffsetDateTime toTime(long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,82 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.dto.projection.UserSnapshot;
+import aise.legend_anabada.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+// 이메일/ID -> UserSnapshot. 없는 사용자는 캐시하지 않는다.
+// 사용자 정보를 바꾸는 곳(인증, 수정, 탈퇴, 비밀번호 재해시)에서는 반드시 invalidate 호출
+@Component
+public class UserCache {
+    private static final int MAX_SIZE = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Cache<String, UserSnapshot> byEmail = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(TTL)
+            .recordStats()
+            .build();
+    private final Cache<UUID, UserSnapshot> byId = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(TTL)
+            .recordStats()
+            .build();
+
+    @PostConstruct
+    public void init() {
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "user.email");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "user.id");
+    }
+
+    // 없으면 null
+    public UserSnapshot getByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        UserSnapshot snapshot = byEmail.get(email, key -> userRepository.findSnapshotByEmail(key).orElse(null));
+        if (snapshot != null) {
+            byId.put(snapshot.getId(), snapshot);
+        }
+        return snapshot;
+    }
+
+    // 없으면 null
+    public UserSnapshot getById(UUID id) {
+        if (id == null) {
+            return null;
+        }
+        UserSnapshot snapshot = byId.get(id, key -> userRepository.findSnapshotById(key).orElse(null));
+        if (snapshot != null) {
+            byEmail.put(snapshot.getEmail(), snapshot);
+        }
+        return snapshot;
+    }
+
+    // email 은 이메일을 바꾼 경우 이전 이메일
+    public void invalidate(UUID id, String email) {
+        UserSnapshot cached = id == null ? null : byId.getIfPresent(id);
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+        if (cached != null) {
+            byEmail.invalidate(cached.getEmail());
+        }
+    }
+}
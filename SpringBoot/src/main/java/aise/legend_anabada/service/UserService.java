@@ -1,18 +1,22 @@
 package aise.legend_anabada.service;
 
 import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
 import aise.legend_anabada.config.exception.*;
 import aise.legend_anabada.dto.request.*;
+import aise.legend_anabada.dto.projection.UserSnapshot;
+import aise.legend_anabada.dto.response.CursorPageDTO;
 import aise.legend_anabada.dto.response.LoginDTO;
+import aise.legend_anabada.dto.response.PointStatementItemDTO;
 import aise.legend_anabada.util.JwtUtil;
 import aise.legend_anabada.dto.AuthResponse;
 import aise.legend_anabada.dto.Response;
 import aise.legend_anabada.entity.User;
 import aise.legend_anabada.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -20,24 +24,37 @@ import java.time.OffsetDateTime;
 import java.util.Date;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserService {
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private JavaMailSender mailSender;
+    private MailOutboxService mailOutboxService;
     @Autowired
     private AppProperties appProperties;
-
-    private final BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private AuthContext authContext;
+    @Autowired
+    private UserCache userCache;
+    @Autowired
+    private PasswordHashService passwordHashService;
+    @Autowired
+    private PointLedgerService pointLedgerService;
+    @Autowired
+    private PointStatementService pointStatementService;
 
     public Response<User> createUser(UserCreateRequest request) {
+        // 역할·인증 여부까지 그대로 받는 계정 생성이므로 관리자만
+        authContext.requireAdmin();
         User user = new User();
 
         user.setId(UUID.fromString(request.getUser_id()));
         user.setEmail(request.getEmail());
-        user.setPassword(bCryptPasswordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashService.encode(request.getPassword()));
         user.setStudentNumber(request.getStudent_number());
         user.setDepartment(request.getDepartment());
         user.setName(request.getName());
@@ -61,7 +78,7 @@ public class UserService {
         String password = request.getPassword();
         
         // 패스워드 암호화
-        String encodedPassword = bCryptPasswordEncoder.encode(password);
+        String encodedPassword = passwordHashService.encode(password);
         
         // 이메일 인증
         UUID uuid = UUID.randomUUID();
@@ -91,12 +108,12 @@ public class UserService {
     public Response<Void> authenticateUser(AuthRequest request) {
         String email = request.getEmail();
 
-        Optional<User> user = userRepository.findByEmail(email);
-        if (user.isEmpty()){
+        UserSnapshot user = userCache.getByEmail(email);
+        if (user == null){
             throw new InvalidEmailException("이메일이 존재하지 않거나, 회원가입이 필요합니다.");
         }
 
-        String token = user.get().getId().toString();
+        String token = user.getId().toString();
 
         sendMail(email, token);
 
@@ -109,11 +126,8 @@ public class UserService {
         String verificationUrl = appProperties.getBase_url() + "/api/user/verify?token=" + token;
         String message = "아래 링크를 클릭하여 이메일을 인증하세요:\n" + verificationUrl;
 
-        SimpleMailMessage mail = new SimpleMailMessage();
-        mail.setTo(email);
-        mail.setSubject(subject);
-        mail.setText(message);
-        mailSender.send(mail);
+        // 바로 보내지 않고 outbox 에 넣는다. 같은 주소로 연달아 요청하면 한 번만 보냄
+        mailOutboxService.enqueue(email, subject, message, "verify:" + email);
     }
 
     public Response<Void> verifyEmail(String token) {
@@ -132,39 +146,59 @@ public class UserService {
 
         user_.setVerify(true);
         userRepository.save(user_);
+        userCache.invalidate(user_.getId(), user_.getEmail());
 
         return new Response<Void>(true, "인증 성공", null);
     }
 
-    public AuthResponse<LoginDTO> loginUser(LoginRequest request) {
+    public CompletableFuture<AuthResponse<LoginDTO>> loginUser(LoginRequest request) {
         // 로그인은 이메일(ID)과 비밀번호를 입력하여 시스템에 대조하고, 일치할 경우 접속을 허용한다.
         String email = request.getEmail();
         String password = request.getPassword();
 
-        Optional<User> user = userRepository.findByEmail(email);
+        UserSnapshot user_ = userCache.getByEmail(email);
 
-        if (user.isEmpty()) {
+        if (user_ == null) {
             throw new InvalidEmailException("이메일이 존재하지 않거나 회원가입이 필요합니다.");
         }
 
-        User user_ = user.get();
+        // 비밀번호 검증 (passwordExecutor 에서 실행, 요청 스레드는 바로 반환)
+        return passwordHashService.matchesAsync(password, user_.getPassword())
+                .thenApply(matched -> {
+                    if (!matched) {
+                        throw new InvalidPasswordException("비밀번호가 올바르지 않습니다.");
+                    }
+                    if (passwordHashService.needsRehash(user_.getPassword())) {
+                        rehash(user_, password);
+                    }
+
+                    // 로그인 성공
+                    String token = JwtUtil.generateToken(email);
+                    return new AuthResponse<LoginDTO>(true, token, "로그인 성공", new LoginDTO(email));
+                });
+    }
 
-        // 비밀번호 검증
-        if (!bCryptPasswordEncoder.matches(password, user_.getPassword())) {
-            throw new InvalidPasswordException("비밀번호가 올바르지 않습니다.");
+    // 설정된 cost 로 다시 해시. 실패해도 로그인에는 영향 없음
+    private void rehash(UserSnapshot user, String password) {
+        try {
+            passwordHashService.encodeAsync(password)
+                    .thenAccept(hash -> {
+                        userRepository.updatePassword(user.getId(), hash);
+                        userCache.invalidate(user.getId(), user.getEmail());
+                    })
+                    .exceptionally(e -> {
+                        log.warn("비밀번호 재해시 실패 user={}: {}", user.getId(), e.getMessage());
+                        return null;
+                    });
+        } catch (ServiceBusyException e) {
+            // 바쁠 때는 다음 로그인으로 미룬다
         }
-
-        // 로그인 성공
-        String token = JwtUtil.generateToken(email);
-        return new AuthResponse<LoginDTO>(true, token, "로그인 성공", new LoginDTO(email));
     }
 
-    public AuthResponse<Void> editUser(String token, UserEditRequest request) {
+    public AuthResponse<Void> editUser(UserEditRequest request) {
         // 사용자는 개인정보(이름, 학과, 이메일)를 수정할 수 있다.
-        if(!JwtUtil.validateToken(token)) {
-            throw new ExpiredTokenException("인증 만료됨");
-        }
-        String email = JwtUtil.getEmailFromToken(token);
+        authContext.require();
+        String token = authContext.getToken();
 
         // TODO
 
@@ -177,12 +211,35 @@ public class UserService {
 
     public void requestAccountDeletion(String email, String sessionId) {
         // 계정 탈퇴 요청 시, 진행 중인 거래가 없을 경우에만 탈퇴가 가능하다.
+        UserSnapshot user = userCache.getByEmail(email);
+        if (user == null) {
+            return;
+        }
+        // 탈퇴한 계정이 캐시에 남아 로그인/인증을 통과하지 않도록
+        userCache.invalidate(user.getId(), email);
     }
 
-    public void managePoints(String email, String sessionId) {
+    public Response<Integer> managePoints(UUID userId, int amount) {
         // 사용자의 포인트는 교재 기부 및 이벤트로 적립되며, 예약·대여·연체 시 차감된다.
         // 포인트는 충전 및 소멸이 가능하며, 24개월 미사용 시 자동 소멸되고 소멸 30일 전 고지된다.
         // 포인트 내역은 사용자 본인과 관리자가 모두 열람할 수 있다.
+        // 충전은 결제를 확인한 관리자만 대상 사용자를 지정해 처리한다.
+        authContext.requireAdmin();
+        if (amount <= 0) {
+            throw new IllegalArgumentException("충전할 포인트는 0보다 커야 합니다.");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("존재하지 않는 사용자입니다.");
+        }
+
+        int balance = pointLedgerService.apply(userId, amount, PointLedgerService.CHARGE);
+        return new Response<>(true, amount + " 포인트가 충전되었습니다.", balance);
+    }
 
+    public Response<CursorPageDTO<PointStatementItemDTO>> getPointStatement(String cursor, int size) {
+        // 최신순 포인트 내역과 각 내역 직후의 잔액
+        AuthPrincipal principal = authContext.require();
+        CursorPageDTO<PointStatementItemDTO> page = pointStatementService.getStatement(principal.getUserId(), cursor, size);
+        return new Response<>(true, "포인트 내역 조회 완료", page);
     }
 }
@@ -0,0 +1,54 @@
+package aise.legend_anabada.util;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class AsyncUtil {
+    // keys 마다 call 을 호출하되 동시에 maxConcurrency 개까지만 진행. 하나가 끝나면 다음을 시작한다.
+    // 실패했거나 null 을 돌려준 항목은 결과에서 빠진다.
+    public static <K, V> CompletableFuture<Map<K, V>> boundedAll(Collection<K> keys,
+                                                              Function<K, CompletableFuture<V>> call,
+                                                              int maxConcurrency) {
+        List<K> jobs = new ArrayList<>(keys);
+        Map<K, V> results = Collections.synchronizedMap(new HashMap<>());
+        CompletableFuture<Map<K, V>> done = new CompletableFuture<>();
+        if (jobs.isEmpty()) {
+            done.complete(results);
+            return done;
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(jobs.size());
+        for (int i = 0; i < Math.min(maxConcurrency, jobs.size()); i++) {
+            launch(jobs, call, next, remaining, results, done);
+        }
+        return done;
+    }
+
+    private static <K, V> void launch(List<K> jobs, Function<K, CompletableFuture<V>> call, AtomicInteger next,
+                                      AtomicInteger remaining, Map<K, V> results, CompletableFuture<Map<K, V>> done) {
+        int index = next.getAndIncrement();
+        if (index >= jobs.size()) {
+            return;
+        }
+        K key = jobs.get(index);
+        CompletableFuture<V> future;
+        try {
+            future = call.apply(key);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            if (error == null && value != null) {
+                results.put(key, value);
+            }
+            if (remaining.decrementAndGet() == 0) {
+                done.complete(results);
+            } else {
+                launch(jobs, call, next, remaining, results, done);
+            }
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package aise.legend_anabada.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// 연속 실패가 failureThreshold 번 나면 OPEN. openMillis 가 지나면 HALF_OPEN 으로 요청 하나만 시험해 보고
+// 성공하면 CLOSED, 실패하면 다시 OPEN.
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Consumer<State> onTransition;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMillis, Consumer<State> onTransition) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.onTransition = onTransition;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                return false;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                onTransition.accept(State.HALF_OPEN);
+            }
+        }
+        // HALF_OPEN: 시험 요청은 하나만
+        return probing.compareAndSet(false, true);
+    }
+
+    public void onSuccess() {
+        failures.set(0);
+        State previous = state.getAndSet(State.CLOSED);
+        probing.set(false);
+        if (previous != State.CLOSED) {
+            onTransition.accept(State.CLOSED);
+        }
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || failures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            State previous = state.getAndSet(State.OPEN);
+            probing.set(false);
+            if (previous != State.OPEN) {
+                onTransition.accept(State.OPEN);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package aise.legend_anabada.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+// (registeredAt, id) 키셋 커서. 클라이언트에는 base64 문자열로만 노출한다.
+public class CursorUtil {
+    public record Keyset(OffsetDateTime registeredAt, UUID id) {
+        public long micros() {
+            return toMicros(registeredAt);
+        }
+    }
+
+    public static String encode(OffsetDateTime registeredAt, UUID id) {
+        String raw = toMicros(registeredAt) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 비어 있거나 잘못된 커서는 첫 페이지로 취급
+    public static Keyset decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return parse(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    // "micros:uuid"
+    private static Keyset parse(String raw) {
+        int colon = raw.indexOf(':');
+        long micros = Long.parseLong(raw.substring(0, colon));
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1000L);
+        return new Keyset(instant.atOffset(ZoneOffset.UTC), UUID.fromString(raw.substring(colon + 1)));
+    }
+
+    public static long toMicros(OffsetDateTime time) {
+        if (time == null) {
+            return 0L;
+        }
+        Instant instant = time.toInstant();
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1000;
+    }
+}
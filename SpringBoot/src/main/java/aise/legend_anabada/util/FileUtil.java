@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.UUID;
 
 @Component
 public class FileUtil {
@@ -24,4 +25,16 @@ public class FileUtil {
         file.transferTo(path.toFile());
         return path.toString();
     }
-}
\ No newline at end of file
+
+    // 업로드 원본을 임시 폴더로 옮겨둔다. (디스크에 있던 멀티파트 파일이면 이동만 일어남)
+    public Path stage(MultipartFile file, UUID bookId, int index) throws IOException {
+        Path path = resolve("/.staging/" + bookId + "/" + index);
+        Files.createDirectories(path.getParent());
+        file.transferTo(path);
+        return path;
+    }
+
+    public Path resolve(String fileName) {
+        return Paths.get(appProperties.getUpload_dir() + fileName);
+    }
+}
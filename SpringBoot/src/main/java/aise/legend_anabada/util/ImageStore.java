@@ -0,0 +1,95 @@
+package aise.legend_anabada.util;
+
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// 원본 SHA-256 기준으로 저장하는 이미지 저장소.
+// upload_dir/cas/ab/<hash>/w160.jpg, w480.jpg, w1080.jpg, w1600.jpg
+// 같은 사진이 다시 올라오면 파생 이미지를 새로 만들지 않는다.
+@Component
+public class ImageStore {
+    public static final int[] WIDTHS = {160, 480, 1080};
+    public static final int FULL_WIDTH = 1600;
+
+    private static final float THUMBNAIL_QUALITY = 0.8f;
+    private static final float FULL_QUALITY = 0.85f;
+
+    private final FileUtil fileUtil;
+
+    public ImageStore(FileUtil fileUtil) {
+        this.fileUtil = fileUtil;
+    }
+
+    public String put(Path original) throws IOException {
+        String hash = sha256(original);
+        if (Files.exists(path(hash, FULL_WIDTH))) {
+            return hash;
+        }
+
+        BufferedImage image = ImageUtil.read(original);
+        if (image == null) {
+            throw new IOException("지원하지 않는 이미지 형식");
+        }
+        for (int width : WIDTHS) {
+            write(ImageUtil.resize(image, width), path(hash, width), THUMBNAIL_QUALITY);
+        }
+        // 원본 크기 파일은 마지막에 써서 "저장 완료" 표시로 쓴다.
+        write(ImageUtil.resize(image, FULL_WIDTH), path(hash, FULL_WIDTH), FULL_QUALITY);
+        return hash;
+    }
+
+    public Path path(String hash, int width) {
+        return root().resolve(hash.substring(0, 2)).resolve(hash).resolve("w" + width + ".jpg");
+    }
+
+    public Path root() {
+        return fileUtil.resolve("/cas");
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && value.matches("[0-9a-f]{64}");
+    }
+
+    public static boolean isWidth(int width) {
+        if (width == FULL_WIDTH) {
+            return true;
+        }
+        for (int w : WIDTHS) {
+            if (w == width) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 쓰는 도중인 파일이 서빙되지 않도록 임시 파일에 쓴 뒤 이동
+    private static void write(BufferedImage image, Path target, float quality) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "w", ".tmp");
+        ImageUtil.writeJpeg(image, temp, quality);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String sha256(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package aise.legend_anabada.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+public class ImageUtil {
+    private static final int EXIF_ORIENTATION = 0x0112;
+    // 디코딩하면 픽셀당 4바이트를 쓴다. 4천만 화소(약 160MB)를 넘는 사진은 받지 않는다.
+    static final long MAX_PIXELS = 40_000_000L;
+
+    // 이미지가 아니면 null. 다시 인코딩하면 EXIF 가 빠지므로 Orientation 태그대로 미리 돌려 둔다.
+    // 작은 파일이 거대한 크기를 선언하는 압축 폭탄을 막기 위해 헤더의 가로/세로부터 확인한다.
+    public static BufferedImage read(Path path) throws IOException {
+        BufferedImage image;
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > MAX_PIXELS) {
+                    throw new IOException("사진이 너무 큽니다: " + width + "x" + height);
+                }
+                image = reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+        return orient(image, readOrientation(path));
+    }
+
+    // EXIF Orientation (1~8). JPEG 가 아니거나 태그가 없으면 1
+    static int readOrientation(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return 1; // 이미지 데이터 시작 전까지 APP1 이 없음
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker != 0xFFE1) {
+                    in.skipNBytes(length);
+                    continue;
+                }
+                byte[] segment = new byte[length];
+                in.readFully(segment);
+                int orientation = parseOrientation(segment);
+                if (orientation > 0) {
+                    return orientation;
+                }
+            }
+        } catch (EOFException e) {
+            return 1;
+        }
+    }
+
+    // APP1 세그먼트: "Exif\0\0" + TIFF 헤더 + IFD0. 없으면 0
+    private static int parseOrientation(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+            return 0;
+        }
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                return 0;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == EXIF_ORIENTATION) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    // 저장된 픽셀을 Orientation 대로 보이는 방향으로 돌린다 (5~8 은 가로세로가 바뀜)
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);  // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h); // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);  // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);   // 대각 반전
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);  // 시계 방향 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);  // 반시계 방향 90도
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+        boolean swap = orientation >= 5;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, target.getWidth(), target.getHeight());
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    // 가로가 maxWidth 보다 크면 비율 유지하며 축소. JPEG 로 쓰기 위해 항상 RGB 로 변환한다.
+    public static BufferedImage resize(BufferedImage source, int maxWidth) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (width > maxWidth) {
+            height = Math.max(1, (int) Math.round((double) height * maxWidth / width));
+            width = maxWidth;
+        }
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    // 픽셀만 다시 인코딩하므로 EXIF(위치 정보 등) 메타데이터는 남지 않는다. (방향은 read 에서 반영)
+    public static void writeJpeg(BufferedImage image, Path path, float quality) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.deleteIfExists(path); // ImageOutputStream 은 기존 파일을 잘라내지 않음
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(path.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package aise.legend_anabada.util;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.dto.response.PredictResultDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// OCR + YOLO 서버(YOLOCR/app.py) 비동기 클라이언트.
+// 요청을 보내는 동안 스레드를 붙잡지 않는다 (java.net.http 비동기 API).
+@Component
+public class InferenceClient {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // CPU EasyOCR 은 수 초 걸림. InferenceGateway 의 호출 시간 제한이 이 값보다 길어야 한다
+    public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final AppProperties appProperties;
+    private final HttpClient httpClient;
+
+    public InferenceClient(AppProperties appProperties) {
+        this.appProperties = appProperties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    // YOLOCR /predict : OCR + 손상 예측
+    public CompletableFuture<PredictResultDTO> predict(UUID bookId, String imageUrl) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("uuid", bookId.toString());
+        body.put("image_url", imageUrl);
+        body.put("table_name", "book");
+        return post(appProperties.getAi_url() + "/predict", body);
+    }
+
+    // OCR /process-simple : 제목, 저자, 출판사만 (손상 등급 없음).
+    // /process 는 결과를 Supabase 에 INSERT 하므로 쓰지 않는다.
+    public CompletableFuture<PredictResultDTO> process(String imageUrl) {
+        return post(appProperties.getOcr_url() + "/process-simple", Map.of("image_url", imageUrl));
+    }
+
+    // 이미지 다운로드 실패 등은 {"error": ...} 만 온다. (DB 갱신 실패 error 는 무시)
+    public static boolean isValid(PredictResultDTO result) {
+        return result != null && (result.getTitle() != null || result.getConditionGrade() != null);
+    }
+
+    private CompletableFuture<PredictResultDTO> post(String url, Map<String, String> body) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new CompletionException(new IOException(url + " 실패: HTTP " + response.statusCode()));
+                    }
+                    try {
+                        return MAPPER.readValue(response.body(), PredictResultDTO.class);
+                    } catch (JsonProcessingException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+}
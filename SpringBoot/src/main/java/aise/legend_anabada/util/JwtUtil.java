@@ -1,14 +1,30 @@
 package aise.legend_anabada.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 
 public class JwtUtil {
     private static final SecretKey key = Jwts.SIG.HS256.key().build();
     private static final long EXPIRATION = 1000 * 60 * 30; // 30분
+    private static final long REFRESH_BEFORE = EXPIRATION / 2; // 남은 시간이 이보다 짧으면 새로 발급
+
+    // JwtParser 는 불변이라 여러 스레드에서 같이 써도 된다.
+    private static final JwtParser parser = Jwts.parser().verifyWith(key).build();
+
+    // 토큰 -> 검증된 claims. 토큰의 exp 가 지나면 같이 사라진다.
+    private static final Cache<String, Claims> claimsCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfter(Expiry.creating((String token, Claims claims) -> remaining(claims)))
+            .build();
 
     public static String generateToken(String email) {
         return Jwts.builder()
@@ -19,17 +35,45 @@ public class JwtUtil {
                 .compact();
     }
 
+    // 유효하지 않은 토큰이면 null
+    public static Claims getClaims(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return claimsCache.get(token, t -> parser.parseSignedClaims(t).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public static String getEmailFromToken(String token) {
-        return Jwts.parser().verifyWith(key).build()
-                .parseSignedClaims(token).getPayload().getSubject();
+        Claims claims = getClaims(token);
+        if (claims == null) {
+            throw new JwtException("유효하지 않은 토큰");
+        }
+        return claims.getSubject();
     }
 
     public static boolean validateToken(String token) {
-        try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+        return getClaims(token) != null;
+    }
+
+    // 만료가 가까운 토큰만 새로 발급하고, 아니면 받은 토큰을 그대로 돌려준다.
+    public static String refreshToken(String token) {
+        Claims claims = getClaims(token);
+        if (claims == null) {
+            throw new JwtException("유효하지 않은 토큰");
         }
+        if (remaining(claims).toMillis() > REFRESH_BEFORE) {
+            return token;
+        }
+        return generateToken(claims.getSubject());
+    }
+
+    private static Duration remaining(Claims claims) {
+        Date expiration = claims.getExpiration();
+        long millis = expiration == null ? EXPIRATION : expiration.getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, millis));
     }
 }
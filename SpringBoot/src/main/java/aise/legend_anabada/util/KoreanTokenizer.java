@@ -0,0 +1,97 @@
+package aise.legend_anabada.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+public class KoreanTokenizer {
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    // 초성 토큰은 일반 토큰과 섞이지 않도록 구분자를 붙인다.
+    private static final char CHOSUNG_MARK = '\u0001';
+
+    // 소문자 + NFC 정규화, 문자/숫자 외에는 공백으로 치환
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String s = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean space = true;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    // "자료구조" -> "ㅈㄹㄱㅈ"
+    public static String toChosung(String normalized) {
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                sb.append(CHOSUNG[(c - 0xAC00) / 588]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static boolean isChosungOnly(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'ㄱ' || c > 'ㅎ') {
+                return false;
+            }
+        }
+        return !word.isEmpty();
+    }
+
+    // 색인용 토큰: 단어별 1-gram, 2-gram + 초성 1-gram, 2-gram
+    public static Set<String> indexTokens(String normalized) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            addGrams(tokens, word, "", true);
+            addGrams(tokens, toChosung(word), String.valueOf(CHOSUNG_MARK), true);
+        }
+        return tokens;
+    }
+
+    // 검색어 토큰: 1글자 단어는 1-gram, 그 외는 2-gram. 초성만 입력하면 초성 토큰으로 찾는다.
+    public static Set<String> queryTokens(String normalizedKeyword) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : normalizedKeyword.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String prefix = isChosungOnly(word) ? String.valueOf(CHOSUNG_MARK) : "";
+            addGrams(tokens, word, prefix, word.length() == 1);
+        }
+        return tokens;
+    }
+
+    private static void addGrams(Set<String> tokens, String word, String prefix, boolean unigram) {
+        for (int i = 0; i < word.length(); i++) {
+            if (unigram) {
+                tokens.add(prefix + word.charAt(i));
+            }
+            if (i + 1 < word.length()) {
+                tokens.add(prefix + word.substring(i, i + 2));
+            }
+        }
+    }
+}
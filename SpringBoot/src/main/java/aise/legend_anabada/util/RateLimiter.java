@@ -0,0 +1,24 @@
+package aise.legend_anabada.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 초당 permitsPerSecond 개를 넘지 않도록 차례대로 시각을 배정한다.
+// 기다리지 않고 "이 시각에 보내라" 만 돌려주므로, 예약 발송(mail_outbox.next_attempt_at 등)에 쓴다.
+public class RateLimiter {
+    private final long intervalMicros;
+    private final AtomicLong nextMicros = new AtomicLong();
+
+    public RateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.intervalMicros = Math.max(1, (long) (1_000_000 / permitsPerSecond));
+    }
+
+    // 다음 허용 시각 (epoch millis). 밀린 것이 없으면 지금.
+    public long reserve() {
+        long now = System.currentTimeMillis() * 1000;
+        long slot = nextMicros.getAndAccumulate(now, (next, current) -> Math.max(next, current) + intervalMicros);
+        return Math.max(slot, now) / 1000;
+    }
+}
@@ -0,0 +1,60 @@
+package aise.legend_anabada.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// 고정 크기 링 버퍼. 여러 스레드가 offer 하고 한 스레드만 drain 한다. 락 없이 CAS 로 자리를 잡는다.
+// 가득 차면 기다리지 않고 false (호출한 요청 스레드를 막지 않음)
+public class RingBuffer<T> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLong tail = new AtomicLong(); // 다음에 넣을 위치
+    private volatile long head;                        // 다음에 꺼낼 위치 (소비 스레드만 쓴다)
+
+    public RingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 는 2의 거듭제곱");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public boolean offer(T item) {
+        while (true) {
+            long t = tail.get();
+            if (t - head >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) (t & mask), item);
+                return true;
+            }
+        }
+    }
+
+    // 소비 스레드 하나에서만 호출. 자리만 잡고 아직 넣지 않은 칸을 만나면 거기서 멈춘다 (순서 유지)
+    public int drain(Consumer<T> consumer, int max) {
+        long h = head;
+        int n = 0;
+        while (n < max) {
+            int index = (int) (h & mask);
+            T item = slots.get(index);
+            if (item == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            consumer.accept(item);
+            h++;
+            n++;
+        }
+        head = h;
+        return n;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
@@ -0,0 +1,18 @@
+package aise.legend_anabada.util;
+
+import java.util.Locale;
+
+public class SchoolUtil {
+    // 학교 구분은 학교 이메일 도메인으로 한다. (ex. abc@kumoh.ac.kr -> kumoh.ac.kr)
+    public static String fromEmail(String email) {
+        if (email == null) {
+            return "";
+        }
+        int at = email.lastIndexOf('@');
+        return normalize(at < 0 ? email : email.substring(at + 1));
+    }
+
+    public static String normalize(String schoolId) {
+        return schoolId == null ? "" : schoolId.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,93 @@
+package aise.legend_anabada.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 빈 칸 비트맵. 비트가 1 이면 배정 가능. 64칸씩 한 word 에 담고 CAS 로 비트를 떼어 간다 (락 없음)
+// - acquire 는 스레드마다 다른 word 에서 찾기 시작해 같은 word 를 두고 다투는 일을 줄인다
+// - 한 word 안에서는 numberOfTrailingZeros 로 바로 찾는다 (칸이 수천 개여도 word 몇십 개)
+public class SlotBitmap {
+    private final int size;
+    private final AtomicLongArray words;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public SlotBitmap(int size) {
+        this.size = size;
+        this.words = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 빈 칸 하나를 떼어 간다. 없으면 -1
+    public int acquire() {
+        int count = words.length();
+        if (count == 0) {
+            return -1;
+        }
+        int start = Math.floorMod(cursor.getAndIncrement(), count);
+        for (int n = 0; n < count; n++) {
+            int w = start + n < count ? start + n : start + n - count;
+            long bits;
+            while ((bits = words.get(w)) != 0) {
+                long lowest = bits & -bits;
+                if (words.compareAndSet(w, bits, bits & ~lowest)) {
+                    return (w << 6) + Long.numberOfTrailingZeros(lowest);
+                }
+            }
+        }
+        return -1;
+    }
+
+    // 빈 칸으로 되돌린다. 이미 비어 있었으면 false
+    public boolean release(int slot) {
+        check(slot);
+        long bit = 1L << slot;
+        int w = slot >>> 6;
+        while (true) {
+            long bits = words.get(w);
+            if ((bits & bit) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(w, bits, bits | bit)) {
+                return true;
+            }
+        }
+    }
+
+    // 배정 대상에서 뺀다 (고장 등). 이미 빠져 있었으면 false
+    public boolean remove(int slot) {
+        check(slot);
+        long bit = 1L << slot;
+        int w = slot >>> 6;
+        while (true) {
+            long bits = words.get(w);
+            if ((bits & bit) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(w, bits, bits & ~bit)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean isFree(int slot) {
+        check(slot);
+        return (words.get(slot >>> 6) & (1L << slot)) != 0;
+    }
+
+    public int freeCount() {
+        int free = 0;
+        for (int i = 0; i < words.length(); i++) {
+            free += Long.bitCount(words.get(i));
+        }
+        return free;
+    }
+
+    private void check(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException(slot);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package aise.legend_anabada.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// 키마다 락을 만들지 않고 고정 개수의 락을 나눠 쓴다. 같은 키는 항상 같은 락.
+public class StripedLock {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    // stripes 는 2의 거듭제곱으로 올림
+    public StripedLock(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock get(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16); // HashMap 과 같은 방식으로 상위 비트를 섞음
+        return locks[h & mask];
+    }
+
+    public <T> T withLock(Object key, Supplier<T> action) {
+        ReentrantLock lock = get(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
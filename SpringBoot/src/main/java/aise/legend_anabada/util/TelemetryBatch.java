@@ -0,0 +1,15 @@
+package aise.legend_anabada.util;
+
+import java.nio.ByteBuffer;
+
+// 센서 값 묶음. 값마다 객체를 만들지 않도록 배열에 나눠 담고, 스레드마다 하나를 계속 다시 쓴다.
+public class TelemetryBatch {
+    public final int[] lockerNum = new int[TelemetryCodec.MAX_READINGS];
+    public final long[] time = new long[TelemetryCodec.MAX_READINGS];
+    public final byte[] kind = new byte[TelemetryCodec.MAX_READINGS];
+    public final byte[] value = new byte[TelemetryCodec.MAX_READINGS];
+    public int size;
+
+    final byte[] buffer = new byte[TelemetryCodec.MAX_READINGS * TelemetryCodec.READING_BYTES];
+    final ByteBuffer view = ByteBuffer.wrap(buffer); // big endian
+}
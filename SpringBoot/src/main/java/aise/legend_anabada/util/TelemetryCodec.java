@@ -0,0 +1,66 @@
+package aise.legend_anabada.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+// 사물함 센서 텔레메트리 바이너리 형식 (big endian)
+// 프레임 = 헤더 5바이트 [magic 'L''T'][version 1][count u16] + 값 count 개
+// 값 12바이트 = [locker_num u16][측정 시각 epoch millis i64][kind u8][value u8]
+// 요청 본문에는 프레임을 여러 개 이어 붙일 수 있다.
+public class TelemetryCodec {
+    public static final short MAGIC = 0x4C54;
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = 5;
+    public static final int READING_BYTES = 12;
+    public static final int MAX_READINGS = 4096;
+
+    public static final byte HEARTBEAT = 0;
+    public static final byte DOOR = 1;          // value 0 닫힘, 1 열림
+    public static final byte SENSOR_ERROR = 2;  // value 0 정상, 그 외 오류 코드
+
+    // 다음 프레임을 batch 에 읽는다. 본문이 끝났으면 -1, 형식이 틀리면 IllegalArgumentException
+    public static int decode(InputStream in, TelemetryBatch batch) throws IOException {
+        byte[] buffer = batch.buffer;
+        int header = in.readNBytes(buffer, 0, HEADER_BYTES);
+        if (header == 0) {
+            return -1;
+        }
+        ByteBuffer view = batch.view;
+        if (header != HEADER_BYTES || view.getShort(0) != MAGIC || buffer[2] != VERSION) {
+            throw new IllegalArgumentException("잘못된 텔레메트리 헤더");
+        }
+        int count = view.getShort(3) & 0xFFFF;
+        if (count > MAX_READINGS) {
+            throw new IllegalArgumentException("한 프레임에 최대 " + MAX_READINGS + "개");
+        }
+        int length = count * READING_BYTES;
+        if (in.readNBytes(buffer, 0, length) != length) {
+            throw new IllegalArgumentException("텔레메트리 프레임이 잘렸습니다.");
+        }
+        for (int i = 0, offset = 0; i < count; i++, offset += READING_BYTES) {
+            batch.lockerNum[i] = view.getShort(offset) & 0xFFFF;
+            batch.time[i] = view.getLong(offset + 2);
+            batch.kind[i] = buffer[offset + 10];
+            batch.value[i] = buffer[offset + 11];
+        }
+        batch.size = count;
+        return count;
+    }
+
+    // 장치/부하 생성기용
+    public static byte[] encode(int[] lockerNum, long[] time, byte[] kind, byte[] value, int count) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int start = 0; start < count; start += MAX_READINGS) {
+            int n = Math.min(MAX_READINGS, count - start);
+            ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + n * READING_BYTES);
+            frame.putShort(MAGIC).put(VERSION).putShort((short) n);
+            for (int i = start; i < start + n; i++) {
+                frame.putShort((short) lockerNum[i]).putLong(time[i]).put(kind[i]).put(value[i]);
+            }
+            out.writeBytes(frame.array());
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package aise.legend_anabada.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// 계층형 타이밍 휠. 만료 예정 작업을 만료 시각별 칸에 넣어 두고, 틱마다 해당 칸만 꺼낸다.
+// - 0단계: 한 칸 = tickMillis, 1단계: 한 칸 = tickMillis * size, ...
+// - 상위 단계 칸이 돌아오면 그 안의 작업을 아래 단계로 다시 나눠 넣는다.
+// 등록/취소는 O(1), 틱 처리는 그 틱에 만료되는 작업 수에 비례한다.
+// 같은 key 로 다시 등록하면 이전 등록은 취소된다.
+public class TimingWheel<K> {
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final ArrayDeque<Entry<K>>[][] buckets;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+
+    private static final class Entry<K> {
+        final K key;
+        final long tick;
+        boolean cancelled;
+
+        Entry(K key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+    }
+
+    // 예: tickMillis=1000, bits=6, levels=4 → 1초 단위, 64^4 초(약 194일)까지
+    @SuppressWarnings({"unchecked", "rawtypes"}) // 제네릭 배열은 raw 로만 만들 수 있다
+    public TimingWheel(long tickMillis, int bits, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.levels = levels;
+        this.buckets = new ArrayDeque[levels][1 << bits];
+        for (int level = 0; level < levels; level++) {
+            for (int i = 0; i <= mask; i++) {
+                buckets[level][i] = new ArrayDeque<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Entry<K> previous = entries.remove(key);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        // 이미 지난 시각이면 다음 틱에 만료
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Entry<K> entry = new Entry<>(key, tick);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancelled = true; // 칸에서는 꺼낼 때 버린다
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // nowMillis 까지 틱을 진행하고 만료된 key 를 onExpire 로 넘긴다. (콜백은 락 밖에서 호출)
+    public void advance(long nowMillis, Consumer<K> onExpire) {
+        List<K> expired = new ArrayList<>();
+        synchronized (this) {
+            long target = nowMillis / tickMillis;
+            while (currentTick < target) {
+                currentTick++;
+                cascade();
+                ArrayDeque<Entry<K>> bucket = buckets[0][(int) (currentTick & mask)];
+                Entry<K> entry;
+                while ((entry = bucket.poll()) != null) {
+                    if (!entry.cancelled) {
+                        entries.remove(entry.key);
+                        expired.add(entry.key);
+                    }
+                }
+            }
+        }
+        for (K key : expired) {
+            onExpire.accept(key);
+        }
+    }
+
+    // 상위 단계 칸의 경계에 도달했으면 그 칸을 아래 단계로 내려보낸다.
+    private void cascade() {
+        for (int level = 1; level < levels; level++) {
+            long span = 1L << (bits * level);
+            if ((currentTick & (span - 1)) != 0) {
+                return;
+            }
+            ArrayDeque<Entry<K>> bucket = buckets[level][(int) ((currentTick >>> (bits * level)) & mask)];
+            List<Entry<K>> moving = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Entry<K> entry : moving) {
+                if (!entry.cancelled) {
+                    place(entry);
+                }
+            }
+        }
+    }
+
+    private void place(Entry<K> entry) {
+        long delta = Math.max(0, entry.tick - currentTick);
+        int level = 0;
+        while (level < levels - 1 && delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        long tick = entry.tick;
+        long range = 1L << (bits * (level + 1));
+        if (delta >= range) {
+            // 최상위 단계보다 먼 작업은 가장 먼 칸에 두었다가 내려올 때 다시 배치
+            tick = currentTick + range - 1;
+        }
+        buckets[level][(int) ((tick >>> (bits * level)) & mask)].add(entry);
+    }
+}
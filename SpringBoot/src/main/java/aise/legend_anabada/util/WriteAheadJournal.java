@@ -0,0 +1,163 @@
+package aise.legend_anabada.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// 로컬 파일 선기록 저널. append 가 반환되면 디스크에 남아 있다 (fsync).
+// - 레코드 = [길이 i32][CRC32C i32][내용]. 열 때 끝부분이 잘렸거나 CRC 가 맞지 않으면 그 앞까지만 남긴다
+// - 동시에 들어온 append 는 fsync 한 번으로 묶는다 (먼저 잡은 스레드가 그때까지 쓴 것을 모두 force)
+// - 다른 곳(DB)으로 옮긴 위치는 <파일>.offset 에 남기고, 전부 옮겼으면 파일을 비운다
+public class WriteAheadJournal implements Closeable {
+    public static final int MAX_RECORD = 64 * 1024;
+    private static final int HEADER = 8;
+
+    public record Batch(List<byte[]> records, long next) {
+    }
+
+    private final FileChannel channel;
+    private final FileChannel offsetChannel;
+    private final Object syncLock = new Object();
+    private long written;            // append 잠금(this) 안에서만 바꾼다
+    private volatile long synced;    // 여기까지 force 됨
+    private volatile long committed; // 여기까지 옮김
+
+    public WriteAheadJournal(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        offsetChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".offset"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        written = recover();
+        synced = written;
+        ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+        committed = offsetChannel.read(offset, 0) == Long.BYTES ? Math.min(offset.getLong(0), written) : 0;
+    }
+
+    // 내용이 디스크에 남은 뒤 반환. 반환값은 이 레코드 끝 위치
+    public long append(byte[] payload) throws IOException {
+        if (payload.length > MAX_RECORD) {
+            throw new IllegalArgumentException("레코드가 너무 큽니다: " + payload.length);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+
+        long end;
+        synchronized (this) {
+            long position = written;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            written = end = position;
+        }
+        sync(end);
+        return end;
+    }
+
+    // from 부터 force 된 레코드를 최대 max 개
+    public Batch read(long from, int max) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        long position = from;
+        long limit = synced;
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        while (records.size() < max && position + HEADER <= limit) {
+            readFully(header.clear(), position);
+            int length = header.getInt(0);
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER);
+            records.add(payload.array());
+            position += HEADER + length;
+        }
+        return new Batch(records, position);
+    }
+
+    public long committed() {
+        return committed;
+    }
+
+    // offset 까지 옮겼다고 기록. 더 남은 게 없으면 파일을 비워 계속 커지지 않게 한다
+    public synchronized void commit(long offset) throws IOException {
+        if (offset >= written) {
+            channel.truncate(0);
+            channel.force(true);
+            written = 0;
+            synced = 0;
+            offset = 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(0, offset);
+        offsetChannel.write(buffer, 0);
+        offsetChannel.force(false);
+        committed = offset;
+    }
+
+    // 옮기지 않은 레코드가 있는지
+    public boolean hasPending() {
+        return synced > committed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        offsetChannel.close();
+    }
+
+    private void sync(long end) throws IOException {
+        if (synced >= end) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= end) {
+                return; // 다른 스레드의 force 에 같이 실림
+            }
+            long upTo;
+            synchronized (this) {
+                upTo = written;
+            }
+            channel.force(false);
+            synced = Math.max(synced, upTo);
+        }
+    }
+
+    // 앞에서부터 검사해 온전한 레코드 끝까지만 남긴다
+    private long recover() throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        while (position + HEADER <= size) {
+            readFully(header.clear(), position);
+            int length = header.getInt(0);
+            if (length < 0 || length > MAX_RECORD || position + HEADER + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != header.getInt(4)) {
+                break;
+            }
+            position += HEADER + length;
+        }
+        if (position < size) {
+            channel.truncate(position);
+            channel.force(true);
+        }
+        return position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new IOException("저널이 예상보다 짧습니다.");
+            }
+            position += n;
+        }
+    }
+}
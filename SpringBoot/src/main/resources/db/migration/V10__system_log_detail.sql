@@ -0,0 +1,2 @@
+-- 비상 개방 사유 등 이벤트 부가 정보 (파티션에도 함께 추가됨)
+alter table system_log add column detail varchar(500);
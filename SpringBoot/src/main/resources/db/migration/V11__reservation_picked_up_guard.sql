@@ -0,0 +1,3 @@
+-- 수령 완료된 교재는 다시 예약할 수 없다: 교재당 RESERVED 또는 PICKED_UP 예약은 하나만
+drop index if exists ux_reservation_active_book;
+create unique index if not exists ux_reservation_active_book on reservation (book_id) where status in ('RESERVED', 'PICKED_UP');
@@ -0,0 +1,2 @@
+-- /api/files 에서 사진 해시로 교재(학교)를 찾는다
+create index if not exists ix_book_image_hash on book_image (content_hash);
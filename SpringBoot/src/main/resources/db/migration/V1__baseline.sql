@@ -0,0 +1,94 @@
+-- ddl-auto=update 로 만들어진 기존 스키마 (기존 DB 는 baseline-on-migrate 로 V1 을 건너뜀)
+-- "User" 엔티티는 물리 이름 전략에 의해 "user" 테이블로 매핑된다.
+
+create table if not exists "user" (
+    user_id        uuid                     not null default gen_random_uuid() primary key,
+    email          varchar(100)             not null,
+    password       varchar(100)             not null,
+    student_number varchar(10)              not null,
+    department     varchar(20)              not null,
+    grade          varchar(255)             not null,
+    name           varchar(10)              not null,
+    created_at     timestamp(6) with time zone not null default now(),
+    role           varchar(20)              not null,
+    verify         boolean                  not null default false,
+    expiry_date    timestamp(6)
+);
+
+create table if not exists category (
+    category_id        integer     not null primary key,
+    category_name      varchar(50) not null,
+    parent_category_id integer references category (category_id),
+    classfication_type varchar(50) not null
+);
+
+create table if not exists book (
+    book_id         uuid         not null default gen_random_uuid() primary key,
+    user_id         uuid         not null references "user" (user_id),
+    category_id     integer      not null references category (category_id),
+    title           varchar(100) not null,
+    author          varchar(50)  not null,
+    publisher       varchar(50),
+    point_price     integer      not null default 0,
+    condition_grade varchar(10),
+    dmg_tag         varchar(10),
+    registered_at   timestamp(6) with time zone not null default now()
+);
+
+create table if not exists book_transaction (
+    trans_id     uuid        not null default gen_random_uuid() primary key,
+    book_id      uuid        not null references book (book_id),
+    user_id      uuid references "user" (user_id),
+    trans_status varchar(20) not null,
+    trans_date   timestamp(6) with time zone not null default now(),
+    borrower_id  uuid references "user" (user_id)
+);
+
+create table if not exists locker (
+    locker_id     uuid        not null default gen_random_uuid() primary key,
+    locker_status varchar(20) not null,
+    is_broken     boolean,
+    locker_num    integer
+);
+
+create table if not exists point_transaction (
+    trans_id     uuid        not null default gen_random_uuid() primary key,
+    user_id      uuid        not null references "user" (user_id),
+    point_change integer     not null,
+    trans_type   varchar(50) not null,
+    trans_date   timestamp(6) with time zone not null default now()
+);
+
+create table if not exists pred_forecasts (
+    pred_id     uuid         not null default gen_random_uuid() primary key,
+    book_id     uuid         not null references book (book_id),
+    pred_demand integer      not null,
+    pred_basis  varchar(100),
+    pred_at     timestamp(6) with time zone not null default now(),
+    semester    varchar(20)  not null
+);
+
+create table if not exists reservation (
+    reservation_id uuid        not null default gen_random_uuid() primary key,
+    user_id        uuid        not null references "user" (user_id),
+    book_id        uuid        not null references book (book_id),
+    reserved_at    timestamp(6) with time zone not null default now(),
+    expires_at     timestamp(6) with time zone not null,
+    status         varchar(10) not null
+);
+
+create table if not exists system_log (
+    log_id        uuid        not null default gen_random_uuid() primary key,
+    locker_id     uuid        not null references locker (locker_id),
+    user_id       uuid        not null references "user" (user_id),
+    event_type    varchar(50) not null,
+    occurred_at   timestamp(6) with time zone not null default now(),
+    result_status varchar(20) not null
+);
+
+create table if not exists user_point_balance (
+    user_id      uuid    not null primary key references "user" (user_id) on delete cascade,
+    point_total  integer not null default 0,
+    total_earned integer not null default 0,
+    total_spent  integer not null default 0
+);
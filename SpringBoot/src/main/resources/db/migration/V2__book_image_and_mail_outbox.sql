@@ -0,0 +1,24 @@
+-- 교재 사진(content-addressed), 메일 outbox
+-- ddl-auto=update 시절에 이미 만들어졌을 수 있어서 if not exists
+
+create table if not exists book_image (
+    image_id     uuid        not null default gen_random_uuid() primary key,
+    book_id      uuid        not null references book (book_id),
+    seq          integer     not null,
+    content_hash varchar(64) not null,
+    created_at   timestamp(6) with time zone not null default now()
+);
+
+create table if not exists mail_outbox (
+    mail_id         uuid         not null default gen_random_uuid() primary key,
+    recipient       varchar(100) not null,
+    subject         varchar(200) not null,
+    body            text         not null,
+    dedupe_key      varchar(150),
+    status          varchar(10)  not null,
+    attempts        integer      not null default 0,
+    next_attempt_at timestamp(6) with time zone not null,
+    last_error      varchar(255),
+    created_at      timestamp(6) with time zone not null default now(),
+    sent_at         timestamp(6) with time zone
+);
@@ -0,0 +1,32 @@
+-- 자주 조회하는 컬럼 인덱스
+
+create extension if not exists pg_trgm;
+
+-- 로그인, 인증, UserCache (findByEmail, findSnapshotByEmail)
+create unique index if not exists ux_user_email on "user" (email);
+-- 학교별 목록: email like '%@domain'
+create index if not exists ix_user_email_trgm on "user" using gin (email gin_trgm_ops);
+
+-- 학교별 목록 키셋 페이지네이션 (findSchoolPage, findSchoolPageAfter)
+create index if not exists ix_book_user_registered on book (user_id, registered_at desc, book_id desc);
+-- 전체 최신순
+create index if not exists ix_book_registered on book (registered_at desc, book_id desc);
+create index if not exists ix_book_category on book (category_id);
+
+-- 표지 사진 (BookRepository.COVER, findHashesByBookId)
+create unique index if not exists ux_book_image_book_seq on book_image (book_id, seq);
+
+-- 교재별 예약 수 (countByBookIds)
+create index if not exists ix_reservation_book_status on reservation (book_id, status);
+-- 만료 처리
+create index if not exists ix_reservation_status_expires on reservation (status, expires_at);
+
+-- 보관함별 로그
+create index if not exists ix_system_log_locker_occurred on system_log (locker_id, occurred_at desc);
+
+-- 사용자별 포인트 내역
+create index if not exists ix_point_transaction_user_date on point_transaction (user_id, trans_date desc);
+
+-- 보낼 메일 (findDue), 중복 메일 확인 (existsByDedupeKeyAndCreatedAtAfter)
+create index if not exists ix_mail_outbox_due on mail_outbox (next_attempt_at) where status = 'PENDING';
+create index if not exists ix_mail_outbox_dedupe on mail_outbox (dedupe_key, created_at) where dedupe_key is not null;
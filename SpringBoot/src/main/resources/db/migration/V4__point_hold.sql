@@ -0,0 +1,3 @@
+-- 예약 시 포인트 임시 보관 (사용 가능 포인트 = point_total - point_held)
+alter table user_point_balance add column if not exists point_held integer not null default 0;
+alter table reservation add column if not exists held_points integer not null default 0;
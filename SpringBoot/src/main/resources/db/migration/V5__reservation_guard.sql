@@ -0,0 +1,4 @@
+-- 교재 낙관적 락, 교재당 진행 중인 예약은 하나만
+alter table book add column if not exists version bigint not null default 0;
+
+create unique index if not exists ux_reservation_active_book on reservation (book_id) where status = 'RESERVED';
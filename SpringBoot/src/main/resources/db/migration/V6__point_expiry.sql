@@ -0,0 +1,16 @@
+-- 배치 작업 진행 위치 (중단되면 cursor_key 다음부터 이어서)
+create table if not exists batch_checkpoint (
+    job_name   varchar(50) not null primary key,
+    run_date   date        not null,
+    cursor_key uuid,
+    processed  integer     not null default 0,
+    finished   boolean     not null default false,
+    updated_at timestamp(6) with time zone not null default now()
+);
+
+-- 소멸 예정 고지를 보낸 기준 활동 시각 (활동이 새로 생기면 다시 고지)
+create table if not exists point_expiry_notice (
+    user_id       uuid not null primary key references "user" (user_id) on delete cascade,
+    last_activity timestamp(6) with time zone not null,
+    noticed_at    timestamp(6) with time zone not null
+);
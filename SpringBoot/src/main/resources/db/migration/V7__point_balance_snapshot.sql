@@ -0,0 +1,21 @@
+-- 사용자별 포인트 잔액 스냅샷. (as_of, last_trans_id) 까지의 point_transaction 합계
+create table if not exists point_balance_snapshot (
+    snapshot_id   uuid    not null default gen_random_uuid() primary key,
+    user_id       uuid    not null references "user" (user_id) on delete cascade,
+    as_of         timestamp(6) with time zone not null,
+    last_trans_id uuid    not null,
+    balance       integer not null,
+    total_earned  integer not null,
+    total_spent   integer not null
+);
+
+create index if not exists ix_point_balance_snapshot_user on point_balance_snapshot (user_id, as_of desc, last_trans_id desc);
+
+-- 기존 내역은 사용자마다 스냅샷 하나로 시작
+insert into point_balance_snapshot (user_id, as_of, last_trans_id, balance, total_earned, total_spent)
+select l.user_id, l.trans_date, l.trans_id, s.balance, s.earned, s.spent
+from (select distinct on (user_id) user_id, trans_date, trans_id
+      from point_transaction order by user_id, trans_date desc, trans_id desc) l
+join (select user_id, sum(point_change) as balance,
+             sum(greatest(point_change, 0)) as earned, sum(greatest(-point_change, 0)) as spent
+      from point_transaction group by user_id) s on s.user_id = l.user_id;
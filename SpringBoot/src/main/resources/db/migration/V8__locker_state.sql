@@ -0,0 +1,9 @@
+-- locker_status 를 정해진 값으로만 (LockerStatus)
+update locker set locker_status = case when is_broken then 'BROKEN' else 'AVAILABLE' end
+where locker_status not in ('AVAILABLE', 'RESERVED', 'OPEN', 'CLOSED', 'BROKEN');
+
+alter table locker add constraint ck_locker_status
+    check (locker_status in ('AVAILABLE', 'RESERVED', 'OPEN', 'CLOSED', 'BROKEN'));
+
+-- 시스템이 기록하는 로그는 사용자가 없다
+alter table system_log alter column user_id drop not null;
@@ -0,0 +1,39 @@
+-- system_log 를 occurred_at 기준 월별 범위 파티션으로 바꾼다.
+-- 보관 기간이 지난 달은 DELETE 대신 파티션을 떼어 내 지운다 (SystemLogPartitionJob).
+-- 파티션 키가 PK 에 포함되어야 해서 PK 는 (log_id, occurred_at)
+alter table system_log rename to system_log_old;
+alter index system_log_pkey rename to system_log_old_pkey;
+alter index ix_system_log_locker_occurred rename to ix_system_log_old_locker_occurred;
+
+create table system_log (
+    log_id        uuid        not null default gen_random_uuid(),
+    locker_id     uuid        not null references locker (locker_id),
+    user_id       uuid        references "user" (user_id),
+    event_type    varchar(50) not null,
+    occurred_at   timestamp(6) with time zone not null default now(),
+    result_status varchar(20) not null,
+    constraint system_log_pkey primary key (log_id, occurred_at)
+) partition by range (occurred_at);
+
+create index ix_system_log_locker_occurred on system_log (locker_id, occurred_at desc);
+
+-- 미리 만든 달 밖의 시각(장치 시계 오류 등)은 기본 파티션으로
+create table system_log_default partition of system_log default;
+
+-- 기존 로그가 있는 첫 달부터 두 달 뒤까지. 이후는 SystemLogPartitionJob 이 매일 미리 만든다
+do $$
+declare
+    m timestamptz;
+begin
+    for m in select generate_series(date_trunc('month', coalesce((select min(occurred_at) from system_log_old), now())),
+                                    date_trunc('month', now()) + interval '2 months', interval '1 month')
+    loop
+        execute format('create table system_log_p%s partition of system_log for values from (%L) to (%L)',
+                       to_char(m, 'YYYYMM'), m, m + interval '1 month');
+    end loop;
+end $$;
+
+insert into system_log (log_id, locker_id, user_id, event_type, occurred_at, result_status)
+select log_id, locker_id, user_id, event_type, occurred_at, result_status from system_log_old;
+
+drop table system_log_old;
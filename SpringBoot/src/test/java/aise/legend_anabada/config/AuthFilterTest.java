@@ -0,0 +1,127 @@
+package aise.legend_anabada.config;
+
+import aise.legend_anabada.config.exception.ExpiredTokenException;
+import aise.legend_anabada.config.exception.PermissionDeniedException;
+import aise.legend_anabada.dto.projection.UserSnapshot;
+import aise.legend_anabada.service.UserCache;
+import aise.legend_anabada.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// 필터는 막지 않고 AuthContext 만 채운다. 거절은 require()/requireAdmin() 에서
+@ExtendWith(MockitoExtension.class)
+class AuthFilterTest {
+    private static final UUID ID = UUID.randomUUID();
+    private static final String EMAIL = "user@school.ac.kr";
+
+    @Mock
+    private UserCache userCache;
+    @Spy
+    private AuthContext authContext = new AuthContext();
+    @InjectMocks
+    private AuthFilter authFilter;
+
+    @Test
+    void setsPrincipalFromBearerOrLegacyHeader() throws ServletException, IOException {
+        when(userCache.getByEmail(EMAIL)).thenReturn(snapshot("학생"));
+        String token = JwtUtil.generateToken(EMAIL);
+
+        MockFilterChain chain = filter(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        assertNotNull(chain.getRequest());
+        AuthPrincipal principal = authContext.require();
+        assertEquals(ID, principal.getUserId());
+        assertEquals("school.ac.kr", principal.getSchool());
+        assertEquals(token, authContext.getToken());
+
+        authContext.setPrincipal(null);
+        filter("token", token);
+        assertEquals(ID, authContext.require().getUserId());
+    }
+
+    @Test
+    void leavesContextEmptyWithoutToken() throws ServletException, IOException {
+        MockFilterChain chain = filter(null, null);
+
+        assertNotNull(chain.getRequest());
+        assertNull(authContext.getPrincipal());
+        assertThrows(ExpiredTokenException.class, authContext::require);
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    void leavesContextEmptyForMalformedHeader() throws ServletException, IOException {
+        String token = JwtUtil.generateToken(EMAIL);
+        for (String header : new String[]{"Bearer", "Bearer ", "Basic " + token, "Bearer abc.def.ghi", token + "x"}) {
+            MockFilterChain chain = filter(HttpHeaders.AUTHORIZATION, header);
+            assertNotNull(chain.getRequest(), header);
+            assertNull(authContext.getPrincipal(), header);
+        }
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    void leavesContextEmptyForExpiredToken() throws ServletException, IOException {
+        SecretKey key = (SecretKey) ReflectionTestUtils.getField(JwtUtil.class, "key");
+        long now = System.currentTimeMillis();
+        String expired = Jwts.builder()
+                .subject(EMAIL)
+                .issuedAt(new Date(now - 60_000))
+                .expiration(new Date(now - 1_000))
+                .signWith(key)
+                .compact();
+
+        filter(HttpHeaders.AUTHORIZATION, "Bearer " + expired);
+
+        assertThrows(ExpiredTokenException.class, authContext::require);
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    void requireAdminRejectsOtherRoles() throws ServletException, IOException {
+        String token = JwtUtil.generateToken(EMAIL);
+        when(userCache.getByEmail(EMAIL)).thenReturn(snapshot("학생"), snapshot(AuthPrincipal.ADMIN));
+
+        filter(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        assertNotNull(authContext.require());
+        assertThrows(PermissionDeniedException.class, authContext::requireAdmin);
+
+        filter(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        assertTrue(authContext.requireAdmin().isAdmin());
+
+        authContext.setPrincipal(null);
+        assertThrows(ExpiredTokenException.class, authContext::requireAdmin);
+    }
+
+    private MockFilterChain filter(String header, String value) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user");
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        MockFilterChain chain = new MockFilterChain();
+        authFilter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+
+    private static UserSnapshot snapshot(String role) {
+        return new UserSnapshot(ID, EMAIL, role, "컴공", true, "hash");
+    }
+}
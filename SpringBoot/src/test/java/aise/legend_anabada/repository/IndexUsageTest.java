@@ -0,0 +1,101 @@
+package aise.legend_anabada.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 마이그레이션을 적용한 PostgreSQL 에서 리포지토리 쿼리(와 같은 모양의 SQL)가 인덱스를 타는지 EXPLAIN 으로 확인
+// Docker 가 없으면 건너뜀
+@Testcontainers(disabledWithoutDocker = true)
+class IndexUsageTest {
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("insert into category (category_id, category_name, classfication_type) " +
+                    "select g, 'c' || g, '학과' from generate_series(1, 20) g");
+            statement.execute("insert into \"user\" (email, password, student_number, department, grade, name, role) " +
+                    "select 'u' || g || '@school' || (g % 50) || '.ac.kr', 'x', '2024' || g, '컴공', '1', 'n', '학생' " +
+                    "from generate_series(1, 5000) g");
+            statement.execute("insert into book (user_id, category_id, title, author, registered_at) " +
+                    "select u.user_id, 1 + (random() * 19)::int, 'title', 'author', now() - (random() * interval '365 days') " +
+                    "from \"user\" u, generate_series(1, 4)");
+            statement.execute("insert into book_image (book_id, seq, content_hash) " +
+                    "select book_id, 0, md5(book_id::text) || md5(book_id::text) from book");
+            statement.execute("insert into reservation (user_id, book_id, expires_at, status) " +
+                    "select user_id, book_id, registered_at + interval '1 day', case when random() < 0.1 then 'RESERVED' else 'DONE' end from book");
+            statement.execute("insert into locker (locker_status, locker_num) select 'AVAILABLE', g from generate_series(1, 50) g");
+            statement.execute("insert into system_log (locker_id, user_id, event_type, result_status) " +
+                    "select l.locker_id, u.user_id, 'OPEN', 'OK' from locker l, (select user_id from \"user\" limit 200) u");
+            statement.execute("insert into point_transaction (user_id, point_change, trans_type) " +
+                    "select user_id, 10, 'EARN' from \"user\", generate_series(1, 4)");
+            statement.execute("insert into mail_outbox (recipient, subject, body, dedupe_key, status, next_attempt_at) " +
+                    "select email, 's', 'b', 'verify:' || email, 'SENT', now() from \"user\"");
+            statement.execute("analyze");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', quoteCharacter = '`', textBlock = """
+            UserRepository.findByEmail | ux_user_email | select * from "user" where email = 'u1@school1.ac.kr'
+            BookRepository.findSchoolPage (학교 필터) | ix_user_email_trgm | select u.user_id from "user" u where u.email like '%@school7.ac.kr'
+            BookRepository.findSchoolPage (사용자별 정렬) | ix_book_user_registered | select b.book_id from book b where b.user_id = (select user_id from "user" limit 1) order by b.registered_at desc, b.book_id desc limit 20
+            BookRepository 최신순 | ix_book_registered | select b.book_id from book b where b.registered_at < now() order by b.registered_at desc, b.book_id desc limit 20
+            BookRepository.COVER | ux_book_image_book_seq | select i.content_hash from book_image i where i.book_id = (select book_id from book limit 1) and i.seq = 0
+            BookImageRepository.findHashesByBookId | ux_book_image_book_seq | select i.content_hash from book_image i where i.book_id = (select book_id from book limit 1) order by i.seq
+            BookImageRepository.existsByContentHashAndSchool | ix_book_image_hash | select 1 from book_image i where i.content_hash = (select content_hash from book_image limit 1)
+            Book.category | ix_book_category | select book_id from book where category_id = 3
+            ReservationRepository.countByBookIds | ix_reservation_book_status | select r.book_id, count(*) from reservation r where r.book_id in (select book_id from book limit 10) group by r.book_id
+            Reservation 만료 대상 | ix_reservation_status_expires | select reservation_id from reservation where status = 'RESERVED' and expires_at < now()
+            SystemLog 보관함별 (월 파티션마다) | _locker_id_occurred_at_idx | select log_id from system_log where locker_id = (select locker_id from locker limit 1) order by occurred_at desc limit 20
+            PointTransaction 사용자별 | ix_point_transaction_user_date | select trans_id from point_transaction where user_id = (select user_id from "user" limit 1) order by trans_date desc limit 20
+            MailOutboxRepository.findDue | ix_mail_outbox_due | select mail_id from mail_outbox where status = 'PENDING' and next_attempt_at <= now() order by next_attempt_at limit 50
+            MailOutboxRepository.existsByDedupeKeyAndCreatedAtAfter | ix_mail_outbox_dedupe | select 1 from mail_outbox where dedupe_key = 'verify:u1@school1.ac.kr' and created_at > now() - interval '5 minutes' limit 1
+            """)
+    void usesIndex(String query, String index, String sql) throws SQLException {
+        String plan = explain(sql);
+        assertTrue(plan.contains(index), query + " 가 " + index + " 를 사용하지 않음:\n" + plan);
+    }
+
+    // 작은 테이블은 플래너가 순차 스캔을 고를 수 있어서 꺼 두고, 인덱스로 처리 가능한지만 본다
+    private static String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set enable_seqscan = off");
+            try (ResultSet rs = statement.executeQuery("explain " + sql)) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
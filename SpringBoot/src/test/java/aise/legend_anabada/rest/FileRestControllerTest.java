@@ -0,0 +1,105 @@
+package aise.legend_anabada.rest;
+
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.config.exception.ExpiredTokenException;
+import aise.legend_anabada.repository.BookImageRepository;
+import aise.legend_anabada.util.FileStreamer;
+import aise.legend_anabada.util.ImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// 로그인한 사용자의 학교 교재 사진만, 이미지 저장소 밖은 심볼릭 링크로도 나갈 수 없다
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FileRestControllerTest {
+    private static final String HASH = "ab".repeat(32);
+    private static final String OTHER_HASH = "cd".repeat(32);
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private ImageStore imageStore;
+    @Mock
+    private BookImageRepository bookImageRepository;
+    @Mock
+    private AuthContext authContext;
+    @Spy
+    private FileStreamer fileStreamer = new FileStreamer();
+    @InjectMocks
+    private FileRestController fileRestController;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path root = Files.createDirectories(dir.resolve("cas"));
+        Files.writeString(Files.createDirectories(root.resolve("ab").resolve(HASH)).resolve("w160.jpg"), "mine");
+        Files.writeString(Files.createDirectories(root.resolve("cd").resolve(OTHER_HASH)).resolve("w160.jpg"), "theirs");
+        Files.writeString(dir.resolve("secret.txt"), "secret");
+        when(imageStore.root()).thenReturn(root);
+        when(authContext.require()).thenReturn(new AuthPrincipal(UUID.randomUUID(), "a@school.ac.kr", "학생", "school.ac.kr"));
+        when(bookImageRepository.existsByContentHashAndSchool(eq(HASH), eq("%@school.ac.kr"))).thenReturn(true);
+    }
+
+    @Test
+    void servesOwnSchoolImageOnly() throws IOException {
+        MockHttpServletResponse response = get("ab/" + HASH + "/w160.jpg");
+        assertEquals(200, response.getStatus());
+        assertEquals("mine", response.getContentAsString());
+
+        assertEquals(404, get("cd/" + OTHER_HASH + "/w160.jpg").getStatus());
+    }
+
+    @Test
+    void requiresLogin() throws IOException {
+        when(authContext.require()).thenThrow(new ExpiredTokenException("인증 만료됨"));
+        assertEquals(401, get("ab/" + HASH + "/w160.jpg").getStatus());
+    }
+
+    @Test
+    void adminSeesEveryImage() throws IOException {
+        when(authContext.require()).thenReturn(new AuthPrincipal(UUID.randomUUID(), "admin@other.ac.kr", AuthPrincipal.ADMIN, "other.ac.kr"));
+        assertEquals(200, get("cd/" + OTHER_HASH + "/w160.jpg").getStatus());
+        // 관리자도 저장소 밖은 안 된다
+        assertEquals(404, get("../secret.txt").getStatus());
+    }
+
+    @Test
+    void staysInsideImageStore() throws IOException {
+        assertEquals(404, get("../secret.txt").getStatus());
+        assertEquals(404, get("%2e%2e/secret.txt").getStatus());
+        assertEquals(404, get(dir.resolve("secret.txt").toString()).getStatus());
+        assertEquals(404, get("ab/" + HASH).getStatus());
+
+        // 허용된 해시 폴더 안의 링크라도 실제 위치가 밖이면 거부
+        Files.createSymbolicLink(dir.resolve("cas").resolve("ab").resolve(HASH).resolve("w480.jpg"), dir.resolve("secret.txt"));
+        assertEquals(404, get("ab/" + HASH + "/w480.jpg").getStatus());
+        verify(fileStreamer, never()).serve(eq(dir.resolve("secret.txt").toRealPath()), any(), any(), any(), any(), any());
+    }
+
+    private MockHttpServletResponse get(String relative) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/files/" + relative);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileRestController.serveFile(request, response);
+        return response;
+    }
+}
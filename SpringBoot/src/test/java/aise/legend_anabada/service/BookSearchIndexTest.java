@@ -0,0 +1,81 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.entity.Book;
+import aise.legend_anabada.util.CursorUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 학교별 분리, 부분/초성 검색, 최신순 키셋 페이지
+class BookSearchIndexTest {
+    private static final String KUMOH = "kumoh.ac.kr";
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2025, 3, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    private final BookSearchIndex index = new BookSearchIndex();
+    private Book dataStructure;
+    private Book algorithm;
+    private Book advanced;
+
+    @BeforeEach
+    void setUp() {
+        dataStructure = book("자료구조", "홍길동", "한빛", T0);
+        algorithm = book("알고리즘", "김철수", "한빛", T0.plusMinutes(1));
+        advanced = book("고급 자료구조", "이영희", "생능", T0.plusMinutes(2));
+        index.index(dataStructure, KUMOH);
+        index.index(algorithm, KUMOH);
+        index.index(advanced, KUMOH);
+        index.index(book("자료구조", "홍길동", "한빛", T0), "snu.ac.kr");
+    }
+
+    @Test
+    void searchesWithinSchoolNewestFirst() {
+        assertEquals(List.of(advanced.getId(), dataStructure.getId()), index.search(" KUMOH.ac.kr", "자료"));
+        assertEquals(List.of(advanced.getId(), dataStructure.getId()), index.search(KUMOH, "ㅈㄹㄱㅈ"));
+        // 제목/저자/출판사를 가로질러 모든 단어가 있어야 한다
+        assertEquals(List.of(dataStructure.getId()), index.search(KUMOH, "구조 한빛"));
+        assertEquals(List.of(algorithm.getId(), dataStructure.getId()), index.search(KUMOH, "빛"));
+        assertEquals(List.of(), index.search(KUMOH, "구조론"));
+        assertEquals(List.of(), index.search(KUMOH, " ! "));
+        assertEquals(List.of(), index.search("unknown.ac.kr", "자료"));
+    }
+
+    @Test
+    void pagesAfterKeyset() {
+        assertEquals(List.of(advanced.getId()), index.searchPage(KUMOH, "자료", null, 1));
+        assertEquals(List.of(dataStructure.getId()), index.searchPage(KUMOH, "자료",
+                new CursorUtil.Keyset(advanced.getRegisteredAt(), advanced.getId()), 1));
+        assertEquals(List.of(), index.searchPage(KUMOH, "자료",
+                new CursorUtil.Keyset(dataStructure.getRegisteredAt(), dataStructure.getId()), 1));
+        // 커서의 교재가 지워졌어도 그 위치 다음부터 이어진다
+        assertEquals(List.of(dataStructure.getId()), index.searchPage(KUMOH, "자료",
+                new CursorUtil.Keyset(T0.plusSeconds(30), UUID.randomUUID()), 10));
+    }
+
+    @Test
+    void reindexAndRemoveUpdatePostings() {
+        dataStructure.setTitle("운영체제");
+        index.index(dataStructure, KUMOH);
+        assertEquals(List.of(advanced.getId()), index.search(KUMOH, "자료"));
+        assertEquals(List.of(dataStructure.getId()), index.search(KUMOH, "운영"));
+
+        index.remove(advanced.getId());
+        assertEquals(List.of(), index.search(KUMOH, "자료"));
+        assertEquals(List.of(dataStructure.getId()), index.search(KUMOH, "ㅇㅇㅊㅈ"));
+    }
+
+    private static Book book(String title, String author, String publisher, OffsetDateTime registeredAt) {
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setPublisher(publisher);
+        book.setRegisteredAt(registeredAt);
+        return book;
+    }
+}
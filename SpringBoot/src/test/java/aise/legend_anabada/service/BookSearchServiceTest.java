@@ -0,0 +1,69 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.dto.response.SearchPageDTO;
+import aise.legend_anabada.dto.response.BookSummaryDTO;
+import aise.legend_anabada.repository.BookImageRepository;
+import aise.legend_anabada.repository.BookRepository;
+import aise.legend_anabada.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.Spy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// 키워드가 넓어도 검색 세션은 MAX_SESSION_ROWS 건까지만 읽는다
+@ExtendWith(MockitoExtension.class)
+class BookSearchServiceTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private BookImageRepository bookImageRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Spy
+    private SearchSessionStore searchSessionStore = new SearchSessionStore();
+    @Mock
+    private AuthContext authContext;
+    @InjectMocks
+    private BookSearchService bookSearchService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void capsSessionToNewestHits() {
+        List<UUID> hits = Stream.generate(UUID::randomUUID).limit(BookSearchService.MAX_SESSION_ROWS + 500).toList();
+        when(authContext.require()).thenReturn(new AuthPrincipal(UUID.randomUUID(), "a@school.ac.kr", "학생", "school.ac.kr"));
+        when(bookSearchIndex.search("school.ac.kr", "자료")).thenReturn(hits);
+        when(bookRepository.findSummariesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<BookSummaryDTO> rows = new ArrayList<>();
+            for (UUID id : (Collection<UUID>) invocation.getArgument(0)) {
+                rows.add(new BookSummaryDTO(id, "자료구조", "홍길동", null, null, 0, null, null));
+            }
+            return rows;
+        });
+
+        SearchPageDTO<BookSummaryDTO> page = bookSearchService.openSearchSession("자료", 20);
+
+        ArgumentCaptor<Collection<UUID>> loaded = ArgumentCaptor.forClass(Collection.class);
+        verify(bookRepository).findSummariesByIdIn(loaded.capture());
+        assertEquals(hits.subList(0, BookSearchService.MAX_SESSION_ROWS), List.copyOf(loaded.getValue()));
+        verify(reservationRepository).countByBookIds(argThat(ids -> ids.size() == BookSearchService.MAX_SESSION_ROWS));
+        assertEquals(BookSearchService.MAX_SESSION_ROWS, page.getTotal());
+        assertEquals(hits.get(0), page.getItems().get(0).getId());
+    }
+}
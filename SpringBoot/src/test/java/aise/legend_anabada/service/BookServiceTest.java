@@ -0,0 +1,120 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.config.exception.ServiceBusyException;
+import aise.legend_anabada.dto.request.BookRegisterRequest;
+import aise.legend_anabada.entity.Book;
+import aise.legend_anabada.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// 교재 등록이 실제 book 테이블의 NOT NULL/FK 제약을 통과하는지 확인
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(BookService.class)
+class BookServiceTest {
+    private static final String SCHOOL = "school.ac.kr";
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private AuthContext authContext;
+    @MockitoBean
+    private ImageIngestService imageIngestService;
+    @MockitoBean
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID owner;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into category (category_id, category_name, classfication_type) values (1, '전공', '학과') " +
+                "on conflict do nothing");
+        String email = "owner" + UUID.randomUUID() + "@" + SCHOOL;
+        owner = UUID.randomUUID();
+        jdbcTemplate.update("insert into \"user\" (user_id, email, password, student_number, department, grade, name, role) " +
+                "values (?, ?, 'x', '20240001', '컴공', '1', 'owner', '학생')", owner, email);
+        when(authContext.require()).thenReturn(new AuthPrincipal(owner, email, "학생", SCHOOL));
+        when(authContext.getToken()).thenReturn(JwtUtil.generateToken(email));
+        when(imageIngestService.stage(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void savesBookWithCategoryAndDefaultPrice() {
+        bookService.registerBook(List.of(), new BookRegisterRequest("1", "자료구조", "홍길동", "한빛", "상", null, null));
+
+        ArgumentCaptor<Book> indexed = ArgumentCaptor.forClass(Book.class);
+        verify(bookSearchIndex).index(indexed.capture(), eq(SCHOOL));
+        UUID bookId = indexed.getValue().getId();
+        verify(imageIngestService).start(eq(bookId), any());
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select user_id, category_id, title, point_price from book where book_id = ?", bookId);
+        assertEquals(owner, row.get("user_id"));
+        assertEquals(1, row.get("category_id"));
+        assertEquals("자료구조", row.get("title"));
+        assertEquals(0, row.get("point_price"));
+
+        bookService.registerBook(List.of(), new BookRegisterRequest(" 1 ", "알고리즘", "김철수", null, null, null, 30));
+        assertEquals(30, jdbcTemplate.queryForObject(
+                "select point_price from book where user_id = ? and title = '알고리즘'", Integer.class, owner));
+    }
+
+    @Test
+    void rejectsInvalidCategoryOrPriceBeforeStagingImages() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.registerBook(List.of(),
+                new BookRegisterRequest("99", "자료구조", "홍길동", null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> bookService.registerBook(List.of(),
+                new BookRegisterRequest("전공", "자료구조", "홍길동", null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> bookService.registerBook(List.of(),
+                new BookRegisterRequest(null, "자료구조", "홍길동", null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> bookService.registerBook(List.of(),
+                new BookRegisterRequest("1", "자료구조", "홍길동", null, null, null, -1)));
+
+        verify(imageIngestService, never()).stage(any(), any());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from book where user_id = ?", Integer.class, owner));
+    }
+
+    // 사진 처리를 시작하지 못하면 저장한 교재를 지운다
+    @Test
+    void deletesBookWhenImagesCannotStart() {
+        doThrow(new ServiceBusyException("busy")).when(imageIngestService).start(any(), any());
+
+        assertThrows(ServiceBusyException.class, () -> bookService.registerBook(List.of(),
+                new BookRegisterRequest("1", "자료구조", "홍길동", null, null, null, null)));
+
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from book where user_id = ?", Integer.class, owner));
+        verify(bookSearchIndex, never()).index(any(Book.class), anyString());
+    }
+}
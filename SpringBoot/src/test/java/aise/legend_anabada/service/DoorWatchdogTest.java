@@ -0,0 +1,79 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.entity.LockerStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DoorWatchdogTest {
+    private static final long MINUTE = 60 * 1000;
+
+    @Mock
+    private LockerStateMachine lockerStateMachine;
+    @Mock
+    private SystemLogAppender systemLogAppender;
+    @Mock
+    private MailOutboxService mailOutboxService;
+    @Mock
+    private EventBroadcaster eventBroadcaster;
+    @Mock
+    private AppProperties appProperties;
+    @InjectMocks
+    private DoorWatchdog doorWatchdog;
+
+    private final UUID lockerId = UUID.randomUUID();
+
+    @Test
+    void alertsOnceAfterTimeout() {
+        stubOpen();
+        long openedAt = System.currentTimeMillis();
+        doorWatchdog.arm(lockerId, openedAt);
+
+        doorWatchdog.tick(openedAt + 4 * MINUTE);
+        verifyNoInteractions(mailOutboxService);
+
+        doorWatchdog.tick(openedAt + 5 * MINUTE + 1000);
+        doorWatchdog.tick(openedAt + 6 * MINUTE);
+        verify(mailOutboxService, times(1)).enqueue(eq("admin@school.ac.kr"), anyString(), anyString(), anyString());
+        verify(systemLogAppender, times(1)).append(eq(lockerId), isNull(), eq(DoorWatchdog.TIMEOUT_EVENT), anyString(), any());
+    }
+
+    @Test
+    void closedDoorNeverAlerts() {
+        long openedAt = System.currentTimeMillis();
+        doorWatchdog.arm(lockerId, openedAt);
+        doorWatchdog.disarm(lockerId);
+
+        doorWatchdog.tick(openedAt + 30 * MINUTE);
+        verifyNoInteractions(mailOutboxService, systemLogAppender, lockerStateMachine);
+    }
+
+    @Test
+    void marksBrokenAfterRepeatedAlerts() {
+        stubOpen();
+        long openedAt = System.currentTimeMillis();
+        doorWatchdog.arm(lockerId, openedAt);
+
+        for (int minute = 1; minute <= 5 * DoorWatchdog.MAX_ALERTS + 5; minute++) {
+            doorWatchdog.tick(openedAt + minute * MINUTE + 1000);
+        }
+        verify(mailOutboxService, times(DoorWatchdog.MAX_ALERTS)).enqueue(anyString(), anyString(), anyString(), anyString());
+        verify(lockerStateMachine, times(1)).transition(lockerId, LockerStatus.BROKEN, null);
+    }
+
+    private void stubOpen() {
+        when(appProperties.getAdmin_email()).thenReturn("admin@school.ac.kr");
+        when(lockerStateMachine.get(lockerId)).thenReturn(new LockerStateMachine.State(lockerId, 7, LockerStatus.OPEN,
+                UUID.randomUUID(), 1, OffsetDateTime.now()));
+    }
+}
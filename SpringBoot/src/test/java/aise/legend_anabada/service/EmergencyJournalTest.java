@@ -0,0 +1,118 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// DB 가 죽어 있어도 기록은 저널에 남고, 살아나면 그대로 system_log 로 옮겨진다
+@ExtendWith(MockitoExtension.class)
+class EmergencyJournalTest {
+    @TempDir
+    Path dir;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private AppProperties appProperties;
+    @InjectMocks
+    private EmergencyJournal emergencyJournal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(appProperties.getJournal_dir()).thenReturn(dir.toString());
+        emergencyJournal.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ReflectionTestUtils.invokeMethod(ReflectionTestUtils.getField(emergencyJournal, "journal"), "close");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drainsToSystemLogOnceDatabaseIsBack() throws Exception {
+        UUID lockerId = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+        EmergencyJournal.Action first = emergencyJournal.record(lockerId, adminId, EmergencyJournal.EMERGENCY_OPEN, "화재 경보");
+        emergencyJournal.record(lockerId, adminId, EmergencyJournal.EMERGENCY_OPEN, "잠금장치 고장");
+
+        doThrow(new DataAccessResourceFailureException("db down")).doReturn(new int[][]{})
+                .when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+        emergencyJournal.drain();
+        assertTrue(emergencyJournal.hasPending());
+
+        // 다시 시작해도 남아 있다
+        ReflectionTestUtils.invokeMethod(ReflectionTestUtils.getField(emergencyJournal, "journal"), "close");
+        emergencyJournal.open();
+        assertTrue(emergencyJournal.hasPending());
+
+        emergencyJournal.drain();
+        assertFalse(emergencyJournal.hasPending());
+
+        ArgumentCaptor<Collection<EmergencyJournal.Action>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), captor.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        List<EmergencyJournal.Action> drained = List.copyOf(captor.getValue());
+        assertEquals(2, drained.size());
+        assertEquals(first, drained.get(0));
+        assertEquals("잠금장치 고장", drained.get(1).reason());
+        assertEquals(adminId, drained.get(1).adminId());
+    }
+
+    // FK 위반처럼 DB 가 계속 거부하는 기록은 MAX_ATTEMPTS 번 뒤 dead letter 로 빼고 뒤 기록을 옮긴다
+    @Test
+    @SuppressWarnings("unchecked")
+    void movesPoisonRecordAsideAfterMaxAttempts() throws Exception {
+        UUID adminId = UUID.randomUUID();
+        EmergencyJournal.Action first = emergencyJournal.record(UUID.randomUUID(), adminId, EmergencyJournal.EMERGENCY_OPEN, "a");
+        EmergencyJournal.Action poison = emergencyJournal.record(UUID.randomUUID(), adminId, EmergencyJournal.EMERGENCY_OPEN, "없는 칸");
+        EmergencyJournal.Action last = emergencyJournal.record(UUID.randomUUID(), adminId, EmergencyJournal.EMERGENCY_OPEN, "c");
+
+        List<UUID> inserted = new ArrayList<>();
+        doAnswer(invocation -> {
+            Collection<EmergencyJournal.Action> actions = invocation.getArgument(1);
+            if (actions.stream().anyMatch(a -> a.id().equals(poison.id()))) {
+                throw new DataIntegrityViolationException("violates foreign key constraint");
+            }
+            actions.forEach(a -> inserted.add(a.id()));
+            return new int[][]{};
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+        for (int i = 1; i < EmergencyJournal.MAX_ATTEMPTS; i++) {
+            emergencyJournal.drain();
+            assertTrue(emergencyJournal.hasPending());
+        }
+        assertEquals(List.of(first.id()), inserted);
+        assertFalse(Files.exists(dir.resolve(EmergencyJournal.DEAD_LETTER_FILE)));
+
+        emergencyJournal.drain();
+        assertFalse(emergencyJournal.hasPending());
+        assertEquals(List.of(first.id(), last.id()), inserted);
+        List<String> dead = Files.readAllLines(dir.resolve(EmergencyJournal.DEAD_LETTER_FILE));
+        assertEquals(1, dead.size());
+        assertTrue(dead.get(0).endsWith("violates foreign key constraint"));
+    }
+}
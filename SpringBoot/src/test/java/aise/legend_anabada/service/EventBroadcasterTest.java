@@ -0,0 +1,76 @@
+package aise.legend_anabada.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventBroadcasterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private EventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(20000);
+        executor.initialize();
+        // 전송 스레드를 막아 두면 모든 구독자가 느린 클라이언트가 된다
+        executor.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        broadcaster = new EventBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(broadcaster, "eventExecutor", executor);
+        ReflectionTestUtils.setField(broadcaster, "meterRegistry", meterRegistry);
+        broadcaster.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blocked.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void slowSubscriberIsDroppedOthersKept() {
+        UUID user = UUID.randomUUID();
+        broadcaster.subscribe(user);
+        broadcaster.subscribe(null);
+
+        // 본인 이벤트는 user 만 받는다 -> user 의 버퍼만 넘침
+        for (int i = 0; i < 40; i++) {
+            broadcaster.publish("reservation", user, Map.of("seq", i));
+        }
+
+        assertEquals(1, meterRegistry.get("sse.subscribers").gauge().value());
+        assertEquals(1, meterRegistry.get("sse.dropped").counter().count());
+    }
+
+    @Test
+    void idleSubscribersScheduleNothing() {
+        for (int i = 0; i < 10000; i++) {
+            broadcaster.subscribe(UUID.randomUUID());
+        }
+        assertEquals(10000, ((Set<?>) ReflectionTestUtils.getField(broadcaster, "subscribers")).size());
+        // 막아 둔 작업 하나만 있고, 쉬고 있는 구독자 때문에 쌓인 작업은 없다
+        assertEquals(0, executor.getThreadPoolExecutor().getQueue().size());
+    }
+}
@@ -0,0 +1,55 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.exception.ServiceBusyException;
+import aise.legend_anabada.util.FileUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// 처리 상태는 작업이 실행되기 전부터 조회할 수 있어야 한다
+@ExtendWith(MockitoExtension.class)
+class ImageIngestServiceTest {
+    @Mock
+    private FileUtil fileUtil;
+    @Mock
+    private ThreadPoolTaskExecutor imageExecutor;
+    @InjectMocks
+    private ImageIngestService imageIngestService;
+
+    @Test
+    void progressIsVisibleBeforeTaskRuns() {
+        UUID bookId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            // 작업 스레드가 아직 시작하지 않은 시점
+            assertNotNull(imageIngestService.getStatus(bookId));
+            assertEquals(0, imageIngestService.getStatus(bookId).getCompleted());
+            return null;
+        }).when(imageExecutor).execute(any(Runnable.class));
+
+        imageIngestService.start(bookId, List.of());
+        verify(imageExecutor).execute(any(Runnable.class));
+        assertNotNull(imageIngestService.getStatus(bookId));
+    }
+
+    @Test
+    void rejectedTaskLeavesNoProgress() {
+        UUID bookId = UUID.randomUUID();
+        when(fileUtil.resolve(anyString())).thenReturn(Path.of("/nonexistent/.staging", bookId.toString()));
+        doThrow(new TaskRejectedException("full")).when(imageExecutor).execute(any(Runnable.class));
+
+        assertThrows(ServiceBusyException.class, () -> imageIngestService.start(bookId, List.of()));
+        assertNull(imageIngestService.getStatus(bookId));
+    }
+}
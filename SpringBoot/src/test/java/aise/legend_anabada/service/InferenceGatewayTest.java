@@ -0,0 +1,203 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.dto.response.PredictResultDTO;
+import aise.legend_anabada.util.InferenceClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import aise.legend_anabada.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// YOLOCR /predict, OCR /process-simple 대신 로컬 HTTP 서버로 확인
+class InferenceGatewayTest {
+    private static final String PREDICTED = "{\"title\":\"자료구조\",\"author\":\"홍길동\",\"publisher\":\"한빛\","
+            + "\"condition_grade\":\"중\",\"dmg_tag\":[\"찢어짐\",\"낙서\"],\"yolo_raw\":{}}";
+    private static final String OCR_ONLY = "{\"title\":\"자료구조 OCR\",\"author\":\"홍길동\",\"publisher\":\"한빛\"}";
+
+    private HttpServer server;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger predictCalls = new AtomicInteger();
+    private final AtomicInteger processCalls = new AtomicInteger();
+    private volatile boolean predictDown;
+    private volatile CountDownLatch predictHold;
+    private SimpleMeterRegistry meterRegistry;
+    private InferenceGateway gateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        server.createContext("/predict", exchange -> {
+            predictCalls.incrementAndGet();
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                if (predictDown) {
+                    respond(exchange, 500, "{}");
+                    return;
+                }
+                CountDownLatch hold = predictHold;
+                if (hold != null) {
+                    hold.await();
+                }
+                Thread.sleep(50);
+                String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                boolean broken = request.contains("broken");
+                respond(exchange, 200, broken ? "{\"error\":\"Failed to download image\"}" : PREDICTED);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        server.createContext("/process-simple", exchange -> {
+            processCalls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, 200, OCR_ONLY);
+        });
+        server.start();
+
+        AppProperties properties = new AppProperties();
+        properties.setAi_url("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setOcr_url("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setBase_url("http://localhost");
+        gateway = new InferenceGateway();
+        ReflectionTestUtils.setField(gateway, "inferenceClient", new InferenceClient(properties));
+        ReflectionTestUtils.setField(gateway, "appProperties", properties);
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(gateway, "meterRegistry", meterRegistry);
+        gateway.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void predictAllRespectsConcurrencyLimit() throws Exception {
+        Map<UUID, String> jobs = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            jobs.put(UUID.randomUUID(), "hash" + i);
+        }
+
+        Map<UUID, PredictResultDTO> results = gateway.predictAll(jobs, 4).get(10, TimeUnit.SECONDS);
+
+        assertEquals(20, results.size());
+        assertTrue(maxInFlight.get() <= 4, "max in flight = " + maxInFlight.get());
+        PredictResultDTO result = results.values().iterator().next();
+        assertEquals("자료구조", result.getTitle());
+        assertEquals("중", result.getConditionGrade());
+        assertEquals(2, result.getDmgTag().size());
+    }
+
+    @Test
+    void failedPredictionsAreSkipped() throws Exception {
+        UUID ok = UUID.randomUUID();
+        UUID broken = UUID.randomUUID();
+        Map<UUID, String> jobs = new LinkedHashMap<>();
+        jobs.put(ok, "ok");
+        jobs.put(broken, "broken");
+
+        Map<UUID, PredictResultDTO> results = gateway.predictAll(jobs, 2).get(10, TimeUnit.SECONDS);
+
+        assertTrue(results.containsKey(ok));
+        assertFalse(results.containsKey(broken));
+    }
+
+    // 같은 사진은 AI 서버를 다시 부르지 않는다. 인식 실패 결과는 캐시하지 않는다
+    @Test
+    void reusesCachedResultForSameImage() throws Exception {
+        PredictResultDTO first = gateway.predict(UUID.randomUUID(), "same").get(10, TimeUnit.SECONDS);
+        PredictResultDTO second = gateway.predict(UUID.randomUUID(), "same").get(10, TimeUnit.SECONDS);
+        assertSame(first, second);
+        assertEquals(1, predictCalls.get());
+        assertEquals(0.5, meterRegistry.get("ai.result.cache.hit.ratio").gauge().value(), 1e-9);
+
+        gateway.predict(UUID.randomUUID(), "broken").get(10, TimeUnit.SECONDS);
+        gateway.predict(UUID.randomUUID(), "broken").get(10, TimeUnit.SECONDS);
+        assertEquals(3, predictCalls.get());
+    }
+
+    // /predict 가 연속으로 실패하면 서킷이 열리고, 그동안은 /process-simple 결과(손상 등급 없음)로 대신한다
+    @Test
+    void fallsBackToOcrWhileCircuitIsOpen() throws Exception {
+        predictDown = true;
+        for (int i = 0; i < 5; i++) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> gateway.predict(UUID.randomUUID(), "down").get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, e.getCause());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, gateway.getState("predict"));
+
+        PredictResultDTO fallback = gateway.predict(UUID.randomUUID(), "down").get(10, TimeUnit.SECONDS);
+        assertEquals("자료구조 OCR", fallback.getTitle());
+        assertNull(fallback.getConditionGrade());
+        assertEquals(5, predictCalls.get());
+        assertEquals(1, processCalls.get());
+
+        // OCR 대체 결과는 캐시하지 않는다
+        gateway.predict(UUID.randomUUID(), "down").get(10, TimeUnit.SECONDS);
+        assertEquals(2, processCalls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.getState("process"));
+    }
+
+    // 동시 요청이 4개 차 있으면 5번째는 /predict 로 보내지 않고 OCR 로 돌린다. 끝난 요청의 자리는 돌려받는다
+    @Test
+    void bulkheadRejectsCallsBeyondLimit() throws Exception {
+        predictHold = new CountDownLatch(1);
+        List<CompletableFuture<PredictResultDTO>> held = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            held.add(gateway.predict(UUID.randomUUID(), "held" + i));
+        }
+        while (inFlight.get() < 4) {
+            Thread.sleep(10);
+        }
+
+        PredictResultDTO overflow = gateway.predict(UUID.randomUUID(), "overflow").get(10, TimeUnit.SECONDS);
+        assertEquals("자료구조 OCR", overflow.getTitle());
+        assertEquals(1.0, meterRegistry.get("ai.bulkhead.rejected").tag("endpoint", "predict").counter().count());
+        assertEquals(4, predictCalls.get());
+
+        predictHold.countDown();
+        for (CompletableFuture<PredictResultDTO> future : held) {
+            assertEquals("중", future.get(10, TimeUnit.SECONDS).getConditionGrade());
+        }
+        predictHold = null;
+        assertEquals("중", gateway.predict(UUID.randomUUID(), "after").get(10, TimeUnit.SECONDS).getConditionGrade());
+        assertEquals(5, predictCalls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.getState("predict"));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.exception.InvalidLockerStateException;
+import aise.legend_anabada.entity.Locker;
+import aise.legend_anabada.entity.LockerStatus;
+import aise.legend_anabada.repository.LockerRepository;
+import aise.legend_anabada.repository.SystemLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+// 실제 LockerStateMachine 위에서 배정. 고장 칸은 배정되지 않고, 동시에 몰려도 한 칸에 한 명
+@ExtendWith(MockitoExtension.class)
+class LockerAllocatorTest {
+    private static final int LOCKERS = 64;
+
+    @Mock
+    private LockerRepository lockerRepository;
+    @Mock
+    private SystemLogRepository systemLogRepository;
+    @Mock
+    private SystemLogAppender systemLogAppender;
+    @Mock
+    private EventBroadcaster eventBroadcaster;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private LockerStateMachine lockerStateMachine;
+
+    private LockerAllocator lockerAllocator;
+    private final List<UUID> broken = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Locker> lockers = new ArrayList<>();
+        for (int num = 1; num <= LOCKERS; num++) {
+            Locker locker = new Locker();
+            locker.setId(UUID.randomUUID());
+            locker.setLockerNum(num);
+            locker.setLockerStatus(num % 8 == 0 ? LockerStatus.BROKEN : LockerStatus.AVAILABLE);
+            if (num % 8 == 0) {
+                broken.add(locker.getId());
+            }
+            lockers.add(locker);
+        }
+        when(lockerRepository.findAll()).thenReturn(lockers);
+        when(systemLogRepository.findLastTransitions(anyCollection())).thenReturn(List.of());
+        lockerStateMachine.rebuild();
+
+        lockerAllocator = new LockerAllocator();
+        ReflectionTestUtils.setField(lockerAllocator, "lockerStateMachine", lockerStateMachine);
+        lockerAllocator.init();
+        lockerAllocator.rebuild();
+    }
+
+    @Test
+    void concurrentDepositsGetDistinctWorkingLockers() throws Exception {
+        int available = LOCKERS - broken.size();
+        int clients = 200;
+        assertEquals(available, lockerAllocator.freeCount());
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UUID>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    return lockerAllocator.allocate(UUID.randomUUID()).lockerId();
+                } catch (InvalidLockerStateException e) {
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        Set<UUID> assigned = new HashSet<>();
+        int rejected = 0;
+        for (Future<UUID> future : futures) {
+            UUID lockerId = future.get(10, TimeUnit.SECONDS);
+            if (lockerId == null) {
+                rejected++;
+            } else {
+                assertTrue(assigned.add(lockerId), "같은 칸이 두 번 배정됨");
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(available, assigned.size());
+        assertEquals(clients - available, rejected);
+        assertTrue(Collections.disjoint(assigned, broken));
+        assertEquals(0, lockerAllocator.freeCount());
+    }
+
+    @Test
+    void followsTransitionsOfOtherPaths() {
+        UUID lockerId = lockerAllocator.allocate(UUID.randomUUID()).lockerId();
+        int free = lockerAllocator.freeCount();
+
+        // 예약이 풀리면 다시 배정 대상, 고장 처리되면 제외, 수리되면 다시 포함
+        lockerStateMachine.transition(lockerId, LockerStatus.AVAILABLE, null);
+        assertEquals(free + 1, lockerAllocator.freeCount());
+        lockerStateMachine.transition(lockerId, LockerStatus.BROKEN, null);
+        assertEquals(free, lockerAllocator.freeCount());
+        lockerStateMachine.transition(broken.get(0), LockerStatus.AVAILABLE, null);
+        assertEquals(free + 1, lockerAllocator.freeCount());
+
+        // 전체 보정은 이미 맞는 비트맵을 바꾸지 않는다
+        lockerAllocator.reconcile();
+        assertEquals(free + 1, lockerAllocator.freeCount());
+    }
+}
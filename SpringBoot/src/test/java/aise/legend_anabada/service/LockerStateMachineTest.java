@@ -0,0 +1,159 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.config.exception.InvalidLockerStateException;
+import aise.legend_anabada.dto.projection.LockerEventView;
+import aise.legend_anabada.dto.response.LockerStateDTO;
+import aise.legend_anabada.entity.Locker;
+import aise.legend_anabada.entity.LockerStatus;
+import aise.legend_anabada.entity.SystemLog;
+import aise.legend_anabada.repository.LockerRepository;
+import aise.legend_anabada.repository.SystemLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LockerStateMachineTest {
+    @Mock
+    private LockerRepository lockerRepository;
+    @Mock
+    private SystemLogRepository systemLogRepository;
+    @Mock
+    private SystemLogAppender systemLogAppender;
+    @Mock
+    private EventBroadcaster eventBroadcaster;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private LockerStateMachine lockerStateMachine;
+
+    private final UUID free = UUID.randomUUID();
+    private final UUID reserved = UUID.randomUUID();
+    private final UUID holder = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        // free 는 로그가 없어 컬럼 값, reserved 는 마지막 로그(RESERVED)로 복원
+        when(lockerRepository.findAll()).thenReturn(List.of(locker(free, 1, LockerStatus.AVAILABLE),
+                locker(reserved, 2, LockerStatus.AVAILABLE)));
+        when(systemLogRepository.findLastTransitions(anyCollection())).thenReturn(List.of(
+                new LockerEventView(reserved, "RESERVED", holder, OffsetDateTime.now())));
+        lockerStateMachine.rebuild();
+    }
+
+    @Test
+    void rebuildsFromLastLoggedTransition() {
+        assertEquals(LockerStatus.AVAILABLE, lockerStateMachine.get(free).status());
+        assertEquals(LockerStatus.RESERVED, lockerStateMachine.get(reserved).status());
+        assertEquals(holder, lockerStateMachine.get(reserved).holder());
+    }
+
+    @Test
+    void onlyHolderOpensReservedLocker() {
+        assertThrows(InvalidLockerStateException.class,
+                () -> lockerStateMachine.transition(reserved, LockerStatus.OPEN, UUID.randomUUID()));
+        assertEquals(LockerStatus.OPEN, lockerStateMachine.transition(reserved, LockerStatus.OPEN, holder).status());
+        verify(systemLogAppender).append(eq(reserved), any(), eq("OPEN"), eq(SystemLog.FAILED), any());
+        verify(systemLogAppender).append(eq(reserved), eq(holder), eq("OPEN"), eq(SystemLog.SUCCESS), any());
+    }
+
+    @Test
+    void userOpensOnlyAssignedLocker() {
+        UUID user = UUID.randomUUID();
+        assertThrows(InvalidLockerStateException.class,
+                () -> lockerStateMachine.transitionHeld(free, LockerStatus.OPEN, user));
+        assertEquals(LockerStatus.AVAILABLE, lockerStateMachine.get(free).status());
+
+        lockerStateMachine.transition(free, LockerStatus.RESERVED, user);
+        assertEquals(LockerStatus.OPEN, lockerStateMachine.transitionHeld(free, LockerStatus.OPEN, user).status());
+    }
+
+    @Test
+    void emptiedLockerReturnsToPool() {
+        lockerStateMachine.transition(reserved, LockerStatus.OPEN, holder);
+        lockerStateMachine.transition(reserved, LockerStatus.CLOSED, holder);
+        LockerStateMachine.State released = lockerStateMachine.transition(reserved, LockerStatus.AVAILABLE, holder);
+        assertEquals(LockerStatus.AVAILABLE, released.status());
+        assertNull(released.holder());
+    }
+
+    // 배정되지 않은 채 열린 칸(관리자 개방 등)은 사용자가 닫아 가져갈 수 없다
+    @Test
+    void onlyAdminClosesUnassignedLocker() {
+        AuthContext authContext = mock(AuthContext.class);
+        LockerService lockerService = new LockerService();
+        ReflectionTestUtils.setField(lockerService, "lockerStateMachine", lockerStateMachine);
+        ReflectionTestUtils.setField(lockerService, "doorWatchdog", mock(DoorWatchdog.class));
+        ReflectionTestUtils.setField(lockerService, "authContext", authContext);
+        UUID user = UUID.randomUUID();
+        when(authContext.require()).thenReturn(new AuthPrincipal(user, "user@school.ac.kr", "학생", "school.ac.kr"),
+                new AuthPrincipal(UUID.randomUUID(), "admin@school.ac.kr", AuthPrincipal.ADMIN, "school.ac.kr"));
+
+        lockerStateMachine.transition(free, LockerStatus.OPEN, null);
+        assertThrows(InvalidLockerStateException.class, () -> lockerService.closeLocker(free, false));
+        assertEquals(LockerStatus.OPEN, lockerStateMachine.get(free).status());
+
+        LockerStateDTO closed = lockerService.closeLocker(free, true);
+        assertEquals(LockerStatus.AVAILABLE.name(), closed.getStatus());
+        assertNull(lockerStateMachine.get(free).holder());
+    }
+
+    @Test
+    void concurrentOpensHaveOneWinner() throws Exception {
+        int threads = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    lockerStateMachine.transition(free, LockerStatus.OPEN, UUID.randomUUID());
+                    opened.incrementAndGet();
+                } catch (InvalidLockerStateException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(1, opened.get());
+        assertEquals(threads - 1, rejected.get());
+        assertEquals(1, lockerStateMachine.get(free).version());
+        verify(systemLogAppender, times(1)).append(eq(free), any(), eq("OPEN"), eq(SystemLog.SUCCESS), any());
+        verify(eventBroadcaster, times(1)).publish(eq("locker"), isNull(), any());
+    }
+
+    private static Locker locker(UUID id, int num, LockerStatus status) {
+        Locker locker = new Locker();
+        locker.setId(id);
+        locker.setLockerNum(num);
+        locker.setLockerStatus(status);
+        return locker;
+    }
+}
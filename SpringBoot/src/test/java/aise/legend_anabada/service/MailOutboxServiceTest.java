@@ -0,0 +1,152 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.entity.MailOutbox;
+import aise.legend_anabada.repository.MailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// smtp.naver.com 대신 로컬 SMTP 스텁으로 확인
+class MailOutboxServiceTest {
+    private ServerSocket server;
+    private Thread acceptor;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger delivered = new AtomicInteger();
+
+    private MailOutboxRepository repository;
+    private MailOutboxService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ServerSocket(0);
+        acceptor = new Thread(() -> {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    connections.incrementAndGet();
+                    session(socket);
+                } catch (IOException ignored) {
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(server.getLocalPort());
+        Properties properties = new Properties();
+        properties.put("mail.smtp.timeout", "5000");
+        sender.setJavaMailProperties(properties);
+
+        repository = mock(MailOutboxRepository.class);
+        service = new MailOutboxService();
+        ReflectionTestUtils.setField(service, "mailOutboxRepository", repository);
+        ReflectionTestUtils.setField(service, "mailSender", sender);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void sendsBatchOverOneConnection() {
+        List<MailOutbox> batch = List.of(mail("a@school.ac.kr"), mail("b@school.ac.kr"), mail("c@school.ac.kr"));
+        when(repository.findDue(any(), any())).thenReturn(batch);
+
+        service.dispatch();
+
+        assertEquals(1, connections.get());
+        assertEquals(3, delivered.get());
+        for (MailOutbox mail : batch) {
+            assertEquals(MailOutbox.SENT, mail.getStatus());
+            assertEquals(1, mail.getAttempts());
+            assertNotNull(mail.getSentAt());
+        }
+        verify(repository).saveAll(batch);
+    }
+
+    @Test
+    void failedRecipientIsRetriedLater() {
+        MailOutbox ok = mail("a@school.ac.kr");
+        MailOutbox rejected = mail("reject@school.ac.kr");
+        List<MailOutbox> batch = List.of(ok, rejected);
+        when(repository.findDue(any(), any())).thenReturn(batch);
+
+        service.dispatch();
+
+        assertEquals(MailOutbox.SENT, ok.getStatus());
+        assertEquals(MailOutbox.PENDING, rejected.getStatus());
+        assertEquals(1, rejected.getAttempts());
+        assertNotNull(rejected.getLastError());
+        assertTrue(rejected.getNextAttemptAt().isAfter(OffsetDateTime.now()));
+    }
+
+    @Test
+    void repeatedVerificationIsDeduplicated() {
+        when(repository.existsByDedupeKeyAndCreatedAtAfter(eq("verify:a@school.ac.kr"), any())).thenReturn(true);
+
+        assertFalse(service.enqueue("a@school.ac.kr", "인증", "본문", "verify:a@school.ac.kr"));
+        verify(repository, never()).save(any());
+    }
+
+    private static MailOutbox mail(String to) {
+        MailOutbox mail = new MailOutbox();
+        mail.setId(UUID.randomUUID());
+        mail.setRecipient(to);
+        mail.setSubject("[LEGEND 아나바다] 이메일 인증");
+        mail.setBody("본문");
+        mail.setStatus(MailOutbox.PENDING);
+        mail.setAttempts(0);
+        mail.setNextAttemptAt(OffsetDateTime.now());
+        mail.setCreatedAt(OffsetDateTime.now());
+        return mail;
+    }
+
+    // 최소한의 SMTP: RCPT 주소에 reject 가 들어 있으면 550
+    private void session(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+        reply(out, "220 stub ESMTP");
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase();
+            if (command.startsWith("RCPT")) {
+                reply(out, command.contains("REJECT") ? "550 no such user" : "250 ok");
+            } else if (command.startsWith("DATA")) {
+                reply(out, "354 end with .");
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    // 본문은 버린다
+                }
+                delivered.incrementAndGet();
+                reply(out, "250 queued");
+            } else if (command.startsWith("QUIT")) {
+                reply(out, "221 bye");
+                return;
+            } else {
+                reply(out, "250 ok");
+            }
+        }
+    }
+
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
+    }
+}
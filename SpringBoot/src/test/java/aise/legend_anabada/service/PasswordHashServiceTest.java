@@ -0,0 +1,114 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.config.exception.ServiceBusyException;
+import aise.legend_anabada.dto.Response;
+import aise.legend_anabada.dto.request.UserCreateRequest;
+import aise.legend_anabada.entity.User;
+import aise.legend_anabada.repository.UserRepository;
+import aise.legend_anabada.rest.UserRestController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// 스레드 1개, 대기열 1개짜리 passwordExecutor 를 막아 두고 거절되는지 확인
+class PasswordHashServiceTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskExecutor passwordExecutor = new ThreadPoolTaskExecutor();
+    private final PasswordHashService passwordHashService = new PasswordHashService();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        passwordExecutor.setCorePoolSize(1);
+        passwordExecutor.setMaxPoolSize(1);
+        passwordExecutor.setQueueCapacity(1);
+        passwordExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        passwordExecutor.initialize();
+
+        AppProperties appProperties = new AppProperties();
+        appProperties.setBcrypt_cost(4);
+        ReflectionTestUtils.setField(passwordHashService, "appProperties", appProperties);
+        ReflectionTestUtils.setField(passwordHashService, "passwordExecutor", passwordExecutor);
+        ReflectionTestUtils.setField(passwordHashService, "meterRegistry", meterRegistry);
+        passwordHashService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordExecutor.shutdown();
+    }
+
+    @Test
+    void hashesOnExecutor() {
+        String hash = passwordHashService.encode("password");
+        assertTrue(passwordHashService.matchesAsync("password", hash).join());
+        assertFalse(passwordHashService.needsRehash(hash));
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        saturate();
+
+        assertThrows(ServiceBusyException.class, () -> passwordHashService.encodeAsync("password"));
+        assertThrows(ServiceBusyException.class, () -> passwordHashService.matchesAsync("password", "hash"));
+        assertThrows(ServiceBusyException.class, () -> passwordHashService.encode("password"));
+        assertEquals(3, meterRegistry.get("password.hash.rejected").counter().count());
+    }
+
+    @Test
+    void createAnswers503WhenSaturated() {
+        AuthContext authContext = mock(AuthContext.class);
+        when(authContext.requireAdmin())
+                .thenReturn(new AuthPrincipal(UUID.randomUUID(), "admin@school.ac.kr", AuthPrincipal.ADMIN, "school.ac.kr"));
+        UserRepository userRepository = mock(UserRepository.class);
+        UserService userService = new UserService();
+        ReflectionTestUtils.setField(userService, "authContext", authContext);
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "passwordHashService", passwordHashService);
+        UserRestController controller = new UserRestController();
+        ReflectionTestUtils.setField(controller, "userService", userService);
+        saturate();
+
+        ResponseEntity<Response<User>> response = controller.createUser(new UserCreateRequest(
+                UUID.randomUUID().toString(), "new@school.ac.kr", "password", "20240001", "컴공", "신입",
+                "2026-01-01T00:00:00+09:00", "학생", true, "2026-01-02T00:00:00Z"));
+
+        assertEquals(503, response.getStatusCode().value());
+        assertFalse(response.getBody().isSuccess());
+        verifyNoInteractions(userRepository);
+    }
+
+    // 실행 중 1개 + 대기열 1개
+    private void saturate() {
+        CountDownLatch started = new CountDownLatch(1);
+        passwordExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        passwordExecutor.execute(() -> { });
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
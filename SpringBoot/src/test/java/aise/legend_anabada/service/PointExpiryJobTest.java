@@ -0,0 +1,128 @@
+package aise.legend_anabada.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PointExpiryJob.class, MailOutboxService.class, PointLedgerService.class, PointStatementService.class})
+class PointExpiryJobTest {
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private PointExpiryJob pointExpiryJob;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("truncate mail_outbox, batch_checkpoint, point_expiry_notice, point_transaction, " +
+                "user_point_balance, \"user\" cascade");
+    }
+
+    @Test
+    void noticesBeforeExpiringIdleBalances() {
+        LocalDate today = LocalDate.now();
+        OffsetDateTime now = OffsetDateTime.now();
+        UUID idle = insertUser("idle", now.minusMonths(25), 100, 0);
+        UUID soon = insertUser("soon", now.minusMonths(24).plusDays(10), 50, 0);
+        UUID active = insertUser("active", now.minusDays(3), 70, 0);
+        UUID held = insertUser("held", now.minusMonths(25), 30, 30);
+
+        // 기한이 지난 사용자도 고지 없이 바로 소멸하지 않는다
+        pointExpiryJob.run(today);
+        assertEquals(100, pointTotal(idle));
+        assertEquals(50, pointTotal(soon));
+        assertEquals(70, pointTotal(active));
+        assertEquals(30, pointTotal(held)); // 예약으로 잡힌 포인트는 소멸하지 않음
+        assertEquals(List.of("idle@school.ac.kr", "soon@school.ac.kr"),
+                jdbcTemplate.queryForList("select recipient from mail_outbox order by recipient", String.class));
+
+        // 다음 날 다시 돌려도 고지한 지 30일이 안 됐으면 소멸하지 않고, 고지도 다시 하지 않는다
+        pointExpiryJob.run(today.plusDays(1));
+        assertEquals(100, pointTotal(idle));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from mail_outbox", Integer.class));
+
+        // 고지 후 30일이 지나면 소멸 (soon 은 아직 기한 전)
+        jdbcTemplate.update("update point_expiry_notice set noticed_at = noticed_at - interval '31 days'");
+        pointExpiryJob.run(today.plusDays(2));
+        assertEquals(0, pointTotal(idle));
+        assertEquals(-100, jdbcTemplate.queryForObject(
+                "select point_change from point_transaction where user_id = ? and trans_type = 'EXPIRE'", Integer.class, idle));
+        assertEquals(50, pointTotal(soon));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from point_transaction where trans_type = 'EXPIRE'", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from mail_outbox", Integer.class));
+    }
+
+    @Test
+    void resumesFromCheckpoint() {
+        OffsetDateTime idleSince = OffsetDateTime.now().minusMonths(25);
+        for (int i = 0; i < 2500; i++) {
+            insertUser("idle" + i, idleSince, 10, 0);
+        }
+        // 모두 31일 전에 고지를 받은 상태
+        jdbcTemplate.update("insert into point_expiry_notice (user_id, last_activity, noticed_at) " +
+                "select user_id, trans_date, now() - interval '31 days' from point_transaction");
+        List<UUID> ids = jdbcTemplate.queryForList("select user_id from \"user\" order by user_id", UUID.class);
+        UUID cursor = ids.get(999);
+
+        // 첫 1000명을 처리한 뒤 죽은 상태
+        jdbcTemplate.update("insert into batch_checkpoint (job_name, run_date, cursor_key, processed, finished) values (?, ?, ?, 1000, false)",
+                PointExpiryJob.JOB_NAME, Date.valueOf(LocalDate.now()), cursor);
+
+        pointExpiryJob.run(LocalDate.now());
+
+        assertEquals(1500, jdbcTemplate.queryForObject(
+                "select count(*) from point_transaction where trans_type = 'EXPIRE'", Integer.class));
+        assertEquals(1000, jdbcTemplate.queryForObject(
+                "select count(*) from user_point_balance where point_total = 10 and user_id <= ?", Integer.class, cursor));
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+                "select finished from batch_checkpoint where job_name = ?", Boolean.class, PointExpiryJob.JOB_NAME));
+        assertEquals(2500, jdbcTemplate.queryForObject(
+                "select processed from batch_checkpoint where job_name = ?", Integer.class, PointExpiryJob.JOB_NAME));
+    }
+
+    private UUID insertUser(String name, OffsetDateTime lastActivity, int total, int held) {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("insert into \"user\" (user_id, email, password, student_number, department, grade, name, role) " +
+                "values (?, ?, 'x', '20240001', '컴공', '1', ?, '학생')", userId, name + "@school.ac.kr", name);
+        jdbcTemplate.update("insert into user_point_balance (user_id, point_total, total_earned, point_held) values (?, ?, ?, ?)",
+                userId, total, total, held);
+        jdbcTemplate.update("insert into point_transaction (trans_id, user_id, point_change, trans_type, trans_date) " +
+                "values (gen_random_uuid(), ?, ?, 'CHARGE', ?)", userId, total, lastActivity);
+        return userId;
+    }
+
+    private int pointTotal(UUID userId) {
+        return jdbcTemplate.queryForObject("select point_total from user_point_balance where user_id = ?", Integer.class, userId);
+    }
+}
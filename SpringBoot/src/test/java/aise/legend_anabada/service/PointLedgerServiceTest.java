@@ -0,0 +1,78 @@
+package aise.legend_anabada.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 같은 사용자에게 64개 스레드가 동시에 적립/차감해도 잃어버리는 갱신이 없어야 한다
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PointLedgerService.class, PointStatementService.class})
+class PointLedgerServiceTest {
+    private static final int WRITERS = 64;
+    private static final int OPS_PER_WRITER = 100;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private PointLedgerService pointLedgerService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void noLostUpdatesUnderContention() throws Exception {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("insert into \"user\" (user_id, email, password, student_number, department, grade, name, role) " +
+                "values (?, ?, 'x', '20240001', '컴공', '1', 'n', '학생')", userId, userId + "@school.ac.kr");
+
+        // 스레드마다 +2, -1 을 번갈아 → 자기 적립이 항상 먼저라 잔액은 음수가 되지 않는다
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPS_PER_WRITER; i++) {
+                    pointLedgerService.apply(userId, i % 2 == 0 ? 2 : -1, i % 2 == 0 ? "EARN" : "SPEND");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        int pairs = WRITERS * OPS_PER_WRITER / 2;
+        assertEquals(pairs, pointLedgerService.getBalance(userId));
+        assertEquals(pairs * 2, jdbcTemplate.queryForObject(
+                "select total_earned from user_point_balance where user_id = ?", Integer.class, userId));
+        assertEquals(pairs, jdbcTemplate.queryForObject(
+                "select total_spent from user_point_balance where user_id = ?", Integer.class, userId));
+        assertEquals(WRITERS * OPS_PER_WRITER, jdbcTemplate.queryForObject(
+                "select count(*) from point_transaction where user_id = ?", Integer.class, userId));
+        assertEquals(pairs, jdbcTemplate.queryForObject(
+                "select sum(point_change) from point_transaction where user_id = ?", Integer.class, userId));
+    }
+}
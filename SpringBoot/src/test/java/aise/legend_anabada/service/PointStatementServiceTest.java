@@ -0,0 +1,83 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.dto.response.CursorPageDTO;
+import aise.legend_anabada.dto.response.PointStatementItemDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 원장이 쌓는 스냅샷으로 페이지마다 잔액 흐름이 이어져야 한다 (커서에는 위치만 싣는다)
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PointLedgerService.class, PointStatementService.class})
+class PointStatementServiceTest {
+    private static final int TRANSACTIONS = 137;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private PointLedgerService pointLedgerService;
+    @Autowired
+    private PointStatementService pointStatementService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statementPagesCarryRunningBalance() {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("insert into \"user\" (user_id, email, password, student_number, department, grade, name, role) " +
+                "values (?, ?, 'x', '20240001', '컴공', '1', 'n', '학생')", userId, userId + "@school.ac.kr");
+
+        List<Integer> deltas = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            int delta = i % 3 == 2 ? -4 : 5;
+            pointLedgerService.apply(userId, delta, delta > 0 ? PointLedgerService.CHARGE : "SPEND");
+            deltas.add(delta);
+        }
+        int balance = pointLedgerService.getBalance(userId);
+        assertEquals(TRANSACTIONS / PointStatementService.SNAPSHOT_EVERY, jdbcTemplate.queryForObject(
+                "select count(*) from point_balance_snapshot where user_id = ?", Integer.class, userId));
+
+        // 최신순으로 끝까지 넘기면서 잔액을 검증
+        List<PointStatementItemDTO> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<PointStatementItemDTO> page = pointStatementService.getStatement(userId, cursor, 20);
+            assertTrue(page.getItems().size() <= 20);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(TRANSACTIONS, all.size());
+        assertEquals(balance, all.get(0).getBalanceAfter());
+        int expected = 0;
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            PointStatementItemDTO item = all.get(TRANSACTIONS - 1 - i);
+            expected += deltas.get(i);
+            assertEquals(deltas.get(i), item.getPointChange());
+            assertEquals(expected, item.getBalanceAfter());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> pointStatementService.getStatement(userId, "not-a-cursor", 20));
+        assertThrows(IllegalArgumentException.class, () -> pointStatementService.getStatement(userId, null, 0));
+    }
+}
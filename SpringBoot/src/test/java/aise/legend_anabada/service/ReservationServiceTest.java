@@ -0,0 +1,152 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AuthContext;
+import aise.legend_anabada.config.AuthPrincipal;
+import aise.legend_anabada.config.exception.ReservationConflictException;
+import aise.legend_anabada.dto.response.ReservationDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 500명이 교재 50권을 동시에 예약: 교재마다 정확히 한 명만 성공해야 한다
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReservationService.class, PointLedgerService.class, PointStatementService.class})
+class ReservationServiceTest {
+    private static final int CLIENTS = 500;
+    private static final int BOOKS = 50;
+    private static final int PRICE = 10;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private AuthContext authContext;
+    @MockitoBean
+    private EventBroadcaster eventBroadcaster;
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void oneReservationPerBookUnderContention() throws Exception {
+        UUID owner = insertUser("owner");
+        insertCategory();
+        List<UUID> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            UUID bookId = UUID.randomUUID();
+            jdbcTemplate.update("insert into book (book_id, user_id, category_id, title, author, point_price) " +
+                    "values (?, ?, 1, ?, 'author', ?)", bookId, owner, "book" + i, PRICE);
+            books.add(bookId);
+        }
+        List<UUID> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            UUID userId = insertUser("client" + i);
+            jdbcTemplate.update("insert into user_point_balance (user_id, point_total) values (?, 100)", userId);
+            clients.add(userId);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            UUID userId = clients.get(i);
+            UUID bookId = books.get(i % BOOKS);
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    reservationService.reserve(userId, bookId);
+                    succeeded.incrementAndGet();
+                } catch (ReservationConflictException e) {
+                    conflicted.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertEquals(BOOKS, succeeded.get());
+        assertEquals(CLIENTS - BOOKS, conflicted.get());
+        assertEquals(BOOKS, jdbcTemplate.queryForObject(
+                "select count(distinct book_id) from reservation where status = 'RESERVED'", Integer.class));
+        assertEquals(BOOKS, jdbcTemplate.queryForObject(
+                "select count(*) from reservation where status = 'RESERVED'", Integer.class));
+        assertEquals(BOOKS * PRICE, jdbcTemplate.queryForObject(
+                "select sum(point_held) from user_point_balance", Integer.class));
+        assertEquals(BOOKS, jdbcTemplate.queryForObject(
+                "select count(*) from book where version = 1 and title like 'book%'", Integer.class));
+    }
+
+    @Test
+    void pickedUpBookCannotBeReservedAgain() {
+        UUID seller = insertUser("seller");
+        UUID buyer = insertUser("buyer");
+        UUID other = insertUser("other");
+        insertCategory();
+        UUID bookId = UUID.randomUUID();
+        jdbcTemplate.update("insert into book (book_id, user_id, category_id, title, author, point_price) " +
+                "values (?, ?, 1, 'picked', 'author', ?)", bookId, seller, PRICE);
+        jdbcTemplate.update("insert into user_point_balance (user_id, point_total) values (?, 100), (?, 100)", buyer, other);
+
+        ReservationDTO reservation = reservationService.reserve(buyer, bookId);
+        when(authContext.require()).thenReturn(new AuthPrincipal(buyer, "buyer@school.ac.kr", "학생", "school.ac.kr"));
+        reservationService.pickup(reservation.getReservationId());
+        // 예약, 수령 모두 예약자와 등록자에게 알린다
+        verify(eventBroadcaster, times(2)).publish(eq("reservation"), eq(buyer), any());
+        verify(eventBroadcaster, times(2)).publish(eq("book-reservation"), eq(seller), any());
+
+        assertThrows(ReservationConflictException.class, () -> reservationService.reserve(other, bookId));
+        // 메모리 집합을 거치지 않아도 DB 인덱스가 막는다
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into reservation (reservation_id, user_id, book_id, expires_at, status) values (?, ?, ?, now(), 'PICKED_UP')",
+                UUID.randomUUID(), other, bookId));
+    }
+
+    private void insertCategory() {
+        jdbcTemplate.update("insert into category (category_id, category_name, classfication_type) values (1, '전공', '학과') " +
+                "on conflict do nothing");
+    }
+
+    private UUID insertUser(String name) {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("insert into \"user\" (user_id, email, password, student_number, department, grade, name, role) " +
+                "values (?, ?, 'x', '20240001', '컴공', '1', ?, '학생')", userId, name + "@school.ac.kr", name);
+        return userId;
+    }
+}
@@ -0,0 +1,30 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.exception.InvalidSessionException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchSessionTest {
+    private static final String KEY = SearchSession.filterKey(null, 0, 999999, null, "latest");
+
+    @Test
+    void decodesOwnCursorWithinTotal() {
+        assertEquals(0, SearchSession.decodeCursor(null, KEY, 50));
+        assertEquals(20, SearchSession.decodeCursor(SearchSession.encodeCursor(KEY, 20), KEY, 50));
+        assertEquals(50, SearchSession.decodeCursor(SearchSession.encodeCursor(KEY, 80), KEY, 50));
+        // 조건이 바뀌었거나 깨진 커서는 처음부터
+        assertEquals(0, SearchSession.decodeCursor(SearchSession.encodeCursor("other", 20), KEY, 50));
+        assertEquals(0, SearchSession.decodeCursor("!!!", KEY, 50));
+    }
+
+    @Test
+    void rejectsNegativeOffset() {
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((KEY.hashCode() + ":-5").getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidSessionException.class, () -> SearchSession.decodeCursor(forged, KEY, 50));
+    }
+}
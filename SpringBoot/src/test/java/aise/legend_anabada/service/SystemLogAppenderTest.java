@@ -0,0 +1,85 @@
+package aise.legend_anabada.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 요청 스레드 여러 개가 동시에 남긴 로그가 빠짐없이 배치로 저장되고, 시각에 맞는 월 파티션에 들어가야 한다
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SystemLogAppender.class)
+class SystemLogAppenderTest {
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 1500;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private SystemLogAppender systemLogAppender;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void writesConcurrentAppendsIntoMonthlyPartitions() throws Exception {
+        UUID lockerId = UUID.randomUUID();
+        jdbcTemplate.update("insert into locker (locker_id, locker_status, locker_num) values (?, 'AVAILABLE', 1)", lockerId);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(pool.submit(() -> {
+                int accepted = 0;
+                for (int i = 0; i < PER_THREAD; i++) {
+                    if (systemLogAppender.append(lockerId, null, "OPEN", "SUCCESS", OffsetDateTime.now())) {
+                        accepted++;
+                    }
+                }
+                return accepted;
+            }));
+        }
+        int accepted = 0;
+        for (Future<Integer> result : results) {
+            accepted += result.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(THREADS * PER_THREAD, accepted);
+
+        // 파티션 밖 시각은 기본 파티션으로
+        systemLogAppender.append(lockerId, null, "OPEN", "SUCCESS", OffsetDateTime.now().minusYears(30));
+
+        int expected = accepted + 1;
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (count("system_log") < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, count("system_log"));
+        assertEquals(1, count("system_log_default"));
+        String current = jdbcTemplate.queryForObject("select 'system_log_p' || to_char(now(), 'YYYYMM')", String.class);
+        assertEquals(accepted, count(current));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
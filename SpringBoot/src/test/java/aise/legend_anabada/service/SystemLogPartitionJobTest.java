@@ -0,0 +1,64 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SystemLogPartitionJob.class)
+class SystemLogPartitionJobTest {
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private AppProperties appProperties;
+
+    @Autowired
+    private SystemLogPartitionJob systemLogPartitionJob;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createsAheadOnceAndDropsExpiredMonths() {
+        // 마이그레이션이 이미 두 달 뒤까지 만들어 둠
+        assertEquals(0, systemLogPartitionJob.createAhead());
+        String ahead = jdbcTemplate.queryForObject(
+                "select 'system_log_p' || to_char(now() + interval '2 months', 'YYYYMM')", String.class);
+        assertTrue(exists(ahead));
+
+        UUID lockerId = UUID.randomUUID();
+        jdbcTemplate.update("insert into locker (locker_id, locker_status, locker_num) values (?, 'AVAILABLE', 1)", lockerId);
+        jdbcTemplate.execute("create table system_log_p200001 partition of system_log " +
+                "for values from ('2000-01-01') to ('2000-02-01')");
+        jdbcTemplate.update("insert into system_log (locker_id, event_type, occurred_at, result_status) " +
+                "values (?, 'OPEN', '2000-01-15', 'SUCCESS'), (?, 'OPEN', now(), 'SUCCESS')", lockerId, lockerId);
+
+        assertEquals(1, systemLogPartitionJob.dropExpired(12));
+        assertFalse(exists("system_log_p200001"));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from system_log", Integer.class));
+        assertEquals(0, systemLogPartitionJob.dropExpired(12));
+    }
+
+    private boolean exists(String name) {
+        return jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, name);
+    }
+}
@@ -0,0 +1,204 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.config.AppProperties;
+import aise.legend_anabada.config.exception.InvalidTokenException;
+import aise.legend_anabada.entity.LockerStatus;
+import aise.legend_anabada.util.TelemetryCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryServiceTest {
+    private static final String KEY = "device-key";
+    private static final int LOCKERS = 1000;
+
+    @Mock
+    private LockerStateMachine lockerStateMachine;
+    @Mock
+    private DoorWatchdog doorWatchdog;
+    @Mock
+    private SystemLogAppender systemLogAppender;
+    @Mock
+    private EventBroadcaster eventBroadcaster;
+    @Mock
+    private AppProperties appProperties;
+    @InjectMocks
+    private TelemetryService telemetryService;
+
+    private final List<LockerStateMachine.State> states = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int num = 1; num <= LOCKERS; num++) {
+            states.add(new LockerStateMachine.State(UUID.randomUUID(), num, LockerStatus.AVAILABLE, null, 0, null));
+        }
+        when(lockerStateMachine.getAll()).thenReturn(states);
+        lenient().when(appProperties.getDevice_key()).thenReturn(KEY);
+        lenient().when(lockerStateMachine.get(any())).thenAnswer(invocation -> states.stream()
+                .filter(state -> state.lockerId().equals(invocation.getArgument(0))).findFirst().orElseThrow());
+        ReflectionTestUtils.setField(telemetryService, "meterRegistry", new SimpleMeterRegistry());
+        telemetryService.init();
+        telemetryService.index();
+    }
+
+    @Test
+    void logsOnlyStateChanges() throws Exception {
+        long t = System.currentTimeMillis();
+        Frame frame = new Frame(8);
+        frame.add(1, t, TelemetryCodec.HEARTBEAT, 0);
+        frame.add(1, t + 1, TelemetryCodec.DOOR, 0);  // 처음 보고 -> 닫힘
+        frame.add(1, t + 2, TelemetryCodec.DOOR, 0);  // 반복
+        frame.add(1, t + 3, TelemetryCodec.HEARTBEAT, 0);
+        frame.add(1, t + 4, TelemetryCodec.SENSOR_ERROR, 7);
+        frame.add(1, t + 5, TelemetryCodec.SENSOR_ERROR, 7);
+        frame.add(9999, t, TelemetryCodec.HEARTBEAT, 0); // 없는 칸
+        assertEquals(7, telemetryService.ingest(KEY, frame.stream()));
+
+        UUID lockerId = states.get(0).lockerId();
+        verify(systemLogAppender).append(eq(lockerId), isNull(), eq(TelemetryService.DOOR_CLOSED), eq(TelemetryService.SENSOR), any());
+        verify(systemLogAppender).append(eq(lockerId), isNull(), eq(TelemetryService.SENSOR_ERROR + ":7"), eq(TelemetryService.SENSOR), any());
+        verifyNoMoreInteractions(systemLogAppender);
+    }
+
+    @Test
+    void closedDoorClosesOpenedLocker() throws Exception {
+        long t = System.currentTimeMillis();
+        LockerStateMachine.State opened = new LockerStateMachine.State(states.get(1).lockerId(), 2, LockerStatus.OPEN,
+                UUID.randomUUID(), 1, OffsetDateTime.now().minusMinutes(1));
+        states.set(1, opened);
+
+        Frame frame = new Frame(2);
+        frame.add(2, t, TelemetryCodec.DOOR, 1);
+        frame.add(2, t + 1000, TelemetryCodec.DOOR, 0);
+        telemetryService.ingest(KEY, frame.stream());
+
+        verify(lockerStateMachine).transition(opened.lockerId(), LockerStatus.CLOSED, null);
+        verify(doorWatchdog).disarm(opened.lockerId());
+    }
+
+    @Test
+    void reportsNetworkFaultOnceAndRecovery() throws Exception {
+        long t = System.currentTimeMillis();
+        Frame frame = new Frame(1);
+        frame.add(3, t, TelemetryCodec.HEARTBEAT, 0);
+        telemetryService.ingest(KEY, frame.stream());
+        UUID lockerId = states.get(2).lockerId();
+
+        telemetryService.sweep(t + TelemetryService.OFFLINE_MILLIS + 5000);
+        telemetryService.sweep(t + TelemetryService.OFFLINE_MILLIS + 10000);
+        verify(systemLogAppender, times(1)).append(eq(lockerId), isNull(), eq(TelemetryService.NETWORK_FAULT), anyString(), any());
+
+        telemetryService.ingest(KEY, frame.stream());
+        verify(systemLogAppender, times(1)).append(eq(lockerId), isNull(), eq(TelemetryService.NETWORK_RECOVERED), anyString(), any());
+    }
+
+    @Test
+    void rejectsWrongDeviceKey() {
+        Frame frame = new Frame(1);
+        frame.add(1, 0, TelemetryCodec.HEARTBEAT, 0);
+        assertThrows(InvalidTokenException.class, () -> telemetryService.ingest("wrong", frame.stream()));
+        assertThrows(InvalidTokenException.class, () -> telemetryService.ingest(null, frame.stream()));
+    }
+
+    // 부하 생성기: 장치 8대가 프레임(최대 크기)을 연달아 보낸다. 대부분 하트비트, 문 상태는 가끔 바뀐다
+    @Test
+    void ingestsAtLeastFiftyThousandReadingsPerSecond() throws Exception {
+        int devices = 8;
+        int framesPerDevice = 60;
+        int perFrame = TelemetryCodec.MAX_READINGS;
+        long t = System.currentTimeMillis();
+
+        List<byte[]> frames = new ArrayList<>();
+        for (int f = 0; f < framesPerDevice; f++) {
+            Frame frame = new Frame(perFrame);
+            for (int i = 0; i < perFrame; i++) {
+                int lockerNum = 1 + (f * perFrame + i) % LOCKERS;
+                if (i % 10 == 0) {
+                    frame.add(lockerNum, t + f, TelemetryCodec.DOOR, (f / 20) % 2); // 20 프레임마다 열림/닫힘
+                } else {
+                    frame.add(lockerNum, t + f, TelemetryCodec.HEARTBEAT, 0);
+                }
+            }
+            frames.add(frame.bytes());
+        }
+
+        // 워밍업
+        telemetryService.ingest(KEY, new ByteArrayInputStream(frames.get(0)));
+
+        ExecutorService pool = Executors.newFixedThreadPool(devices);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int d = 0; d < devices; d++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int total = 0;
+                for (byte[] bytes : frames) {
+                    total += telemetryService.ingest(KEY, new ByteArrayInputStream(bytes));
+                }
+                return total;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        long total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get(60, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        pool.shutdown();
+
+        double rate = total / seconds;
+        assertEquals((long) devices * framesPerDevice * perFrame, total);
+        assertTrue(rate >= 50_000, "readings/s " + rate);
+        // 문 상태는 칸마다 최대 3번 바뀐다 (처음 보고, 열림, 닫힘)
+        verify(systemLogAppender, atMost(LOCKERS * 3)).append(any(), any(), anyString(), anyString(), any());
+    }
+
+    private static class Frame {
+        final int[] lockerNum;
+        final long[] time;
+        final byte[] kind;
+        final byte[] value;
+        int size;
+
+        Frame(int capacity) {
+            lockerNum = new int[capacity];
+            time = new long[capacity];
+            kind = new byte[capacity];
+            value = new byte[capacity];
+        }
+
+        void add(int num, long at, byte k, int v) {
+            lockerNum[size] = num;
+            time[size] = at;
+            kind[size] = k;
+            value[size] = (byte) v;
+            size++;
+        }
+
+        byte[] bytes() {
+            return TelemetryCodec.encode(lockerNum, time, kind, value, size);
+        }
+
+        ByteArrayInputStream stream() {
+            return new ByteArrayInputStream(bytes());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package aise.legend_anabada.service;
+
+import aise.legend_anabada.dto.projection.UserSnapshot;
+import aise.legend_anabada.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+    private static final UUID ID = UUID.randomUUID();
+    private static final String EMAIL = "user@school.ac.kr";
+
+    @Mock
+    private UserRepository userRepository;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private UserCache userCache;
+
+    private final UserSnapshot snapshot = new UserSnapshot(ID, EMAIL, "학생", "컴공", true, "hash");
+
+    @BeforeEach
+    void setUp() {
+        userCache.init();
+    }
+
+    // 이메일로 읽은 스냅샷은 ID 조회에도 쓰인다
+    @Test
+    void hitsAfterFirstLookup() {
+        when(userRepository.findSnapshotByEmail(EMAIL)).thenReturn(Optional.of(snapshot));
+
+        assertSame(snapshot, userCache.getByEmail(EMAIL));
+        assertSame(snapshot, userCache.getByEmail(EMAIL));
+        assertSame(snapshot, userCache.getById(ID));
+
+        verify(userRepository, times(1)).findSnapshotByEmail(EMAIL);
+        verify(userRepository, never()).findSnapshotById(any());
+    }
+
+    // 없는 사용자는 캐시하지 않아 가입 직후 바로 조회된다
+    @Test
+    void doesNotCacheMisses() {
+        when(userRepository.findSnapshotByEmail(EMAIL)).thenReturn(Optional.empty(), Optional.of(snapshot));
+
+        assertNull(userCache.getByEmail(EMAIL));
+        assertSame(snapshot, userCache.getByEmail(EMAIL));
+        assertNull(userCache.getById(null));
+        assertNull(userCache.getByEmail(null));
+
+        verify(userRepository, times(2)).findSnapshotByEmail(EMAIL);
+    }
+
+    // 이전 이메일만 알려줘도 ID 로 캐시된 현재 이메일까지 지운다
+    @Test
+    void invalidateDropsBothKeys() {
+        UserSnapshot changed = new UserSnapshot(ID, "new@school.ac.kr", "학생", "컴공", false, "hash");
+        when(userRepository.findSnapshotById(ID)).thenReturn(Optional.of(snapshot), Optional.of(changed));
+        when(userRepository.findSnapshotByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertSame(snapshot, userCache.getById(ID));
+        userCache.invalidate(ID, "old@school.ac.kr");
+
+        assertNull(userCache.getByEmail(EMAIL));
+        assertSame(changed, userCache.getById(ID));
+        verify(userRepository, times(2)).findSnapshotById(ID);
+        verify(userRepository).findSnapshotByEmail(EMAIL);
+    }
+}
@@ -0,0 +1,57 @@
+package aise.legend_anabada.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private static final long OPEN_MILLIS = 100;
+
+    private final List<CircuitBreaker.State> transitions = new ArrayList<>();
+    private final CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS, transitions::add);
+
+    @Test
+    void opensAfterConsecutiveFailuresOnly() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess(); // 연속이 끊기면 다시 센다
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(List.of(CircuitBreaker.State.OPEN), transitions);
+    }
+
+    // OPEN 시간이 지나면 시험 요청 하나만 통과. 실패하면 바로 OPEN, 성공하면 CLOSED
+    @Test
+    void halfOpenLetsOneProbeThrough() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        Thread.sleep(OPEN_MILLIS + 20);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        Thread.sleep(OPEN_MILLIS + 20);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+
+        assertEquals(List.of(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN,
+                CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED), transitions);
+    }
+}
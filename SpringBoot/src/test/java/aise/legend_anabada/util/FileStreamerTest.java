@@ -0,0 +1,108 @@
+package aise.legend_anabada.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileStreamerTest {
+    private static final String ETAG = "\"abc\"";
+
+    @TempDir
+    Path dir;
+
+    private final FileStreamer fileStreamer = new FileStreamer();
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(dir.resolve("data.bin"), "0123456789");
+    }
+
+    @Test
+    void servesSingleRange() throws IOException {
+        assertPartial(get("bytes=2-5"), "bytes 2-5/10", "2345");
+        assertPartial(get("bytes=7-"), "bytes 7-9/10", "789");
+        assertPartial(get("bytes=-3"), "bytes 7-9/10", "789");
+        // 끝이 파일보다 길면 잘라서 보낸다
+        assertPartial(get("bytes=5-100"), "bytes 5-9/10", "56789");
+        assertPartial(get("bytes=-100"), "bytes 0-9/10", "0123456789");
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws IOException {
+        for (String range : new String[]{"bytes=10-", "bytes=100-200", "bytes=-0"}) {
+            MockHttpServletResponse response = get(range);
+            assertEquals(416, response.getStatus(), range);
+            assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE), range);
+            assertEquals(0, response.getContentAsByteArray().length, range);
+        }
+    }
+
+    // 여러 구간, 다른 단위, 형식이 잘못된 Range 는 무시하고 전체를 보낸다
+    @Test
+    void fallsBackToFullBody() throws IOException {
+        for (String range : new String[]{"bytes=0-1,4-5", "items=0-1", "bytes=5", "bytes=a-b", "bytes=5-2", "bytes=-", "bytes=--3"}) {
+            MockHttpServletResponse response = get(range);
+            assertEquals(200, response.getStatus(), range);
+            assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE), range);
+            assertEquals("0123456789", response.getContentAsString(), range);
+        }
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeIsStale() throws IOException {
+        MockHttpServletRequest request = request("bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+        MockHttpServletResponse response = serve(request);
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+
+        request = request("bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+        assertPartial(serve(request), "bytes 2-5/10", "2345");
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEtag() throws IOException {
+        MockHttpServletRequest request = request(null);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG);
+        MockHttpServletResponse response = serve(request);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private static void assertPartial(MockHttpServletResponse response, String contentRange, String body)
+            throws IOException {
+        assertEquals(206, response.getStatus());
+        assertEquals(contentRange, response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(body.length(), response.getContentLengthLong());
+        assertEquals(body, response.getContentAsString());
+    }
+
+    private MockHttpServletResponse get(String range) throws IOException {
+        return serve(request(range));
+    }
+
+    private static MockHttpServletRequest request(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileStreamer.serve(file, "application/octet-stream", ETAG, null, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,168 @@
+package aise.legend_anabada.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 휴대폰 사진은 픽셀을 눕혀 저장하고 EXIF Orientation 으로 방향을 알려 준다
+class ImageUtilTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void appliesOrientationBeforeReencoding() throws IOException {
+        // 왼쪽 절반 빨강, 오른쪽 절반 파랑인 40x20
+        byte[] jpeg = jpeg();
+
+        BufferedImage plain = ImageUtil.read(write("plain.jpg", jpeg));
+        assertEquals(40, plain.getWidth());
+        assertTrue(isRed(plain, 2, 2));
+
+        // 6: 시계 방향 90도 -> 20x40, 빨강이 위로
+        BufferedImage rotated = ImageUtil.read(write("cw.jpg", withOrientation(jpeg, 6, false)));
+        assertEquals(20, rotated.getWidth());
+        assertEquals(40, rotated.getHeight());
+        assertTrue(isRed(rotated, 10, 2));
+        assertFalse(isRed(rotated, 10, 37));
+
+        // 8: 반시계 방향 90도 (리틀 엔디언 TIFF) -> 빨강이 아래로
+        BufferedImage counter = ImageUtil.read(write("ccw.jpg", withOrientation(jpeg, 8, true)));
+        assertEquals(20, counter.getWidth());
+        assertTrue(isRed(counter, 10, 37));
+        assertFalse(isRed(counter, 10, 2));
+
+        // 3: 180도 -> 빨강이 오른쪽으로
+        BufferedImage flipped = ImageUtil.read(write("180.jpg", withOrientation(jpeg, 3, false)));
+        assertEquals(40, flipped.getWidth());
+        assertTrue(isRed(flipped, 37, 10));
+    }
+
+    @Test
+    void ignoresMissingOrBrokenExif() throws IOException {
+        byte[] jpeg = jpeg();
+        assertEquals(1, ImageUtil.readOrientation(write("plain.jpg", jpeg)));
+        byte[] broken = withOrientation(jpeg, 6, false);
+        broken[2 + 4 + 6] = 'X'; // TIFF 바이트 순서 표시를 깨뜨림
+        assertEquals(1, ImageUtil.readOrientation(write("broken.jpg", broken)));
+        assertEquals(1, ImageUtil.readOrientation(write("text.txt", "hello".getBytes())));
+    }
+
+    // 20000x20000 회색조 PNG 는 몇백 KB 지만 디코딩하면 400MB. 헤더만 보고 거부해야 한다
+    @Test
+    void rejectsDecompressionBombBeforeDecoding() throws IOException {
+        Path bomb = write("bomb.png", png(20_000, 20_000));
+        assertTrue(Files.size(bomb) < 1_000_000);
+        IOException e = assertThrows(IOException.class, () -> ImageUtil.read(bomb));
+        assertTrue(e.getMessage().contains("20000x20000"), e.getMessage());
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        return Files.write(dir.resolve(name), bytes);
+    }
+
+    private static boolean isRed(BufferedImage image, int x, int y) {
+        Color color = new Color(image.getRGB(x, y));
+        return color.getRed() > 200 && color.getBlue() < 60;
+    }
+
+    private static byte[] jpeg() throws IOException {
+        BufferedImage image = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 20, 20);
+        g.setColor(Color.BLUE);
+        g.fillRect(20, 0, 20, 20);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    // 8비트 회색조, 모든 픽셀 0 인 PNG
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+        DataOutputStream h = new DataOutputStream(ihdr);
+        h.writeInt(width);
+        h.writeInt(height);
+        h.write(new byte[]{8, 0, 0, 0, 0});
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        ByteArrayOutputStream idat = new ByteArrayOutputStream();
+        byte[] row = new byte[width + 1]; // 필터 바이트 + 픽셀
+        byte[] buffer = new byte[64 * 1024];
+        for (int y = 0; y < height; y++) {
+            deflater.setInput(row);
+            while (!deflater.needsInput()) {
+                idat.write(buffer, 0, deflater.deflate(buffer));
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            idat.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream o = new DataOutputStream(out);
+        o.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+        chunk(o, "IHDR", ihdr.toByteArray());
+        chunk(o, "IDAT", idat.toByteArray());
+        chunk(o, "IEND", new byte[0]);
+        return out.toByteArray();
+    }
+
+    private static void chunk(DataOutputStream out, String type, byte[] data) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(type.getBytes());
+        crc.update(data);
+        out.writeInt(data.length);
+        out.writeBytes(type);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+
+    // SOI 바로 뒤에 Orientation 태그 하나만 있는 APP1(Exif) 세그먼트를 끼워 넣는다
+    private static byte[] withOrientation(byte[] jpeg, int orientation, boolean littleEndian) throws IOException {
+        ByteArrayOutputStream tiff = new ByteArrayOutputStream();
+        DataOutputStream t = new DataOutputStream(tiff);
+        if (littleEndian) {
+            t.writeBytes("II");
+            t.write(new byte[]{42, 0, 8, 0, 0, 0, 1, 0, 0x12, 0x01, 3, 0, 1, 0, 0, 0, (byte) orientation, 0, 0, 0, 0, 0, 0, 0});
+        } else {
+            t.writeBytes("MM");
+            t.writeShort(42);
+            t.writeInt(8);
+            t.writeShort(1);
+            t.writeShort(0x0112);
+            t.writeShort(3);
+            t.writeInt(1);
+            t.writeShort(orientation);
+            t.writeShort(0);
+            t.writeInt(0);
+        }
+        byte[] body = tiff.toByteArray();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream o = new DataOutputStream(out);
+        o.write(jpeg, 0, 2);
+        o.writeShort(0xFFE1);
+        o.writeShort(2 + 6 + body.length);
+        o.writeBytes("Exif");
+        o.writeShort(0);
+        o.write(body);
+        o.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+package aise.legend_anabada.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+    // 같은 토큰은 다시 파싱하지 않고 캐시된 claims 를 돌려준다
+    @Test
+    void reusesCachedClaims() {
+        String token = JwtUtil.generateToken("user@school.ac.kr");
+
+        Claims claims = JwtUtil.getClaims(token);
+        assertNotNull(claims);
+        assertEquals("user@school.ac.kr", claims.getSubject());
+        assertSame(claims, JwtUtil.getClaims(token));
+        assertEquals("user@school.ac.kr", JwtUtil.getEmailFromToken(token));
+        // 만료까지 충분히 남았으면 그대로
+        assertEquals(token, JwtUtil.refreshToken(token));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        SecretKey key = (SecretKey) ReflectionTestUtils.getField(JwtUtil.class, "key");
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .subject("user@school.ac.kr")
+                .issuedAt(new Date(now - 60_000))
+                .expiration(new Date(now - 1_000))
+                .signWith(key)
+                .compact();
+
+        assertNull(JwtUtil.getClaims(token));
+        assertNull(JwtUtil.getClaims(token));
+        assertFalse(JwtUtil.validateToken(token));
+    }
+
+    // 서명이 맞는 토큰을 먼저 캐시해도 변조된 토큰이 그 결과를 얻지 못한다
+    @Test
+    void rejectsTamperedToken() {
+        String token = JwtUtil.generateToken("user@school.ac.kr");
+        assertNotNull(JwtUtil.getClaims(token));
+
+        String[] parts = token.split("\\.");
+        String otherPayload = JwtUtil.generateToken("admin@school.ac.kr").split("\\.")[1];
+        String forged = parts[0] + "." + otherPayload + "." + parts[2];
+        char last = parts[2].charAt(0);
+        String badSignature = parts[0] + "." + parts[1] + "." + (last == 'A' ? 'B' : 'A') + parts[2].substring(1);
+
+        assertNull(JwtUtil.getClaims(forged));
+        assertNull(JwtUtil.getClaims(badSignature));
+        assertNull(JwtUtil.getClaims("not.a.token"));
+        assertNull(JwtUtil.getClaims(" "));
+        assertNull(JwtUtil.getClaims(null));
+    }
+}
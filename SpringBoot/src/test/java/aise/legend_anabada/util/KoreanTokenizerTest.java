@@ -0,0 +1,46 @@
+package aise.legend_anabada.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KoreanTokenizerTest {
+    @Test
+    void normalizesCaseSymbolsAndComposition() {
+        assertEquals("자료구조 c 입문", KoreanTokenizer.normalize("  자료구조, C++ 입문!  "));
+        assertEquals("", KoreanTokenizer.normalize(null));
+        assertEquals("", KoreanTokenizer.normalize("!!"));
+        // macOS 에서 붙여 넣은 NFD 한글도 같은 문자열이 된다
+        assertEquals("한빛", KoreanTokenizer.normalize(Normalizer.normalize("한빛", Normalizer.Form.NFD)));
+    }
+
+    @Test
+    void extractsChosung() {
+        assertEquals("ㅈㄹㄱㅈ", KoreanTokenizer.toChosung("자료구조"));
+        assertEquals("cㅇㅇ 2", KoreanTokenizer.toChosung("c언어 2"));
+        assertTrue(KoreanTokenizer.isChosungOnly("ㅈㄹ"));
+        assertFalse(KoreanTokenizer.isChosungOnly("자ㄹ"));
+        assertFalse(KoreanTokenizer.isChosungOnly(""));
+    }
+
+    // 검색어 토큰은 항상 색인 토큰 안에 있어야 부분 일치로 찾을 수 있다
+    @Test
+    void queryTokensAreSubsetOfIndexTokens() {
+        Set<String> index = KoreanTokenizer.indexTokens("자료구조 한빛");
+        assertTrue(index.containsAll(KoreanTokenizer.queryTokens("료구")));
+        assertTrue(index.containsAll(KoreanTokenizer.queryTokens("빛")));
+        assertTrue(index.containsAll(KoreanTokenizer.queryTokens("ㄱㅈ")));
+        assertTrue(index.containsAll(KoreanTokenizer.queryTokens("구조 한빛")));
+
+        assertEquals(Set.of("자료"), KoreanTokenizer.queryTokens("자료"));
+        assertEquals(Set.of("구조", "조론"), KoreanTokenizer.queryTokens("구조론"));
+        assertFalse(index.containsAll(KoreanTokenizer.queryTokens("조론")));
+        // 초성 토큰은 같은 글자의 일반 토큰과 섞이지 않는다
+        Set<String> gaja = KoreanTokenizer.indexTokens("가자");
+        assertTrue(gaja.containsAll(KoreanTokenizer.queryTokens("ㄱㅈ")));
+        assertFalse(gaja.contains("ㄱㅈ"));
+    }
+}
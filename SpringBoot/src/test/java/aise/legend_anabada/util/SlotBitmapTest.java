@@ -0,0 +1,77 @@
+package aise.legend_anabada.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotBitmapTest {
+    @Test
+    void acquiresEachFreeSlotOnce() {
+        SlotBitmap bitmap = new SlotBitmap(130);
+        for (int slot = 0; slot < 130; slot++) {
+            bitmap.release(slot);
+        }
+        assertTrue(bitmap.remove(64));
+        assertFalse(bitmap.remove(64));
+
+        boolean[] seen = new boolean[130];
+        int slot;
+        while ((slot = bitmap.acquire()) >= 0) {
+            assertFalse(seen[slot]);
+            seen[slot] = true;
+        }
+        assertFalse(seen[64]);
+        assertEquals(0, bitmap.freeCount());
+        assertTrue(bitmap.release(64));
+        assertEquals(64, bitmap.acquire());
+    }
+
+    // 벤치마크: 스레드마다 칸을 배정받고 바로 반납. 같은 칸이 동시에 두 번 배정되면 안 된다
+    @Test
+    void concurrentAcquireNeverHandsOutSameSlot() throws Exception {
+        int slots = 1024;
+        int threads = 16;
+        int operations = 200_000;
+        SlotBitmap bitmap = new SlotBitmap(slots);
+        for (int slot = 0; slot < slots; slot++) {
+            bitmap.release(slot);
+        }
+        AtomicIntegerArray owner = new AtomicIntegerArray(slots);
+        AtomicInteger duplicated = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < operations; i++) {
+                    int slot = bitmap.acquire();
+                    if (slot < 0) {
+                        continue;
+                    }
+                    if (!owner.compareAndSet(slot, 0, 1)) {
+                        duplicated.incrementAndGet();
+                    }
+                    owner.set(slot, 0);
+                    bitmap.release(slot);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(0, duplicated.get());
+        assertEquals(slots, bitmap.freeCount());
+    }
+}
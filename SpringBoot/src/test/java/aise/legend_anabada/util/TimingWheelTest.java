@@ -0,0 +1,96 @@
+package aise.legend_anabada.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+    // 1ms 단위, 4칸 x 3단계 -> 64틱까지 휠 안에서 처리, 그보다 먼 작업은 최상위 단계에서 다시 배치
+    private final TimingWheel<String> wheel = new TimingWheel<>(1, 2, 3, 0);
+
+    @Test
+    void expiresExactlyOnDeadlineAcrossLevels() {
+        // 0단계(1~3), 1단계 경계(4, 15, 16), 2단계(17, 63), 최상위보다 먼 작업(64, 200, 1000)
+        List<Long> deadlines = List.of(1L, 3L, 4L, 5L, 15L, 16L, 17L, 63L, 64L, 65L, 200L, 1000L);
+        for (long deadline : deadlines) {
+            wheel.schedule("t" + deadline, deadline);
+        }
+
+        Map<String, Long> fired = run(1100);
+
+        assertEquals(deadlines.size(), fired.size());
+        for (long deadline : deadlines) {
+            assertEquals(deadline, fired.get("t" + deadline), "t" + deadline);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedulesRelativeToCurrentTick() {
+        // 휠이 한참 돈 뒤에 등록해도 (칸 위치가 한 바퀴 돌아 겹쳐도) 정확히 만료
+        run(1000);
+        wheel.schedule("near", 1003);
+        wheel.schedule("wrap", 1000 + 64);
+        wheel.schedule("far", 1000 + 64 * 5 + 7);
+
+        Map<String, Long> fired = new HashMap<>();
+        for (long now = 1001; now <= 1500; now++) {
+            long at = now;
+            wheel.advance(now, key -> fired.put(key, at));
+        }
+        assertEquals(1003L, fired.get("near"));
+        assertEquals(1064L, fired.get("wrap"));
+        assertEquals(1327L, fired.get("far"));
+    }
+
+    @Test
+    void cancelAndRescheduleReplaceEarlierEntry() {
+        wheel.schedule("a", 10);
+        wheel.schedule("b", 20);
+        wheel.schedule("a", 30); // 다시 등록하면 10 은 취소
+        assertTrue(wheel.cancel("b"));
+        assertFalse(wheel.cancel("b"));
+        assertEquals(1, wheel.size());
+
+        Map<String, Long> fired = run(100);
+        assertEquals(Map.of("a", 30L), fired);
+    }
+
+    @Test
+    void pastDeadlineExpiresOnNextTick() {
+        run(50);
+        wheel.schedule("late", 10);
+        Map<String, Long> fired = new HashMap<>();
+        wheel.advance(51, key -> fired.put(key, 51L));
+        assertEquals(Map.of("late", 51L), fired);
+    }
+
+    // 한 번에 여러 틱을 건너뛰어도 그 사이 만료된 작업은 모두 나온다
+    @Test
+    void advanceCatchesUpSkippedTicks() {
+        wheel.schedule("x", 5);
+        wheel.schedule("y", 70);
+        wheel.schedule("z", 300);
+        Map<String, Long> fired = new HashMap<>();
+        wheel.advance(100, key -> fired.put(key, 100L));
+        assertEquals(Map.of("x", 100L, "y", 100L), fired);
+        wheel.advance(299, key -> fired.put(key, 299L));
+        assertFalse(fired.containsKey("z"));
+        wheel.advance(300, key -> fired.put(key, 300L));
+        assertEquals(300L, fired.get("z"));
+    }
+
+    // 1틱씩 진행하며 만료된 시각을 기록
+    private Map<String, Long> run(long until) {
+        Map<String, Long> fired = new HashMap<>();
+        for (long now = 1; now <= until; now++) {
+            long at = now;
+            wheel.advance(now, key -> assertNull(fired.put(key, at), key + " 중복 만료"));
+        }
+        return fired;
+    }
+}
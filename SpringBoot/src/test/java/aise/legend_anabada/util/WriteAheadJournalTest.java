@@ -0,0 +1,81 @@
+package aise.legend_anabada.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadJournalTest {
+    @TempDir
+    Path dir;
+
+    // 동시에 쓴 레코드가 다시 열어도 모두 남아 있고, 끝에 잘린 레코드는 버린다
+    @Test
+    void recoversConcurrentAppendsAndDropsTornTail() throws Exception {
+        Path file = dir.resolve("test.wal");
+        int threads = 8;
+        int perThread = 100;
+        try (WriteAheadJournal journal = new WriteAheadJournal(file)) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new java.util.ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append((thread + ":" + i).getBytes(StandardCharsets.UTF_8));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+        }
+        long size = Files.size(file);
+        Files.write(file, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND); // 쓰다 만 레코드
+
+        try (WriteAheadJournal journal = new WriteAheadJournal(file)) {
+            assertEquals(size, Files.size(file));
+            WriteAheadJournal.Batch batch = journal.read(journal.committed(), Integer.MAX_VALUE);
+            Set<String> records = new HashSet<>();
+            for (byte[] record : batch.records()) {
+                records.add(new String(record, StandardCharsets.UTF_8));
+            }
+            assertEquals(threads * perThread, records.size());
+            assertTrue(records.contains("7:99"));
+        }
+    }
+
+    @Test
+    void commitSurvivesReopenAndEmptiesFileWhenDone() throws Exception {
+        Path file = dir.resolve("test.wal");
+        try (WriteAheadJournal journal = new WriteAheadJournal(file)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(("r" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            journal.commit(journal.read(0, 4).next());
+        }
+        try (WriteAheadJournal journal = new WriteAheadJournal(file)) {
+            WriteAheadJournal.Batch rest = journal.read(journal.committed(), 100);
+            assertEquals(6, rest.records().size());
+            assertEquals("r4", new String(rest.records().get(0), StandardCharsets.UTF_8));
+
+            journal.commit(rest.next());
+            assertFalse(journal.hasPending());
+            assertEquals(0, Files.size(file));
+
+            journal.append("next".getBytes(StandardCharsets.UTF_8));
+            assertEquals("next", new String(journal.read(journal.committed(), 1).records().get(0), StandardCharsets.UTF_8));
+        }
+    }
+}